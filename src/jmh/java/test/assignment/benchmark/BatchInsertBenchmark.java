@@ -0,0 +1,63 @@
+package test.assignment.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.context.ConfigurableApplicationContext;
+import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.response.UserBatchItemResponseDto;
+import test.assignment.service.UserService;
+
+/**
+ * Rows per second for POST /users called once per user versus one POST /users/batch.
+ * Every invocation inserts {@value #ROWS} users, and the score is reported per row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class BatchInsertBenchmark {
+    private static final int ROWS = 500;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private long sequence;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.startContext("batch-insert-benchmark");
+        userService = context.getBean(UserService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public void singleInserts(Blackhole blackhole) {
+        for (int i = 0; i < ROWS; i++) {
+            blackhole.consume(userService.createUser(BenchmarkData.saveUserDto(sequence++)));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public List<UserBatchItemResponseDto> batchInsert() {
+        List<SaveUserDto> batch = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            batch.add(BenchmarkData.saveUserDto(sequence++));
+        }
+        return userService.createUsers(batch);
+    }
+}
@@ -0,0 +1,73 @@
+package test.assignment.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import test.assignment.UserRestApplication;
+import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.service.UserService;
+
+/**
+ * Shared fixtures for the benchmarks: deterministic users and an application context
+ * backed by its own embedded H2 database.
+ */
+public final class BenchmarkData {
+    public static final LocalDate FIRST_BIRTH_DATE = LocalDate.of(1950, 1, 1);
+    public static final int BIRTH_DATE_SPREAD_DAYS = 40 * 365;
+    private static final int SEED_CHUNK_SIZE = 5000;
+    private static final AtomicLong EMAIL_SEQUENCE = new AtomicLong();
+
+    private BenchmarkData() {
+    }
+
+    public static SaveUserDto saveUserDto(long n) {
+        return new SaveUserDto("user" + EMAIL_SEQUENCE.incrementAndGet() + "@example.com",
+                "First" + n, "Last" + n,
+                FIRST_BIRTH_DATE.plusDays(n % BIRTH_DATE_SPREAD_DAYS),
+                n + " Main St", "+380501234567");
+    }
+
+    public static UserResponseDto userResponseDto(long n) {
+        return new UserResponseDto(n, "user" + n + "@example.com", "First" + n, "Last" + n,
+                FIRST_BIRTH_DATE.plusDays(n % BIRTH_DATE_SPREAD_DAYS),
+                n + " Main St", "+380501234567");
+    }
+
+    public static List<UserResponseDto> userResponseDtos(int size) {
+        List<UserResponseDto> users = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            users.add(userResponseDto(i));
+        }
+        return users;
+    }
+
+    public static ConfigurableApplicationContext startContext(String databaseName,
+                                                              String... properties) {
+        List<String> allProperties = new ArrayList<>(List.of(
+                "spring.datasource.url=jdbc:h2:mem:" + databaseName,
+                "logging.level.root=WARN"));
+        allProperties.addAll(List.of(properties));
+        return new SpringApplicationBuilder(UserRestApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                // Passed as arguments so they take precedence over application.properties.
+                .run(allProperties.stream()
+                        .map(property -> "--" + property)
+                        .toArray(String[]::new));
+    }
+
+    public static void seed(UserService userService, int tableSize) {
+        for (int start = 0; start < tableSize; start += SEED_CHUNK_SIZE) {
+            List<SaveUserDto> chunk = new ArrayList<>(SEED_CHUNK_SIZE);
+            for (int i = start; i < Math.min(start + SEED_CHUNK_SIZE, tableSize); i++) {
+                chunk.add(saveUserDto(i));
+            }
+            userService.createUsers(chunk);
+        }
+    }
+}
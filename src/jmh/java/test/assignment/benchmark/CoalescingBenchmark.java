@@ -0,0 +1,65 @@
+package test.assignment.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.service.UserService;
+
+/**
+ * {@value #THREADS} callers asking for the same one-month birth date range at once, as a
+ * report at the top of the hour would, with and without range query coalescing. The share
+ * of queries that joined one already running is printed when the trial ends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(CoalescingBenchmark.THREADS)
+public class CoalescingBenchmark {
+    static final int THREADS = 16;
+    private static final int TABLE_SIZE = 100_000;
+    private static final LocalDate FROM = LocalDate.of(1980, 1, 1);
+    private static final LocalDate TO = LocalDate.of(1980, 1, 31);
+
+    @Param({"false", "true"})
+    private boolean coalescing;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.startContext("coalescing-benchmark-" + coalescing,
+                "users.range-coalescing.enabled=" + coalescing);
+        userService = context.getBean(UserService.class);
+        BenchmarkData.seed(userService, TABLE_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+        double executed = meterRegistry.get("users.range-queries").tag("outcome", "executed")
+                .counter().count();
+        double coalesced = meterRegistry.get("users.range-queries").tag("outcome", "coalesced")
+                .counter().count();
+        System.out.printf("%nQueries executed %.0f, coalesced %.0f%n", executed, coalesced);
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserResponseDto> getUsersByBirthDateRange() {
+        return userService.getUsersByBirthDateRange(FROM, TO);
+    }
+}
@@ -0,0 +1,81 @@
+package test.assignment.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.repository.UserRepository;
+import test.assignment.service.UserEmailFilter;
+import test.assignment.service.UserService;
+
+/**
+ * Signups with new emails against {@value #TABLE_SIZE} users, with and without the email
+ * filter, which is sized for {@value #FILTER_CAPACITY} emails. {@code checkNewEmail} is the
+ * duplicate check alone and {@code createUser} the whole create. The probes saved and the
+ * observed false-positive rate are printed when the trial ends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class EmailCheckBenchmark {
+    private static final int TABLE_SIZE = 100_000;
+    private static final int FILTER_CAPACITY = 4 * TABLE_SIZE;
+
+    @Param({"false", "true"})
+    private boolean emailFilter;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private UserRepository userRepository;
+    private UserEmailFilter filter;
+    private long sequence = TABLE_SIZE;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.startContext("email-check-benchmark-" + emailFilter,
+                "users.email-filter.enabled=" + emailFilter,
+                "users.email-filter.expected-users=" + FILTER_CAPACITY);
+        userService = context.getBean(UserService.class);
+        userRepository = context.getBean(UserRepository.class);
+        filter = context.getBean(UserEmailFilter.class);
+        BenchmarkData.seed(userService, TABLE_SIZE);
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (emailFilter) {
+            MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+            double skipped = count(meterRegistry, "skipped");
+            double available = count(meterRegistry, "available");
+            System.out.printf("%nProbes saved %.0f of %.0f, observed false-positive rate %.5f,"
+                            + " expected %.5f%n", skipped, skipped + available,
+                    available / (skipped + available),
+                    meterRegistry.get("users.email-filter.false-positive-rate").gauge().value());
+        }
+        context.close();
+    }
+
+    @Benchmark
+    public boolean checkNewEmail() {
+        String email = "new" + sequence++ + "@example.com";
+        return filter.isTaken(email, () -> userRepository.existsByEmail(email));
+    }
+
+    @Benchmark
+    public UserResponseDto createUser() {
+        return userService.createUser(BenchmarkData.saveUserDto(sequence++));
+    }
+
+    private static double count(MeterRegistry meterRegistry, String outcome) {
+        return meterRegistry.get("users.email-checks").tag("outcome", outcome).counter().count();
+    }
+}
@@ -0,0 +1,75 @@
+package test.assignment.benchmark;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.context.WebApplicationContext;
+import test.assignment.UserRestApplication;
+
+/**
+ * Error responses through the full MVC stack, dispatched in-process with {@link MockMvc} so
+ * that socket I/O does not hide the cost of the error path itself: lookups of ids that do
+ * not exist (404) and creates that fail bean validation (400).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class ErrorPathBenchmark {
+    private static final String INVALID_USER = """
+            {"email":"not-an-email","firstName":"","lastName":"Doe",\
+            "birthDate":"1990-01-01","address":"1 Main St","phoneNumber":"+380501234567"}""";
+
+    private ConfigurableApplicationContext context;
+    private MockMvc mockMvc;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(UserRestApplication.class)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:error-path-benchmark",
+                        "--logging.level.root=WARN",
+                        "--server.port=0");
+        mockMvc = MockMvcBuilders.webAppContextSetup((WebApplicationContext) context).build();
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public MvcResult getUnknownUser() throws Exception {
+        long id = ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE);
+        return expect(mockMvc.perform(MockMvcRequestBuilders.get("/users/" + id))
+                .andReturn(), 404);
+    }
+
+    @Benchmark
+    public MvcResult createInvalidUser() throws Exception {
+        return expect(mockMvc.perform(MockMvcRequestBuilders.post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(INVALID_USER)).andReturn(), 400);
+    }
+
+    private static MvcResult expect(MvcResult result, int status) {
+        if (result.getResponse().getStatus() != status) {
+            throw new IllegalStateException("Expected " + status + " but got "
+                    + result.getResponse().getStatus());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,41 @@
+package test.assignment.benchmark;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import test.assignment.model.User;
+import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.util.UserMapper;
+import test.assignment.util.impl.UserMapperImpl;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+    private final UserMapper mapper = new UserMapperImpl();
+    private SaveUserDto saveUserDto;
+    private User user;
+
+    @Setup
+    public void setUp() {
+        saveUserDto = BenchmarkData.saveUserDto(42);
+        user = mapper.toModel(saveUserDto);
+        user.setId(42L);
+    }
+
+    @Benchmark
+    public User toModel() {
+        return mapper.toModel(saveUserDto);
+    }
+
+    @Benchmark
+    public UserResponseDto toDto() {
+        return mapper.toDto(user);
+    }
+}
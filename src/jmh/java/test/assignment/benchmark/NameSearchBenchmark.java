@@ -0,0 +1,89 @@
+package test.assignment.benchmark;
+
+import java.time.LocalDate;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.event.UserChangeEvent.ChangeType;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.service.UserNameIndex;
+
+/**
+ * Name searches over {@value #TABLE_SIZE} users with names drawn from
+ * {@value #FIRST_NAME_COUNT} first names and about 8000 generated last names. The users are
+ * fed to the index as change events rather than seeded into the database, since only the
+ * index is measured. The searches are a short prefix with many matches, a last name that
+ * also matches typos, the same name with a typo, and a first and last name together. The
+ * index's heap footprint is printed after setup.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class NameSearchBenchmark {
+    private static final int TABLE_SIZE = 1_000_000;
+    private static final int FIRST_NAME_COUNT = 40;
+    private static final String[] FIRST_NAMES = {
+        "James", "Mary", "John", "Patricia", "Robert", "Jennifer", "Michael", "Linda",
+        "William", "Elizabeth", "David", "Barbara", "Richard", "Susan", "Joseph", "Jessica",
+        "Thomas", "Sarah", "Charles", "Karen", "Olena", "Andrii", "Iryna", "Taras", "Oksana",
+        "Dmytro", "Kateryna", "Bohdan", "Sofia", "Yurii", "Anna", "Maksym", "Nataliia",
+        "Serhii", "Yuliia", "Pavlo", "Daria", "Ivan", "Marta", "Oleh"};
+    private static final String[] SYLLABLES = {
+        "an", "ber", "car", "dor", "el", "fin", "gar", "hol", "is", "jen",
+        "kor", "lan", "mar", "nor", "ol", "per", "quin", "ros", "sten", "tal"};
+
+    @Param({"ma", "marnorel", "marnoel", "anna kordor"})
+    private String query;
+
+    private ConfigurableApplicationContext context;
+    private UserNameIndex nameIndex;
+
+    @Setup
+    public void setUp() {
+        context = BenchmarkData.startContext("name-search-benchmark",
+                "users.name-search.enabled=true", "users.name-search.timeout=10s");
+        nameIndex = context.getBean(UserNameIndex.class);
+        long heapBefore = usedHeap();
+        Random random = new Random(42);
+        for (long id = 1; id <= TABLE_SIZE; id++) {
+            String lastName = SYLLABLES[random.nextInt(SYLLABLES.length)]
+                    + SYLLABLES[random.nextInt(SYLLABLES.length)]
+                    + SYLLABLES[random.nextInt(SYLLABLES.length)];
+            UserResponseDto user = new UserResponseDto(id, "user" + id + "@example.com",
+                    FIRST_NAMES[random.nextInt(FIRST_NAME_COUNT)],
+                    Character.toUpperCase(lastName.charAt(0)) + lastName.substring(1),
+                    LocalDate.of(1990, 1, 1), null, null);
+            nameIndex.onUserChange(new UserChangeEvent(ChangeType.CREATED, id, 0, user));
+        }
+        UserNameIndex.SearchResult result = nameIndex.search(query, 20, 0);
+        System.out.printf("%nIndexed %d users in %d MB of heap; \"%s\" matches %d%s%n",
+                nameIndex.size(), (usedHeap() - heapBefore) >> 20, query, result.matches(),
+                result.partial() ? " (partial)" : "");
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public UserNameIndex.SearchResult search() {
+        return nameIndex.search(query, 20, 0);
+    }
+
+    private static long usedHeap() {
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,81 @@
+package test.assignment.benchmark;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.LocalDate;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import test.assignment.UserRestApplication;
+import test.assignment.service.UserService;
+
+/**
+ * Latency distribution of GET /users over HTTP from {@value #THREADS} clients, many more than
+ * the server can serve at once, with and without the adaptive concurrency limit. Shed
+ * requests come back as 503 right away; the share of them is printed when the trial ends.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Threads(OverloadBenchmark.THREADS)
+public class OverloadBenchmark {
+    static final int THREADS = 64;
+    private static final int TABLE_SIZE = 20_000;
+    private static final int RANGE_DAYS = 365;
+
+    @Param({"false", "true"})
+    private boolean concurrencyLimit;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final LongAdder served = new LongAdder();
+    private final LongAdder shed = new LongAdder();
+    private ConfigurableApplicationContext context;
+    private String baseUri;
+
+    @Setup
+    public void setUp() {
+        context = new SpringApplicationBuilder(UserRestApplication.class)
+                .logStartupInfo(false)
+                .run("--spring.datasource.url=jdbc:h2:mem:overload-" + concurrencyLimit,
+                        "--logging.level.root=WARN",
+                        "--server.port=0",
+                        "--users.concurrency-limit.enabled=" + concurrencyLimit);
+        BenchmarkData.seed(context.getBean(UserService.class), TABLE_SIZE);
+        baseUri = "http://localhost:"
+                + context.getEnvironment().getProperty("local.server.port") + "/users";
+    }
+
+    @TearDown
+    public void tearDown() {
+        long total = served.sum() + shed.sum();
+        System.out.printf("%nShed %d of %d requests (%.1f%%)%n", shed.sum(), total,
+                total == 0 ? 0.0 : 100.0 * shed.sum() / total);
+        context.close();
+    }
+
+    @Benchmark
+    public int getUsersByBirthDateRange() throws IOException, InterruptedException {
+        LocalDate from = BenchmarkData.FIRST_BIRTH_DATE.plusDays(ThreadLocalRandom.current()
+                .nextInt(BenchmarkData.BIRTH_DATE_SPREAD_DAYS - RANGE_DAYS));
+        URI uri = URI.create(baseUri + "?from=" + from + "&to=" + from.plusDays(RANGE_DAYS));
+        int status = client.send(HttpRequest.newBuilder(uri).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+        (status == 503 ? shed : served).increment();
+        return status;
+    }
+}
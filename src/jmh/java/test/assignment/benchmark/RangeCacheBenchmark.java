@@ -0,0 +1,115 @@
+package test.assignment.benchmark;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.util.unit.DataSize;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.event.UserChangeEvent.ChangeType;
+import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.service.UserRangeCache;
+import test.assignment.service.UserService;
+
+/**
+ * Range reads drawn from {@value #POPULAR_RANGES} popular one-month windows, with one update
+ * every {@value #WRITE_EVERY} calls moving a user's birth date, with and without the range
+ * cache; the hit ratio is printed when the trial ends. {@code invalidate} measures a single
+ * write against a cache holding {@value #CACHED_RANGES} overlapping ranges.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class RangeCacheBenchmark {
+    private static final int TABLE_SIZE = 100_000;
+    private static final int POPULAR_RANGES = 200;
+    private static final int WRITE_EVERY = 100;
+    private static final int CACHED_RANGES = 5000;
+
+    @State(Scope.Benchmark)
+    public static class Service {
+        @Param({"false", "true"})
+        private boolean rangeCache;
+
+        private ConfigurableApplicationContext context;
+        private UserService userService;
+        private List<UserResponseDto> writable;
+        private long calls;
+
+        @Setup
+        public void setUp() {
+            context = BenchmarkData.startContext("range-cache-benchmark-" + rangeCache,
+                    "users.range-cache.enabled=" + rangeCache);
+            userService = context.getBean(UserService.class);
+            BenchmarkData.seed(userService, TABLE_SIZE);
+            writable = userService.getUsersByBirthDateRange(BenchmarkData.FIRST_BIRTH_DATE,
+                    BenchmarkData.FIRST_BIRTH_DATE.plusDays(30));
+        }
+
+        @TearDown
+        public void tearDown() {
+            if (rangeCache) {
+                MeterRegistry meterRegistry = context.getBean(MeterRegistry.class);
+                System.out.printf("%nHit ratio %.3f%n",
+                        meterRegistry.get("users.range-cache.hit-ratio").gauge().value());
+            }
+            context.close();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class Cache {
+        private final UserRangeCache cache = new UserRangeCache(true, DataSize.ofGigabytes(1),
+                new SimpleMeterRegistry());
+        private final List<UserResponseDto> users = BenchmarkData.userResponseDtos(10);
+
+        @Setup(Level.Invocation)
+        public void fill() {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            while (cache.size() < CACHED_RANGES) {
+                LocalDate from = BenchmarkData.FIRST_BIRTH_DATE.plusDays(
+                        random.nextInt(BenchmarkData.BIRTH_DATE_SPREAD_DAYS));
+                cache.get(from, from.plusDays(random.nextInt(1, 365)), () -> users);
+            }
+        }
+    }
+
+    @Benchmark
+    public List<UserResponseDto> getUsersByBirthDateRange(Service state) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        if (++state.calls % WRITE_EVERY == 0) {
+            UserResponseDto user = state.writable.get(random.nextInt(state.writable.size()));
+            state.userService.updateUser(user.id(), new SaveUserDto(user.email(),
+                    user.firstName(), user.lastName(), randomPopularFrom(random).plusDays(15),
+                    user.address(), user.phoneNumber()));
+        }
+        LocalDate from = randomPopularFrom(random);
+        return state.userService.getUsersByBirthDateRange(from, from.plusDays(30));
+    }
+
+    @Benchmark
+    public int invalidate(Cache state) {
+        LocalDate birthDate = BenchmarkData.FIRST_BIRTH_DATE.plusDays(ThreadLocalRandom.current()
+                .nextInt(BenchmarkData.BIRTH_DATE_SPREAD_DAYS));
+        state.cache.onUserChange(new UserChangeEvent(ChangeType.CREATED, 1L, 0,
+                new UserResponseDto(1L, null, null, null, birthDate, null, null)));
+        return state.cache.size();
+    }
+
+    private static LocalDate randomPopularFrom(ThreadLocalRandom random) {
+        return BenchmarkData.FIRST_BIRTH_DATE.plusMonths(random.nextInt(POPULAR_RANGES));
+    }
+}
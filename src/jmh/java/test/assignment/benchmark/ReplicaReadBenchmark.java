@@ -0,0 +1,102 @@
+package test.assignment.benchmark;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.service.UserService;
+
+/**
+ * Birth date range reads per second from {@value #THREADS} concurrent callers with the
+ * primary alone and with one or two replicas. Each replica is a separate in-memory H2
+ * database that gets a copy of the seeded primary before the measurement.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(ReplicaReadBenchmark.THREADS)
+public class ReplicaReadBenchmark {
+    static final int THREADS = 16;
+    private static final int TABLE_SIZE = 10_000;
+    private static final String USERNAME = "sa";
+    private static final String PASSWORD = "password";
+
+    @Param({"0", "1", "2"})
+    private int replicas;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private final List<String> replicaUrls = new ArrayList<>();
+
+    @Setup
+    public void setUp() throws Exception {
+        String primaryName = "replica-benchmark-primary-" + replicas;
+        for (int i = 1; i <= replicas; i++) {
+            replicaUrls.add("jdbc:h2:mem:replica-benchmark-" + replicas + "-" + i
+                    + ";DB_CLOSE_DELAY=-1");
+        }
+        context = replicas == 0
+                ? BenchmarkData.startContext(primaryName)
+                : BenchmarkData.startContext(primaryName,
+                        "users.datasource.replica-urls=" + String.join(",", replicaUrls));
+        userService = context.getBean(UserService.class);
+        BenchmarkData.seed(userService, TABLE_SIZE);
+        copyToReplicas("jdbc:h2:mem:" + primaryName);
+    }
+
+    @TearDown
+    public void tearDown() throws SQLException {
+        context.close();
+        for (String url : replicaUrls) {
+            execute(url, "SHUTDOWN");
+        }
+    }
+
+    @Benchmark
+    public List<UserResponseDto> getUsersByBirthDateRange() {
+        LocalDate from = BenchmarkData.FIRST_BIRTH_DATE.plusDays(ThreadLocalRandom.current()
+                .nextInt(BenchmarkData.BIRTH_DATE_SPREAD_DAYS - 30));
+        return userService.getUsersByBirthDateRange(from, from.plusDays(30));
+    }
+
+    private void copyToReplicas(String primaryUrl) throws Exception {
+        if (replicaUrls.isEmpty()) {
+            return;
+        }
+        Path script = Files.createTempFile("replica-benchmark", ".sql");
+        try {
+            execute(primaryUrl, "SCRIPT TO '" + script + "'");
+            for (String url : replicaUrls) {
+                execute(url, "RUNSCRIPT FROM '" + script + "'");
+            }
+        } finally {
+            Files.delete(script);
+        }
+    }
+
+    private static void execute(String url, String sql) throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, USERNAME, PASSWORD);
+             Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
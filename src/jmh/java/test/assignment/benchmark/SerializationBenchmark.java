@@ -0,0 +1,66 @@
+package test.assignment.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.util.json.UserJsonModule;
+
+/**
+ * {@code json-reflective} is the default record handling; the other formats use
+ * {@link UserJsonModule}. Dates are written as ISO strings, as in the application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class SerializationBenchmark {
+    @Param({"10", "1000", "100000"})
+    private int size;
+
+    @Param({"json-reflective", "json", "cbor", "smile"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<UserResponseDto> users;
+    private byte[] json;
+
+    @Setup
+    public void setUp() throws JsonProcessingException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        if (!format.equals("json-reflective")) {
+            builder.modulesToInstall(new UserJsonModule());
+        }
+        if (format.equals("cbor")) {
+            builder.factory(new CBORFactory());
+        } else if (format.equals("smile")) {
+            builder.factory(new SmileFactory());
+        }
+        objectMapper = builder.build();
+        users = BenchmarkData.userResponseDtos(size);
+        json = objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public byte[] serializeUserList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(users);
+    }
+
+    @Benchmark
+    public List<UserResponseDto> deserializeUserList() throws Exception {
+        return objectMapper.readerForListOf(UserResponseDto.class).readValue(json);
+    }
+}
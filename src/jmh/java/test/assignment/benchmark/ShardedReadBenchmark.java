@@ -0,0 +1,79 @@
+package test.assignment.benchmark;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.context.ConfigurableApplicationContext;
+import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.service.UserService;
+
+/**
+ * Birth date range and by-id reads per second from {@value #THREADS} concurrent callers with
+ * the users spread over one, two or four shards, each a separate in-memory H2 database.
+ * Seeding goes through small batches so that every shard gets an equal share.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(ShardedReadBenchmark.THREADS)
+public class ShardedReadBenchmark {
+    static final int THREADS = 16;
+    private static final int TABLE_SIZE = 20_000;
+    private static final int SEED_BATCH_SIZE = 500;
+
+    @Param({"1", "2", "4"})
+    private int shards;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+    private List<Long> ids;
+
+    @Setup
+    public void setUp() {
+        List<String> shardUrls = new ArrayList<>();
+        for (int i = 1; i <= shards; i++) {
+            shardUrls.add("jdbc:h2:mem:shard-benchmark-" + shards + "-" + i);
+        }
+        context = BenchmarkData.startContext("shard-benchmark-" + shards,
+                "users.sharding.shard-urls=" + String.join(",", shardUrls));
+        userService = context.getBean(UserService.class);
+        ids = new ArrayList<>(TABLE_SIZE);
+        for (int start = 0; start < TABLE_SIZE; start += SEED_BATCH_SIZE) {
+            List<SaveUserDto> batch = new ArrayList<>(SEED_BATCH_SIZE);
+            for (int i = start; i < start + SEED_BATCH_SIZE; i++) {
+                batch.add(BenchmarkData.saveUserDto(i));
+            }
+            userService.createUsers(batch).forEach(item -> ids.add(item.user().id()));
+        }
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserResponseDto> getUsersByBirthDateRange() {
+        LocalDate from = BenchmarkData.FIRST_BIRTH_DATE.plusDays(ThreadLocalRandom.current()
+                .nextInt(BenchmarkData.BIRTH_DATE_SPREAD_DAYS - 30));
+        return userService.getUsersByBirthDateRange(from, from.plusDays(30));
+    }
+
+    @Benchmark
+    public UserResponseDto getUserById() {
+        return userService.getUserById(ids.get(ThreadLocalRandom.current().nextInt(TABLE_SIZE)));
+    }
+}
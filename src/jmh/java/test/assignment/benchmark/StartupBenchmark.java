@@ -0,0 +1,140 @@
+package test.assignment.benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.LongSummaryStatistics;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Time from process launch to the first successful GET /users, for the same jar started
+ * plainly ({@code default}) and with the AOT code, CDS archive and lazy initialization of the
+ * {@code fast-startup} profile. After each start the server handles {@value #WARMUP_REQUESTS}
+ * requests and its resident set size, read from /proc, is printed when the trial ends.
+ * Build the jar first with {@code mvn -Pfast-startup package -DskipTests}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupBenchmark {
+    private static final Path JAR = Path.of("target", "UserRestAPI-0.0.1-SNAPSHOT.jar");
+    private static final Path CDS_ARCHIVE = Path.of("target", "application.jsa");
+    private static final int WARMUP_REQUESTS = 1000;
+    private static final long POLL_MILLIS = 10;
+
+    @Param({"default", "fast-startup"})
+    private String build;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final List<Long> residentKilobytes = new ArrayList<>();
+    private Process server;
+    private URI usersUri;
+
+    @Setup(Level.Trial)
+    public void checkBuild() {
+        if (!Files.exists(JAR) || !Files.exists(CDS_ARCHIVE)) {
+            throw new IllegalStateException(
+                    "Run 'mvn -Pfast-startup package -DskipTests' before this benchmark");
+        }
+    }
+
+    @Setup(Level.Iteration)
+    public void pickPort() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            usersUri = URI.create("http://localhost:" + socket.getLocalPort()
+                    + "/users?from=1980-01-01&to=1990-01-01");
+        }
+    }
+
+    @Benchmark
+    public int timeToFirstResponse() throws Exception {
+        server = new ProcessBuilder(command())
+                .redirectOutput(ProcessBuilder.Redirect.DISCARD)
+                .redirectError(ProcessBuilder.Redirect.DISCARD)
+                .start();
+        while (true) {
+            try {
+                int status = get();
+                if (status == 200) {
+                    return status;
+                }
+            } catch (ConnectException e) {
+                if (!server.isAlive()) {
+                    throw new IllegalStateException("Server exited with " + server.exitValue());
+                }
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopServer() throws Exception {
+        for (int i = 0; i < WARMUP_REQUESTS; i++) {
+            get();
+        }
+        residentKilobytes.add(residentKilobytes(server.pid()));
+        server.destroy();
+        server.waitFor();
+    }
+
+    @TearDown(Level.Trial)
+    public void printResidentSetSize() {
+        LongSummaryStatistics stats = residentKilobytes.stream()
+                .mapToLong(Long::longValue)
+                .summaryStatistics();
+        System.out.printf("%nRSS after warmup (%s): avg %d MB, min %d MB, max %d MB%n", build,
+                Math.round(stats.getAverage() / 1024), stats.getMin() / 1024,
+                stats.getMax() / 1024);
+    }
+
+    private int get() throws IOException, InterruptedException {
+        return client.send(HttpRequest.newBuilder(usersUri).build(),
+                HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private List<String> command() {
+        List<String> command = new ArrayList<>();
+        command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+        if (build.equals("fast-startup")) {
+            command.add("-XX:SharedArchiveFile=" + CDS_ARCHIVE);
+            command.add("-Dspring.aot.enabled=true");
+            command.add("-Dspring.profiles.active=fast-startup");
+            command.add("-Dspring.backgroundpreinitializer.ignore=true");
+        }
+        command.add("-jar");
+        command.add(JAR.toString());
+        command.add("--server.port=" + usersUri.getPort());
+        return command;
+    }
+
+    private static long residentKilobytes(long pid) {
+        try {
+            return Files.readAllLines(Path.of("/proc", Long.toString(pid), "status")).stream()
+                    .filter(line -> line.startsWith("VmRSS:"))
+                    .mapToLong(line -> Long.parseLong(line.replaceAll("\\D", "")))
+                    .findFirst()
+                    .orElseThrow();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package test.assignment.benchmark;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.context.ConfigurableApplicationContext;
+import test.assignment.model.dto.response.UserPageResponseDto;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.service.UserService;
+
+/**
+ * End-to-end {@link UserService} calls through the Spring proxies against embedded H2.
+ * The range query asks for a 30 day window, so its result grows with the table size.
+ * With {@code birthDateIndex} the range query is served by the in-memory index, which is
+ * loaded from a table seeded beforehand by a separate context, since seeding through the
+ * index would shift its arrays on every insert.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class UserServiceBenchmark {
+    @Param({"1000", "10000", "100000"})
+    private int tableSize;
+
+    @Param({"false", "true"})
+    private boolean birthDateIndex;
+
+    private ConfigurableApplicationContext context;
+    private UserService userService;
+
+    @Setup
+    public void setUp() {
+        String databaseName = "service-benchmark-" + tableSize + "-" + birthDateIndex;
+        if (!birthDateIndex) {
+            context = BenchmarkData.startContext(databaseName);
+            userService = context.getBean(UserService.class);
+            BenchmarkData.seed(userService, tableSize);
+            return;
+        }
+        try (ConfigurableApplicationContext seedContext = BenchmarkData.startContext(
+                databaseName, "spring.jpa.hibernate.ddl-auto=create")) {
+            BenchmarkData.seed(seedContext.getBean(UserService.class), tableSize);
+            context = BenchmarkData.startContext(databaseName,
+                    "spring.jpa.hibernate.ddl-auto=none", "users.birth-date-index.enabled=true");
+        }
+        userService = context.getBean(UserService.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserResponseDto> getUsersByBirthDateRange() {
+        LocalDate from = randomBirthDate();
+        return userService.getUsersByBirthDateRange(from, from.plusDays(30));
+    }
+
+    @Benchmark
+    public UserPageResponseDto getUsersPage() {
+        LocalDate from = randomBirthDate();
+        return userService.getUsersByBirthDateRange(from, from.plusYears(1), 100, null);
+    }
+
+    @Benchmark
+    public UserResponseDto getUserById() {
+        return userService.getUserById(randomId());
+    }
+
+    @Benchmark
+    public UserResponseDto createUser() {
+        return userService.createUser(BenchmarkData.saveUserDto(randomId()));
+    }
+
+    @Benchmark
+    public UserResponseDto updateUser() {
+        long id = randomId();
+        return userService.updateUser(id, BenchmarkData.saveUserDto(id));
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(1, tableSize + 1);
+    }
+
+    private LocalDate randomBirthDate() {
+        return BenchmarkData.FIRST_BIRTH_DATE.plusDays(ThreadLocalRandom.current()
+                .nextInt(BenchmarkData.BIRTH_DATE_SPREAD_DAYS - 30));
+    }
+}
@@ -0,0 +1,91 @@
+package test.assignment.benchmark;
+
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import test.assignment.model.dto.request.DateRangeDto;
+import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.request.UserUpdatePartialDto;
+import test.assignment.util.validation.AdultValidator;
+import test.assignment.util.validation.DateRangeValidator;
+import test.assignment.util.validation.UserDtoValidator;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationBenchmark {
+    private final AdultValidator adultValidator = new AdultValidator();
+    private final DateRangeValidator dateRangeValidator = new DateRangeValidator();
+    private final List<String> errors = new ArrayList<>();
+    private final LocalDate birthDate = LocalDate.of(1990, 6, 15);
+    private final DateRangeDto dateRangeDto = new DateRangeDto(LocalDate.of(1980, 1, 1),
+            LocalDate.of(1990, 1, 1));
+    private ValidatorFactory validatorFactory;
+    private Validator validator;
+    private UserDtoValidator userDtoValidator;
+    private SaveUserDto saveUserDto;
+    private UserUpdatePartialDto userUpdatePartialDto;
+
+    @Setup
+    public void setUp() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        validator = validatorFactory.getValidator();
+        userDtoValidator = new UserDtoValidator(validator);
+        saveUserDto = BenchmarkData.saveUserDto(42);
+        userUpdatePartialDto = new UserUpdatePartialDto(Optional.of(saveUserDto.email()),
+                Optional.empty(), Optional.empty(), Optional.of(saveUserDto.birthDate()),
+                Optional.empty(), Optional.empty());
+    }
+
+    @TearDown
+    public void tearDown() {
+        validatorFactory.close();
+    }
+
+    @Benchmark
+    public boolean adultValidator() {
+        return adultValidator.isValid(birthDate, null);
+    }
+
+    @Benchmark
+    public boolean dateRangeValidator() {
+        return dateRangeValidator.isValid(dateRangeDto, null);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<SaveUserDto>> beanValidationSaveUserDto() {
+        return validator.validate(saveUserDto);
+    }
+
+    @Benchmark
+    public boolean userDtoValidatorSaveUserDto() {
+        errors.clear();
+        return userDtoValidator.validate(saveUserDto, errors);
+    }
+
+    @Benchmark
+    public Set<ConstraintViolation<UserUpdatePartialDto>> beanValidationUserUpdatePartialDto() {
+        return validator.validate(userUpdatePartialDto);
+    }
+
+    @Benchmark
+    public boolean userDtoValidatorUserUpdatePartialDto() {
+        errors.clear();
+        return userDtoValidator.validate(userUpdatePartialDto, errors);
+    }
+}
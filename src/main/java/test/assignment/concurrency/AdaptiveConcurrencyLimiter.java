@@ -0,0 +1,99 @@
+package test.assignment.concurrency;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A concurrency limit that follows the latency of the work it admits, after the gradient
+ * scheme of Netflix's concurrency-limits. Every completed call compares its round-trip time
+ * with a long-running average: while they agree the limit grows by its square root, and as
+ * calls start queueing and slow down the limit shrinks by the ratio of the two, to no less
+ * than half per step. Samples taken while less than half of the limit is in use say nothing
+ * about capacity and leave the limit alone.
+ */
+public class AdaptiveConcurrencyLimiter {
+    private static final double SMOOTHING = 0.2;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double MIN_GRADIENT = 0.5;
+    private static final int LONG_RTT_WINDOW = 600;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final LongAdder rejected = new LongAdder();
+    private volatile double limit;
+    private double longRttNanos;
+    private long samples;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit,
+                                      int maxLimit) {
+        if (minLimit < 1 || initialLimit < minLimit || maxLimit < initialLimit) {
+            throw new IllegalArgumentException("Expected 1 <= min <= initial <= max limit");
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.limit = initialLimit;
+    }
+
+    public boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= (int) limit) {
+                rejected.increment();
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    /** Returns a permit without a latency sample, for calls whose duration is not typical. */
+    public void release() {
+        inFlight.decrementAndGet();
+    }
+
+    public void release(long rttNanos) {
+        onSample(Math.max(1, rttNanos), inFlight.getAndDecrement());
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return (int) limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    public long getRejected() {
+        return rejected.sum();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtRelease) {
+        samples++;
+        if (samples == 1) {
+            longRttNanos = rttNanos;
+        } else {
+            double factor = 2.0 / (Math.min(samples, LONG_RTT_WINDOW) + 1);
+            longRttNanos = longRttNanos * (1 - factor) + rttNanos * factor;
+        }
+        // After a lasting slowdown the average falls back quickly, so the limit can recover.
+        if (longRttNanos / rttNanos > 2) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlightAtRelease < limit / 2) {
+            return;
+        }
+        double gradient = Math.max(MIN_GRADIENT,
+                Math.min(1.0, RTT_TOLERANCE * longRttNanos / rttNanos));
+        double target = limit * gradient + Math.sqrt(limit);
+        double smoothed = limit * (1 - SMOOTHING) + target * SMOOTHING;
+        limit = Math.max(minLimit, Math.min(maxLimit, smoothed));
+    }
+}
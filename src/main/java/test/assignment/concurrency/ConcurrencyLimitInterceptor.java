@@ -0,0 +1,111 @@
+package test.assignment.concurrency;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpEntity;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import test.assignment.exception.ConcurrencyLimitExceededException;
+
+/**
+ * Admits a request only while its limiter has a free permit; reads (GET and HEAD) and
+ * writes have separate limiters, so a burst of slow writes cannot starve reads. Reads
+ * answered with a {@link StreamingResponseBody}, such as exports, take their permit from a
+ * third limiter instead, as they hold it for as long as the client takes to download.
+ * Rejected requests fail with {@link ConcurrencyLimitExceededException} before any work is
+ * done. Streaming responses hold their permit until the stream ends but do not feed the
+ * limiter a latency sample, as their duration depends on the size of the result.
+ */
+public class ConcurrencyLimitInterceptor implements AsyncHandlerInterceptor {
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD");
+    private static final String PERMIT_ATTRIBUTE =
+            ConcurrencyLimitInterceptor.class.getName() + ".permit";
+
+    private final AdaptiveConcurrencyLimiter readLimiter;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+    private final AdaptiveConcurrencyLimiter streamLimiter;
+    private final Duration retryAfter;
+    private final Map<Method, Boolean> streamingMethods = new ConcurrentHashMap<>();
+
+    public ConcurrencyLimitInterceptor(AdaptiveConcurrencyLimiter readLimiter,
+                                       AdaptiveConcurrencyLimiter writeLimiter,
+                                       AdaptiveConcurrencyLimiter streamLimiter,
+                                       Duration retryAfter) {
+        this.readLimiter = readLimiter;
+        this.writeLimiter = writeLimiter;
+        this.streamLimiter = streamLimiter;
+        this.retryAfter = retryAfter;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response,
+                             Object handler) {
+        if (request.getDispatcherType() == DispatcherType.ASYNC) {
+            // The permit was taken when the request first arrived.
+            return true;
+        }
+        boolean streaming = false;
+        AdaptiveConcurrencyLimiter limiter = writeLimiter;
+        if (READ_METHODS.contains(request.getMethod())) {
+            streaming = isStreaming(handler);
+            limiter = streaming ? streamLimiter : readLimiter;
+        }
+        if (!limiter.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException(
+                    "Too many concurrent " + limiter.getName() + " requests", retryAfter);
+        }
+        request.setAttribute(PERMIT_ATTRIBUTE,
+                new Permit(limiter, streaming ? -1 : System.nanoTime()));
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request,
+                                               HttpServletResponse response, Object handler) {
+        Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit != null) {
+            request.setAttribute(PERMIT_ATTRIBUTE, new Permit(permit.limiter(), -1));
+        }
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        Permit permit = (Permit) request.getAttribute(PERMIT_ATTRIBUTE);
+        if (permit == null) {
+            return;
+        }
+        request.removeAttribute(PERMIT_ATTRIBUTE);
+        if (permit.startNanos() < 0) {
+            permit.limiter().release();
+        } else {
+            permit.limiter().release(System.nanoTime() - permit.startNanos());
+        }
+    }
+
+    /** Whether {@code handler} returns a body that is written after it returns. */
+    private boolean isStreaming(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return false;
+        }
+        return streamingMethods.computeIfAbsent(handlerMethod.getMethod(), method -> {
+            ResolvableType type = ResolvableType.forMethodReturnType(method);
+            if (HttpEntity.class.isAssignableFrom(type.toClass())) {
+                type = type.as(HttpEntity.class).getGeneric(0);
+            }
+            return StreamingResponseBody.class.isAssignableFrom(type.toClass());
+        });
+    }
+
+    /** A held permit; a negative start marks a streaming response. */
+    private record Permit(AdaptiveConcurrencyLimiter limiter, long startNanos) {
+    }
+}
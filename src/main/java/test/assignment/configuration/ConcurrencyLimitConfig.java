@@ -0,0 +1,71 @@
+package test.assignment.configuration;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import test.assignment.concurrency.AdaptiveConcurrencyLimiter;
+import test.assignment.concurrency.ConcurrencyLimitInterceptor;
+
+/**
+ * Opt-in load shedding for {@code /users} ({@code users.concurrency-limit.enabled=true}).
+ * Reads and writes get their own {@link AdaptiveConcurrencyLimiter}, whose limit, in-flight
+ * count and rejections are published as {@code users.concurrency.*} metrics tagged by type.
+ * Streamed reads get a fixed limit of {@code users.concurrency-limit.stream-limit}, since
+ * their duration says nothing about load.
+ */
+@Configuration
+@ConditionalOnProperty(name = "users.concurrency-limit.enabled", havingValue = "true")
+public class ConcurrencyLimitConfig implements WebMvcConfigurer {
+    private final ConcurrencyLimitInterceptor interceptor;
+
+    public ConcurrencyLimitConfig(
+            MeterRegistry meterRegistry,
+            @Value("${users.concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${users.concurrency-limit.min-limit:2}") int minLimit,
+            @Value("${users.concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${users.concurrency-limit.stream-limit:8}") int streamLimit,
+            @Value("${users.concurrency-limit.retry-after:1s}") Duration retryAfter) {
+        AdaptiveConcurrencyLimiter readLimiter =
+                new AdaptiveConcurrencyLimiter("read", initialLimit, minLimit, maxLimit);
+        AdaptiveConcurrencyLimiter writeLimiter =
+                new AdaptiveConcurrencyLimiter("write", initialLimit, minLimit, maxLimit);
+        AdaptiveConcurrencyLimiter streamLimiter =
+                new AdaptiveConcurrencyLimiter("stream", streamLimit, streamLimit, streamLimit);
+        bindMetrics(readLimiter, meterRegistry);
+        bindMetrics(writeLimiter, meterRegistry);
+        bindMetrics(streamLimiter, meterRegistry);
+        this.interceptor = new ConcurrencyLimitInterceptor(readLimiter, writeLimiter,
+                streamLimiter, retryAfter);
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        // The change feed stays open for minutes and has its own subscriber limit.
+        registry.addInterceptor(interceptor).addPathPatterns("/users", "/users/**")
+                .excludePathPatterns("/users/changes");
+    }
+
+    private static void bindMetrics(AdaptiveConcurrencyLimiter limiter,
+                                    MeterRegistry meterRegistry) {
+        Gauge.builder("users.concurrency.limit", limiter, AdaptiveConcurrencyLimiter::getLimit)
+                .description("Current adaptive concurrency limit")
+                .tag("type", limiter.getName())
+                .register(meterRegistry);
+        Gauge.builder("users.concurrency.in-flight", limiter,
+                        AdaptiveConcurrencyLimiter::getInFlight)
+                .description("Requests holding a concurrency permit")
+                .tag("type", limiter.getName())
+                .register(meterRegistry);
+        FunctionCounter.builder("users.concurrency.rejected", limiter,
+                        AdaptiveConcurrencyLimiter::getRejected)
+                .description("Requests shed because the concurrency limit was reached")
+                .tag("type", limiter.getName())
+                .register(meterRegistry);
+    }
+}
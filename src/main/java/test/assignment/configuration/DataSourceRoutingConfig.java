@@ -0,0 +1,75 @@
+package test.assignment.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import test.assignment.datasource.ReadYourWritesFilter;
+import test.assignment.datasource.ReplicaRoutingDataSource;
+
+/**
+ * Sends read-only transactions to the replicas listed in {@code users.datasource.replica-urls}
+ * and everything else to {@code spring.datasource.url}. The lazy proxy only fetches a
+ * connection on the first statement, after the transaction has marked it read-only, and
+ * picks the pool from that flag. Every pool takes the {@code spring.datasource.hikari.*}
+ * settings and the primary's credentials. Reads that fill a cache or an in-memory view run
+ * through {@link test.assignment.datasource.PrimaryReads}, so replica lag cannot leave a
+ * write out of them.
+ */
+@Configuration
+@ConditionalOnExpression("!'${users.datasource.replica-urls:}'.isBlank()")
+public class DataSourceRoutingConfig implements DisposableBean {
+    private final List<HikariDataSource> pools = new ArrayList<>();
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${users.datasource.replica-urls}")
+                                 List<String> replicaUrls) {
+        HikariDataSource primary = pool(properties, properties.determineUrl(), "primary",
+                environment, meterRegistry);
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < replicaUrls.size(); i++) {
+            replicas.add(pool(properties, replicaUrls.get(i).trim(), "replica-" + (i + 1),
+                    environment, meterRegistry));
+        }
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(new ReplicaRoutingDataSource(primary, replicas));
+        return dataSource;
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            @Value("${users.datasource.read-your-writes-window:5s}") Duration window) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(window));
+        registration.addUrlPatterns("/users", "/users/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 2);
+        return registration;
+    }
+
+    @Override
+    public void destroy() {
+        pools.forEach(HikariDataSource::close);
+    }
+
+    private HikariDataSource pool(DataSourceProperties properties, String url, String name,
+                                  Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource pool = HikariPools.create(properties, url, name, environment,
+                meterRegistry);
+        pools.add(pool);
+        return pool;
+    }
+}
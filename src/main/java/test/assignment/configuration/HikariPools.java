@@ -0,0 +1,30 @@
+package test.assignment.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+
+/**
+ * Builds the extra connection pools of the replica and shard setups with the primary's
+ * credentials and the {@code spring.datasource.hikari.*} settings.
+ */
+final class HikariPools {
+
+    private HikariPools() {
+    }
+
+    static HikariDataSource create(DataSourceProperties properties, String url, String name,
+                                   Environment environment, MeterRegistry meterRegistry) {
+        HikariDataSource pool = properties.initializeDataSourceBuilder()
+                .type(HikariDataSource.class)
+                .url(url)
+                .build();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+        pool.setMetricRegistry(meterRegistry);
+        return pool;
+    }
+}
@@ -0,0 +1,41 @@
+package test.assignment.configuration;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import test.assignment.monitoring.SlowRequestLoggingFilter;
+import test.assignment.monitoring.SqlStatementRecorder;
+
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer sqlStatementRecorderCustomizer() {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR,
+                new SqlStatementRecorder());
+    }
+
+    @Bean
+    public FilterRegistrationBean<SlowRequestLoggingFilter> slowRequestLoggingFilter(
+            MeterRegistry meterRegistry,
+            @Value("${users.monitoring.slow-request-threshold:500ms}") Duration threshold) {
+        FilterRegistrationBean<SlowRequestLoggingFilter> registration =
+                new FilterRegistrationBean<>(new SlowRequestLoggingFilter(meterRegistry,
+                        threshold));
+        registration.addUrlPatterns("/users", "/users/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+}
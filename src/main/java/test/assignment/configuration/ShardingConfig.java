@@ -0,0 +1,132 @@
+package test.assignment.configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.SequenceGenerator;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.jdbc.datasource.init.ScriptUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import test.assignment.model.User;
+import test.assignment.sharding.ShardRoutingDataSource;
+import test.assignment.sharding.ShardedIdOptimizer;
+import test.assignment.sharding.ShardedUserRepositoryAspect;
+
+/**
+ * Stores users across the databases listed in {@code users.sharding.shard-urls}, which
+ * replace {@code spring.datasource.url}. Hibernate's schema generation is switched off; each
+ * shard gets the table from {@code db/sharding/schema.sql} and a {@code users_seq} that only
+ * yields ids owned by that shard (see {@link ShardedIdOptimizer}). The shard count is part
+ * of the id layout, so it cannot change once data has been written. Sharding cannot be
+ * combined with {@code users.datasource.replica-urls}.
+ */
+@Configuration
+@ConditionalOnExpression("!'${users.sharding.shard-urls:}'.isBlank()")
+public class ShardingConfig implements DisposableBean {
+    private final List<HikariDataSource> shards = new ArrayList<>();
+    private final List<String> shardUrls;
+    private final int idBlockSize;
+    private ExecutorService scatterExecutor;
+    private ExecutorService streamExecutor;
+
+    public ShardingConfig(@Value("${users.sharding.shard-urls}") List<String> shardUrls,
+                          @Value("${users.datasource.replica-urls:}") String replicaUrls)
+            throws NoSuchFieldException {
+        if (!replicaUrls.isBlank()) {
+            throw new IllegalStateException("users.sharding.shard-urls cannot be combined "
+                    + "with users.datasource.replica-urls");
+        }
+        this.shardUrls = shardUrls.stream().map(String::trim).toList();
+        this.idBlockSize = User.class.getDeclaredField("id")
+                .getAnnotation(SequenceGenerator.class).allocationSize();
+    }
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties, Environment environment,
+                                 MeterRegistry meterRegistry) throws SQLException {
+        for (int i = 0; i < shardUrls.size(); i++) {
+            HikariDataSource shard = HikariPools.create(properties, shardUrls.get(i),
+                    "shard-" + (i + 1), environment, meterRegistry);
+            shards.add(shard);
+            initializeSchema(shard, i);
+        }
+        return new LazyConnectionDataSourceProxy(new ShardRoutingDataSource(shards));
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernateProperties() {
+        return hibernateProperties -> {
+            hibernateProperties.put(AvailableSettings.HBM2DDL_AUTO, "none");
+            hibernateProperties.put(AvailableSettings.PREFERRED_POOLED_OPTIMIZER,
+                    ShardedIdOptimizer.class.getName());
+        };
+    }
+
+    @Bean
+    public ShardedUserRepositoryAspect shardedUserRepositoryAspect(
+            ObjectProvider<PlatformTransactionManager> transactionManager,
+            @Value("${spring.datasource.hikari.maximum-pool-size:10}") int poolSize,
+            @Value("${users.sharding.stream-stall-timeout:60s}") Duration streamStallTimeout) {
+        AtomicInteger threads = new AtomicInteger();
+        // Enough workers for every shard connection to be busy with fan-out queries.
+        scatterExecutor = Executors.newFixedThreadPool(shardUrls.size() * poolSize, task -> {
+            Thread thread = new Thread(task, "user-shard-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Stream workers wait on their client, so they must not take the fan-out workers.
+        // Their number is bounded by the shard connections they hold.
+        AtomicInteger streamThreads = new AtomicInteger();
+        streamExecutor = Executors.newCachedThreadPool(task -> {
+            Thread thread = new Thread(task,
+                    "user-shard-stream-" + streamThreads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        return new ShardedUserRepositoryAspect(shardUrls.size(), idBlockSize, scatterExecutor,
+                streamExecutor, streamStallTimeout, transactionManager);
+    }
+
+    @Override
+    public void destroy() {
+        if (scatterExecutor != null) {
+            scatterExecutor.shutdownNow();
+        }
+        if (streamExecutor != null) {
+            streamExecutor.shutdownNow();
+        }
+        shards.forEach(HikariDataSource::close);
+    }
+
+    private void initializeSchema(DataSource shard, int index) throws SQLException {
+        try (Connection connection = shard.getConnection()) {
+            ScriptUtils.executeSqlScript(connection,
+                    new ClassPathResource("db/sharding/schema.sql"));
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("CREATE SEQUENCE IF NOT EXISTS users_seq START WITH "
+                        + ((long) index * idBlockSize + 1) + " INCREMENT BY "
+                        + ((long) shardUrls.size() * idBlockSize));
+            }
+        }
+    }
+}
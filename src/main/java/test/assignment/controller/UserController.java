@@ -1,9 +1,35 @@
 package test.assignment.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Email;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPOutputStream;
 import lombok.AllArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.HttpMediaTypeNotAcceptableException;
+import org.springframework.web.accept.ContentNegotiationManager;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
@@ -12,34 +38,171 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import test.assignment.model.dto.request.DateRangeDto;
+import test.assignment.model.dto.request.KeysetPageDto;
 import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.request.UserSearchDto;
 import test.assignment.model.dto.request.UserUpdatePartialDto;
+import test.assignment.model.dto.response.UserBatchItemResponseDto;
+import test.assignment.model.dto.response.UserImportResponseDto;
+import test.assignment.model.dto.response.UserPageResponseDto;
 import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.model.dto.response.UserSearchResponseDto;
+import test.assignment.service.UserChangeFeed;
+import test.assignment.service.UserCreateGroupCommitter;
+import test.assignment.service.UserDataVersion;
+import test.assignment.service.UserImportService;
 import test.assignment.service.UserService;
+import test.assignment.util.KeysetCursor;
+import test.assignment.util.parser.CsvUserRowWriter;
+import test.assignment.util.parser.UserImportFormat;
 
 @RestController
 @AllArgsConstructor
 @RequestMapping("/users")
 public class UserController {
+    private static final String TEXT_CSV_VALUE = "text/csv";
+    private static final MediaType TEXT_CSV =
+            new MediaType("text", "csv", StandardCharsets.UTF_8);
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+    private static final MediaType SMILE = new MediaType("application", "x-jackson-smile");
+    private static final List<MediaType> REPRESENTATIONS = List.of(
+            MediaType.APPLICATION_JSON, MediaType.APPLICATION_CBOR, SMILE);
 
     private UserService userService;
+    private ObjectMapper objectMapper;
+    private UserDataVersion userDataVersion;
+    private UserImportService userImportService;
+    private ObjectProvider<UserCreateGroupCommitter> groupCommitter;
+    private UserChangeFeed changeFeed;
+    private ContentNegotiationManager contentNegotiationManager;
 
     @PostMapping
     @ResponseStatus(HttpStatus.CREATED)
     public UserResponseDto createUser(@RequestBody @Valid SaveUserDto newUserDto) {
-        return userService.createUser(newUserDto);
+        UserCreateGroupCommitter committer = groupCommitter.getIfAvailable();
+        return committer == null
+                ? userService.createUser(newUserDto)
+                : committer.createUser(newUserDto);
+    }
+
+    @PostMapping("/batch")
+    public List<UserBatchItemResponseDto> createUsers(@RequestBody @NotEmpty @Size(max = 10000)
+                                                              List<SaveUserDto> newUserDtos) {
+        return userService.createUsers(newUserDtos);
+    }
+
+    @PostMapping(value = "/import", consumes = TEXT_CSV_VALUE)
+    public UserImportResponseDto importUsersFromCsv(InputStream body) {
+        return userImportService.importUsers(utf8Reader(body), UserImportFormat.CSV);
+    }
+
+    @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public UserImportResponseDto importUsersFromNdjson(InputStream body) {
+        return userImportService.importUsers(utf8Reader(body), UserImportFormat.NDJSON);
+    }
+
+    @GetMapping("/{id}")
+    public UserResponseDto getUserById(@PathVariable Long id, NativeWebRequest request) {
+        if (checkNotModified(request)) {
+            return null;
+        }
+        return userService.getUserById(id);
+    }
+
+    @GetMapping("/by-email")
+    public UserResponseDto getUserByEmail(@RequestParam @NotBlank
+                                          @Email(message = "Invalid email format") String email,
+                                          NativeWebRequest request) {
+        if (checkNotModified(request)) {
+            return null;
+        }
+        return userService.getUserByEmail(email);
     }
 
     @GetMapping
     public List<UserResponseDto> getUsersByBirthDateRange(@ModelAttribute @Valid DateRangeDto
-                                                                      dateRangeDto) {
+                                                                      dateRangeDto,
+                                                          NativeWebRequest request) {
+        if (checkNotModified(request)) {
+            return null;
+        }
         return userService.getUsersByBirthDateRange(dateRangeDto.from(), dateRangeDto.to());
     }
 
+    @GetMapping(params = "limit")
+    public UserPageResponseDto getUsersPageByBirthDateRange(@ModelAttribute @Valid DateRangeDto
+                                                                    dateRangeDto,
+                                                            @ModelAttribute @Valid KeysetPageDto
+                                                                    keysetPageDto,
+                                                            NativeWebRequest request) {
+        if (checkNotModified(request)) {
+            return null;
+        }
+        return userService.getUsersByBirthDateRange(dateRangeDto.from(), dateRangeDto.to(),
+                keysetPageDto.limit(), KeysetCursor.decode(keysetPageDto.after()));
+    }
+
+    @GetMapping("/search")
+    public UserSearchResponseDto searchUsersByName(@ModelAttribute @Valid UserSearchDto
+                                                           userSearchDto,
+                                                   NativeWebRequest request) {
+        if (checkNotModified(request)) {
+            return null;
+        }
+        return userService.searchUsersByName(userSearchDto.q(), userSearchDto.limit(),
+                userSearchDto.offset());
+    }
+
+    @GetMapping(produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamUsersByBirthDateRange(
+            @ModelAttribute @Valid DateRangeDto dateRangeDto) {
+        StreamingResponseBody body = outputStream -> writeNdjson(outputStream,
+                consumer -> userService.streamUsersByBirthDateRange(dateRangeDto.from(),
+                        dateRangeDto.to(), consumer));
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsersAsNdjson() {
+        return gzipAttachment(MediaType.APPLICATION_NDJSON, "users.ndjson",
+                outputStream -> writeNdjson(outputStream, userService::streamAllUsers));
+    }
+
+    @GetMapping(value = "/export", produces = TEXT_CSV_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportUsersAsCsv() {
+        return gzipAttachment(TEXT_CSV, "users.csv", outputStream -> {
+            Writer writer = new BufferedWriter(
+                    new OutputStreamWriter(outputStream, StandardCharsets.UTF_8));
+            CsvUserRowWriter csvWriter = new CsvUserRowWriter(writer);
+            csvWriter.writeHeader();
+            userService.streamAllUsers(user -> {
+                try {
+                    csvWriter.write(user);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            writer.flush();
+        });
+    }
+
+    @GetMapping(value = "/changes", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        return changeFeed.subscribe(lastEventId);
+    }
+
     @PutMapping("/{id}")
     public UserResponseDto updateUser(@PathVariable Long id,
                                       @RequestBody @Valid SaveUserDto userUpdateDto) {
@@ -59,4 +222,81 @@ public class UserController {
         userService.deleteUser(id);
     }
 
+    /**
+     * Whether the client already has the current version in the representation it asks for.
+     * The JSON, CBOR and Smile bodies of one version differ, so the binary ones get ETags of
+     * their own, and {@code Vary: Accept} keeps shared caches from mixing them up.
+     */
+    private boolean checkNotModified(NativeWebRequest request) {
+        HttpServletResponse response = request.getNativeResponse(HttpServletResponse.class);
+        if (response != null) {
+            response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        String etag = userDataVersion.etag();
+        MediaType representation = representation(request);
+        if (!representation.equals(MediaType.APPLICATION_JSON)) {
+            etag = etag.substring(0, etag.length() - 1) + "-" + representation.getSubtype()
+                    + "\"";
+        }
+        return request.checkNotModified(etag);
+    }
+
+    /** The body format that content negotiation will pick for {@code request}. */
+    private MediaType representation(NativeWebRequest request) {
+        try {
+            for (MediaType acceptable : contentNegotiationManager.resolveMediaTypes(request)) {
+                for (MediaType representation : REPRESENTATIONS) {
+                    if (acceptable.isCompatibleWith(representation)) {
+                        return representation;
+                    }
+                }
+            }
+        } catch (HttpMediaTypeNotAcceptableException e) {
+            // Negotiating the response body fails the same way.
+        }
+        return MediaType.APPLICATION_JSON;
+    }
+
+    private void writeNdjson(OutputStream outputStream,
+                             Consumer<Consumer<UserResponseDto>> users) throws IOException {
+        try (JsonGenerator generator = objectMapper.getFactory()
+                .createGenerator(outputStream)
+                .setRootValueSeparator(null)) {
+            users.accept(user -> {
+                try {
+                    objectMapper.writeValue(generator, user);
+                    generator.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * Compresses {@code body} on the fly. The deflater sees the rows as they are written, so
+     * neither the plain nor the compressed export is ever held in memory.
+     */
+    private static ResponseEntity<StreamingResponseBody> gzipAttachment(
+            MediaType contentType, String filename, StreamingResponseBody body) {
+        StreamingResponseBody gzipBody = outputStream -> {
+            try (GZIPOutputStream gzipOutputStream =
+                         new GZIPOutputStream(outputStream, GZIP_BUFFER_SIZE)) {
+                body.writeTo(gzipOutputStream);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename(filename)
+                        .build()
+                        .toString())
+                .body(gzipBody);
+    }
+
+    private static BufferedReader utf8Reader(InputStream body) {
+        return new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+    }
+
 }
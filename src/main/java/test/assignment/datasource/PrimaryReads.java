@@ -0,0 +1,45 @@
+package test.assignment.datasource;
+
+import java.util.function.Supplier;
+
+/**
+ * Pins the reads of the current thread to the primary, read-only transactions included.
+ * Replicas lag behind, so a read whose result outlives the request, such as a cache entry or
+ * an in-memory view, could otherwise miss a write whose invalidation has already run and keep
+ * it out until the next one. {@link ReadYourWritesFilter} pins whole requests the same way.
+ * Without replicas every read goes to the primary anyway.
+ */
+public final class PrimaryReads {
+    private static final ThreadLocal<Boolean> PINNED = new ThreadLocal<>();
+
+    private PrimaryReads() {
+    }
+
+    public static boolean isPinned() {
+        return PINNED.get() != null;
+    }
+
+    /**
+     * Runs {@code read} pinned to the primary. The transaction it uses must fetch its
+     * connection inside, which the lazy routing proxy does on the first statement.
+     */
+    public static <T> T call(Supplier<T> read) {
+        if (isPinned()) {
+            return read.get();
+        }
+        PINNED.set(Boolean.TRUE);
+        try {
+            return read.get();
+        } finally {
+            PINNED.remove();
+        }
+    }
+
+    static void pin() {
+        PINNED.set(Boolean.TRUE);
+    }
+
+    static void unpin() {
+        PINNED.remove();
+    }
+}
@@ -0,0 +1,59 @@
+package test.assignment.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.WebUtils;
+
+/**
+ * Gives a client read-your-writes consistency while replicas catch up. A request that may
+ * write sets the {@value #COOKIE_NAME} cookie for the configured window, and requests that
+ * carry the cookie read from the primary. The cookie is set before the write runs, because
+ * the response is usually committed by the time the chain returns; a failed write only
+ * costs the client a few primary reads. Work that leaves the request thread (NDJSON
+ * streaming) is not pinned.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+    public static final String COOKIE_NAME = "users-read-primary";
+    private static final Set<String> READ_METHODS = Set.of("GET", "HEAD", "OPTIONS");
+
+    private final int windowSeconds;
+
+    public ReadYourWritesFilter(Duration window) {
+        this.windowSeconds = (int) Math.max(1, (window.toMillis() + 999) / 1000);
+    }
+
+    public static boolean isPinnedToPrimary() {
+        return PrimaryReads.isPinned();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean write = !READ_METHODS.contains(request.getMethod());
+        if (write) {
+            Cookie cookie = new Cookie(COOKIE_NAME, "1");
+            cookie.setMaxAge(windowSeconds);
+            cookie.setPath(request.getContextPath() + "/users");
+            cookie.setHttpOnly(true);
+            response.addCookie(cookie);
+        }
+        if (!write && WebUtils.getCookie(request, COOKIE_NAME) == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        PrimaryReads.pin();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            PrimaryReads.unpin();
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package test.assignment.event;
+
+import java.time.LocalDate;
+import org.springframework.core.Ordered;
+import test.assignment.model.dto.response.UserResponseDto;
+
+/**
+ * Published by {@link test.assignment.service.UserServiceImpl} for every user write.
+ * Listeners that must only see committed data use {@code @TransactionalEventListener}, and
+ * they run in the order of their {@code @Order}: first every in-memory view that reads are
+ * served from ({@link #VIEW_ORDER}), then the data version behind the ETags
+ * ({@link #VERSION_ORDER}), then notifications to clients ({@link #NOTIFY_ORDER}).
+ * {@code version} is the row's {@link test.assignment.model.User#getVersion() version} after
+ * the write. Listeners of two transactions that commit at the same time may run in either
+ * order, so a view that copies rows keeps the newest version it has applied per user and
+ * drops older events, deletes included.
+ * {@code user} is the state after the write and is {@code null} for deletes.
+ * {@code previousBirthDate} is the birth date before an update or delete; it is only looked
+ * up while the range cache is enabled and is {@code null} otherwise.
+ */
+public record UserChangeEvent(
+        ChangeType type,
+        Long id,
+        long version,
+        UserResponseDto user,
+        LocalDate previousBirthDate
+) {
+    public static final int VIEW_ORDER = 0;
+    /** A new ETag is handed out only once every view shows the change. */
+    public static final int VERSION_ORDER = Ordered.LOWEST_PRECEDENCE - 1;
+    /** A client told of a change revalidates against the new ETag, never getting a 304. */
+    public static final int NOTIFY_ORDER = Ordered.LOWEST_PRECEDENCE;
+
+    public UserChangeEvent(ChangeType type, Long id, long version, UserResponseDto user) {
+        this(type, id, version, user, null);
+    }
+
+    public enum ChangeType {
+        CREATED,
+        UPDATED,
+        PATCHED,
+        DELETED
+    }
+}
@@ -1,23 +1,32 @@
 package test.assignment.exception;
 
-import java.time.LocalDateTime;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Map;
+import java.util.Locale;
+import org.springframework.context.MessageSourceResolvable;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.validation.ObjectError;
+import org.springframework.validation.method.ParameterValidationResult;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
+import test.assignment.model.dto.response.ErrorResponseDto;
 
+/**
+ * Error bodies are {@link ErrorResponseDto}s, written by a hand-written serializer, since
+ * stale-id lookups and invalid input make these paths about as hot as the happy ones.
+ */
 @ControllerAdvice
 public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler {
+    private static final String EMAIL_INDEX = "idx_users_email";
 
     @Override
     protected ResponseEntity<Object> handleMethodArgumentNotValid(
@@ -26,14 +35,31 @@ public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler
             HttpStatusCode status,
             WebRequest request
     ) {
-        Map<String, Object> body = new LinkedHashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.BAD_REQUEST);
-        List<String> errors = ex.getBindingResult().getAllErrors().stream()
-                .map(this::getErrorMessage)
-                .toList();
-        body.put("errors", errors);
-        return new ResponseEntity<>(body, headers, status);
+        List<ObjectError> allErrors = ex.getBindingResult().getAllErrors();
+        List<String> errors = new ArrayList<>(allErrors.size());
+        for (ObjectError error : allErrors) {
+            errors.add(getErrorMessage(error));
+        }
+        return new ResponseEntity<>(ErrorResponseDto.ofErrors(HttpStatus.BAD_REQUEST, errors),
+                headers, status);
+    }
+
+    @Override
+    protected ResponseEntity<Object> handleHandlerMethodValidationException(
+            HandlerMethodValidationException ex,
+            HttpHeaders headers,
+            HttpStatusCode status,
+            WebRequest request
+    ) {
+        List<String> errors = new ArrayList<>();
+        for (ParameterValidationResult result : ex.getAllValidationResults()) {
+            String parameterName = result.getMethodParameter().getParameterName();
+            for (MessageSourceResolvable error : result.getResolvableErrors()) {
+                errors.add(parameterName + " " + error.getDefaultMessage());
+            }
+        }
+        return new ResponseEntity<>(ErrorResponseDto.ofErrors(HttpStatus.BAD_REQUEST, errors),
+                headers, HttpStatus.BAD_REQUEST);
     }
 
     private String getErrorMessage(ObjectError e) {
@@ -47,11 +73,74 @@ public class CustomGlobalExceptionHandler extends ResponseEntityExceptionHandler
 
     @ExceptionHandler(EntityNotFoundException.class)
     protected ResponseEntity<Object> handleEntityNotFound(EntityNotFoundException ex) {
-        Map<String, Object> body = new LinkedHashMap<>();
-        body.put("timestamp", LocalDateTime.now());
-        body.put("status", HttpStatus.NOT_FOUND);
-        body.put("error message", ex.getMessage());
-        return new ResponseEntity<>(body, new HttpHeaders(), HttpStatus.NOT_FOUND);
+        return error(HttpStatus.NOT_FOUND, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    protected ResponseEntity<Object> handleInvalidCursor(InvalidCursorException ex) {
+        return error(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidImportException.class)
+    protected ResponseEntity<Object> handleInvalidImport(InvalidImportException ex) {
+        return error(HttpStatus.BAD_REQUEST, ex.getMessage());
+    }
+
+    @ExceptionHandler(InvalidUserException.class)
+    protected ResponseEntity<Object> handleInvalidUser(InvalidUserException ex) {
+        return new ResponseEntity<>(ErrorResponseDto.ofErrors(HttpStatus.BAD_REQUEST,
+                ex.getErrors()), HttpStatus.BAD_REQUEST);
+    }
+
+    @ExceptionHandler(DuplicateEmailException.class)
+    protected ResponseEntity<Object> handleDuplicateEmail(DuplicateEmailException ex) {
+        return error(HttpStatus.CONFLICT, ex.getMessage());
+    }
+
+    /**
+     * The unique email index fires when a concurrent write took the email after the
+     * duplicate check passed, which is a conflict like the one that check reports. Any
+     * other violated constraint is input that validation should have rejected, so it is
+     * logged as a server error.
+     */
+    @ExceptionHandler(DataIntegrityViolationException.class)
+    protected ResponseEntity<Object> handleDataIntegrityViolation(
+            DataIntegrityViolationException ex) {
+        if (violates(ex, EMAIL_INDEX)) {
+            return error(HttpStatus.CONFLICT, DuplicateEmailException.MESSAGE);
+        }
+        logger.error("Unexpected data integrity violation", ex);
+        return error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error");
+    }
+
+    @ExceptionHandler(SearchUnavailableException.class)
+    protected ResponseEntity<Object> handleSearchUnavailable(SearchUnavailableException ex) {
+        return error(HttpStatus.SERVICE_UNAVAILABLE, ex.getMessage());
+    }
+
+    @ExceptionHandler(ConcurrencyLimitExceededException.class)
+    protected ResponseEntity<Object> handleConcurrencyLimitExceeded(
+            ConcurrencyLimitExceededException ex) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER,
+                        Long.toString(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(ErrorResponseDto.ofMessage(HttpStatus.SERVICE_UNAVAILABLE,
+                        ex.getMessage()));
+    }
+
+    /** Drivers name the index in their message, in their own case. */
+    private static boolean violates(DataIntegrityViolationException ex, String constraint) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause.getMessage() != null
+                    && cause.getMessage().toLowerCase(Locale.ROOT).contains(constraint)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static ResponseEntity<Object> error(HttpStatus status, String message) {
+        return new ResponseEntity<>(ErrorResponseDto.ofMessage(status, message), status);
     }
 
 }
@@ -0,0 +1,20 @@
+package test.assignment.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a create or update would give a user an email that another user already has.
+ * Batch and import paths report {@link #FIELD_ERROR} for the row instead. The message does
+ * not name the email, so that a write caught only by the unique index, which does not tell
+ * the email, is reported the same way.
+ */
+@ResponseStatus(value = HttpStatus.CONFLICT)
+public class DuplicateEmailException extends RuntimeException {
+    public static final String FIELD_ERROR = "email is already in use";
+    public static final String MESSAGE = "User with this email already exists";
+
+    public DuplicateEmailException() {
+        super(MESSAGE, null, false, false);
+    }
+}
@@ -3,9 +3,13 @@ package test.assignment.exception;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+/**
+ * Thrown for every lookup of an id that does not exist, which stale clients do a lot. It
+ * carries no stack trace, since it reports a client error and the trace is never read.
+ */
 @ResponseStatus(value = HttpStatus.NOT_FOUND)
 public class EntityNotFoundException extends RuntimeException {
     public EntityNotFoundException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
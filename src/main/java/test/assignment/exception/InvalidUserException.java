@@ -0,0 +1,23 @@
+package test.assignment.exception;
+
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Thrown when a user is rejected by validation outside of request binding, with the same
+ * "field message" errors that a {@code @Valid} request body gets.
+ */
+@ResponseStatus(value = HttpStatus.BAD_REQUEST)
+public class InvalidUserException extends RuntimeException {
+    private final List<String> errors;
+
+    public InvalidUserException(List<String> errors) {
+        super(String.join(", ", errors), null, false, false);
+        this.errors = List.copyOf(errors);
+    }
+
+    public List<String> getErrors() {
+        return errors;
+    }
+}
@@ -0,0 +1,11 @@
+package test.assignment.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(value = HttpStatus.SERVICE_UNAVAILABLE)
+public class SearchUnavailableException extends RuntimeException {
+    public SearchUnavailableException(String message) {
+        super(message, null, false, false);
+    }
+}
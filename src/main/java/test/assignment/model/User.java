@@ -4,7 +4,10 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.Version;
 import java.time.LocalDate;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -12,12 +15,15 @@ import lombok.NoArgsConstructor;
 
 @Entity
 @Data
-@Table(name = "users")
+@Table(name = "users", indexes = {
+        @Index(name = "idx_users_birth_date_id", columnList = "birth_date, id"),
+        @Index(name = "idx_users_email", columnList = "email", unique = true)})
 @NoArgsConstructor
 @AllArgsConstructor
 public class User {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "users_seq")
+    @SequenceGenerator(name = "users_seq", sequenceName = "users_seq", allocationSize = 50)
     private Long id;
     private String email;
     private String firstName;
@@ -25,4 +31,7 @@ public class User {
     private LocalDate birthDate;
     private String address;
     private String phoneNumber;
+    /** Raised by every write, bulk updates included, so that change events can be ordered. */
+    @Version
+    private Long version;
 }
@@ -0,0 +1,11 @@
+package test.assignment.model.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+public record KeysetPageDto(
+        @NotNull @Min(1) @Max(1000) Integer limit,
+        String after
+) {
+}
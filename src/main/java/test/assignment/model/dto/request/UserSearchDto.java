@@ -0,0 +1,19 @@
+package test.assignment.model.dto.request;
+
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Size;
+
+public record UserSearchDto(
+        @NotBlank @Size(max = 100) String q,
+        @Min(1) @Max(100) Integer limit,
+        @Min(0) @Max(1000) Integer offset
+) {
+    public static final int DEFAULT_LIMIT = 20;
+
+    public UserSearchDto {
+        limit = limit == null ? DEFAULT_LIMIT : limit;
+        offset = offset == null ? 0 : offset;
+    }
+}
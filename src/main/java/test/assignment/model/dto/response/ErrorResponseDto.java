@@ -0,0 +1,29 @@
+package test.assignment.model.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+
+/**
+ * Body of every error response. Exactly one of {@code errorMessage} and {@code errors} is
+ * set; the other is left out of the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@JsonPropertyOrder({"timestamp", "status", "error message", "errors"})
+public record ErrorResponseDto(
+        LocalDateTime timestamp,
+        HttpStatus status,
+        @JsonProperty("error message") String errorMessage,
+        List<String> errors
+) {
+    public static ErrorResponseDto ofMessage(HttpStatus status, String errorMessage) {
+        return new ErrorResponseDto(LocalDateTime.now(), status, errorMessage, null);
+    }
+
+    public static ErrorResponseDto ofErrors(HttpStatus status, List<String> errors) {
+        return new ErrorResponseDto(LocalDateTime.now(), status, null, errors);
+    }
+}
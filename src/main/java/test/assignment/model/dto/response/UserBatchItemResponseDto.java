@@ -0,0 +1,10 @@
+package test.assignment.model.dto.response;
+
+import java.util.List;
+
+public record UserBatchItemResponseDto(
+        int index,
+        UserResponseDto user,
+        List<String> errors
+) {
+}
@@ -0,0 +1,15 @@
+package test.assignment.model.dto.response;
+
+import test.assignment.event.UserChangeEvent.ChangeType;
+
+/**
+ * One committed write in the change feed; {@code user} is {@code null} for deletes.
+ * {@code version} rises with every write of the user.
+ */
+public record UserChangeResponseDto(
+        ChangeType type,
+        Long id,
+        long version,
+        UserResponseDto user
+) {
+}
@@ -0,0 +1,13 @@
+package test.assignment.model.dto.response;
+
+import java.util.List;
+
+public record UserImportResponseDto(
+        long rows,
+        long imported,
+        long rejected,
+        long elapsedMillis,
+        long rowsPerSecond,
+        List<UserImportErrorDto> errors
+) {
+}
@@ -0,0 +1,9 @@
+package test.assignment.model.dto.response;
+
+import java.util.List;
+
+public record UserPageResponseDto(
+        List<UserResponseDto> users,
+        String next
+) {
+}
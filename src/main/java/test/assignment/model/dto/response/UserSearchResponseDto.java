@@ -0,0 +1,15 @@
+package test.assignment.model.dto.response;
+
+import java.util.List;
+
+/**
+ * One page of name search results in rank order. {@code matches} counts every match found,
+ * and {@code partial} is set when the search hit its time limit before checking all
+ * candidates.
+ */
+public record UserSearchResponseDto(
+        List<UserResponseDto> users,
+        int matches,
+        boolean partial
+) {
+}
@@ -0,0 +1,61 @@
+package test.assignment.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Counts the SQL statements of every request into the {@code http.server.requests.sql}
+ * summary and logs the statements of requests slower than the configured threshold.
+ * Only statements run on the request thread are seen, so the work of async
+ * (NDJSON streaming) responses is not included.
+ */
+@Slf4j
+public class SlowRequestLoggingFilter extends OncePerRequestFilter {
+    private static final String UNKNOWN_URI = "UNKNOWN";
+
+    private final MeterRegistry meterRegistry;
+    private final long thresholdNanos;
+
+    public SlowRequestLoggingFilter(MeterRegistry meterRegistry, Duration threshold) {
+        this.meterRegistry = meterRegistry;
+        this.thresholdNanos = threshold.toNanos();
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain)
+            throws ServletException, IOException {
+        long start = System.nanoTime();
+        SqlStatementRecorder.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            long elapsedNanos = System.nanoTime() - start;
+            SqlStatementRecorder.Recording recording = SqlStatementRecorder.stop();
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern == null ? UNKNOWN_URI : pattern.toString();
+            DistributionSummary.builder("http.server.requests.sql")
+                    .description("SQL statements executed per request")
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .publishPercentileHistogram()
+                    .register(meterRegistry)
+                    .record(recording.count());
+            if (elapsedNanos >= thresholdNanos) {
+                log.warn("Slow request {} {} ({}) took {} ms, status {}, {} SQL statements: {}",
+                        request.getMethod(), request.getRequestURI(), uri,
+                        elapsedNanos / 1_000_000, response.getStatus(), recording.count(),
+                        recording.statements());
+            }
+        }
+    }
+}
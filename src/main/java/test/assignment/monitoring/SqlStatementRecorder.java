@@ -0,0 +1,50 @@
+package test.assignment.monitoring;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Hibernate {@link StatementInspector} that records the SQL issued on the current thread
+ * while a request is being traced by {@link SlowRequestLoggingFilter}. Statements are
+ * passed through unchanged.
+ */
+public class SqlStatementRecorder implements StatementInspector {
+    private static final int MAX_RECORDED_STATEMENTS = 100;
+    private static final ThreadLocal<Recording> RECORDING = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        Recording recording = RECORDING.get();
+        if (recording != null) {
+            recording.count++;
+            if (recording.statements.size() < MAX_RECORDED_STATEMENTS) {
+                recording.statements.add(sql);
+            }
+        }
+        return sql;
+    }
+
+    public static void start() {
+        RECORDING.set(new Recording());
+    }
+
+    public static Recording stop() {
+        Recording recording = RECORDING.get();
+        RECORDING.remove();
+        return recording == null ? new Recording() : recording;
+    }
+
+    public static final class Recording {
+        private final List<String> statements = new ArrayList<>();
+        private int count;
+
+        public List<String> statements() {
+            return statements;
+        }
+
+        public int count() {
+            return count;
+        }
+    }
+}
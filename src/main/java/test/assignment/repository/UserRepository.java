@@ -1,12 +1,121 @@
 package test.assignment.repository;
 
+import jakarta.persistence.QueryHint;
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 import test.assignment.model.User;
+import test.assignment.model.dto.response.UserResponseDto;
 
 @Repository
-public interface UserRepository extends JpaRepository<User, Long> {
-    List<User> getUsersByBirthDateBetween(LocalDate from, LocalDate to);
+public interface UserRepository extends JpaRepository<User, Long>, UserRepositoryCustom {
+    @Query("""
+            SELECT new test.assignment.model.dto.response.UserResponseDto(
+                u.id, u.email, u.firstName, u.lastName, u.birthDate, u.address, u.phoneNumber)
+            FROM User u
+            WHERE u.id = :id""")
+    Optional<UserResponseDto> findUserDtoById(Long id);
+
+    @Query("SELECT u.birthDate FROM User u WHERE u.id = :id")
+    Optional<LocalDate> findBirthDateById(Long id);
+
+    @Query("""
+            SELECT new test.assignment.model.dto.response.UserResponseDto(
+                u.id, u.email, u.firstName, u.lastName, u.birthDate, u.address, u.phoneNumber)
+            FROM User u
+            WHERE u.email = :email""")
+    Optional<UserResponseDto> findUserDtoByEmail(String email);
+
+    @Query("""
+            SELECT new test.assignment.model.dto.response.UserResponseDto(
+                u.id, u.email, u.firstName, u.lastName, u.birthDate, u.address, u.phoneNumber)
+            FROM User u
+            WHERE u.id IN :ids""")
+    List<UserResponseDto> findUserDtosByIdIn(Collection<Long> ids);
+
+    boolean existsByEmail(String email);
+
+    boolean existsByEmailAndIdNot(String email, Long id);
+
+    @Query("""
+            SELECT new test.assignment.model.dto.response.UserResponseDto(
+                u.id, u.email, u.firstName, u.lastName, u.birthDate, u.address, u.phoneNumber)
+            FROM User u
+            WHERE u.birthDate BETWEEN :from AND :to
+            ORDER BY u.birthDate, u.id""")
+    @Transactional(readOnly = true)
+    List<UserResponseDto> findUserDtosByBirthDateBetween(LocalDate from, LocalDate to);
+
+    @Query("""
+            SELECT new test.assignment.model.dto.response.UserResponseDto(
+                u.id, u.email, u.firstName, u.lastName, u.birthDate, u.address, u.phoneNumber)
+            FROM User u
+            WHERE u.birthDate BETWEEN :from AND :to
+            ORDER BY u.birthDate, u.id""")
+    List<UserResponseDto> findFirstPageByBirthDateBetween(LocalDate from, LocalDate to,
+                                                          Limit limit);
+
+    @Query("""
+            SELECT new test.assignment.model.dto.response.UserResponseDto(
+                u.id, u.email, u.firstName, u.lastName, u.birthDate, u.address, u.phoneNumber)
+            FROM User u
+            WHERE u.birthDate BETWEEN :from AND :to
+                AND (u.birthDate > :afterBirthDate
+                    OR (u.birthDate = :afterBirthDate AND u.id > :afterId))
+            ORDER BY u.birthDate, u.id""")
+    List<UserResponseDto> findNextPageByBirthDateBetween(LocalDate from, LocalDate to,
+                                                         LocalDate afterBirthDate, Long afterId,
+                                                         Limit limit);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query("""
+            SELECT new test.assignment.model.dto.response.UserResponseDto(
+                u.id, u.email, u.firstName, u.lastName, u.birthDate, u.address, u.phoneNumber)
+            FROM User u
+            WHERE u.birthDate BETWEEN :from AND :to
+            ORDER BY u.birthDate, u.id""")
+    Stream<UserResponseDto> streamUserDtosByBirthDateBetween(LocalDate from, LocalDate to);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("""
+            SELECT new test.assignment.model.dto.response.UserResponseDto(
+                u.id, u.email, u.firstName, u.lastName, u.birthDate, u.address, u.phoneNumber)
+            FROM User u
+            ORDER BY u.id""")
+    Stream<UserResponseDto> streamAllUserDtos();
+
+    /**
+     * Updates the user and returns its new version in the same statement, or nothing if
+     * there is no such user. Reads the H2 data change delta table, so it is native.
+     */
+    @Query(value = """
+            SELECT version FROM FINAL TABLE (
+                UPDATE users
+                SET email = :#{#user.email},
+                    first_name = :#{#user.firstName},
+                    last_name = :#{#user.lastName},
+                    birth_date = :#{#user.birthDate},
+                    address = :#{#user.address},
+                    phone_number = :#{#user.phoneNumber},
+                    version = version + 1
+                WHERE id = :#{#user.id})""", nativeQuery = true)
+    Optional<Long> updateUser(@Param("user") User user);
+
+    /**
+     * Deletes the user and returns the version it had in the same statement, or nothing if
+     * there was no such user.
+     */
+    @Query(value = "SELECT version FROM OLD TABLE (DELETE FROM users WHERE id = :id)",
+            nativeQuery = true)
+    Optional<Long> deleteUserById(Long id);
 }
@@ -0,0 +1,7 @@
+package test.assignment.repository;
+
+import test.assignment.model.dto.request.UserUpdatePartialDto;
+
+public interface UserRepositoryCustom {
+    int updatePartialUserById(Long id, UserUpdatePartialDto userUpdatePartialDto);
+}
@@ -0,0 +1,48 @@
+package test.assignment.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaUpdate;
+import jakarta.persistence.criteria.Root;
+import java.util.Optional;
+import lombok.AllArgsConstructor;
+import test.assignment.model.User;
+import test.assignment.model.dto.request.UserUpdatePartialDto;
+
+@AllArgsConstructor
+public class UserRepositoryCustomImpl implements UserRepositoryCustom {
+
+    private EntityManager entityManager;
+
+    /**
+     * Issues a single UPDATE that sets only the fields present in the dto.
+     * Returns the number of affected rows, so 0 means there is no user with this id.
+     */
+    @Override
+    public int updatePartialUserById(Long id, UserUpdatePartialDto userUpdatePartialDto) {
+        CriteriaBuilder builder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<User> update = builder.createCriteriaUpdate(User.class);
+        Root<User> root = update.from(User.class);
+        boolean changed = set(update, "email", userUpdatePartialDto.email())
+                | set(update, "firstName", userUpdatePartialDto.firstName())
+                | set(update, "lastName", userUpdatePartialDto.lastName())
+                | set(update, "birthDate", userUpdatePartialDto.birthDate())
+                | set(update, "address", userUpdatePartialDto.address())
+                | set(update, "phoneNumber", userUpdatePartialDto.phoneNumber());
+        if (!changed) {
+            return entityManager.createQuery(
+                    "SELECT COUNT(u) FROM User u WHERE u.id = :id", Long.class)
+                    .setParameter("id", id)
+                    .getSingleResult()
+                    .intValue();
+        }
+        update.set(root.<Long>get("version"), builder.sum(root.<Long>get("version"), 1L));
+        update.where(builder.equal(root.get("id"), id));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+    private <T> boolean set(CriteriaUpdate<User> update, String attribute, Optional<T> value) {
+        value.ifPresent(v -> update.set(attribute, v));
+        return value.isPresent();
+    }
+}
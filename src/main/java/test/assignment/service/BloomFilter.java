@@ -0,0 +1,88 @@
+package test.assignment.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Set membership with false positives but no false negatives, in about
+ * {@code -n ln(p) / ln(2)^2} bits for {@code n} values at false-positive rate {@code p}.
+ * Values are added as 64-bit hashes from {@link #hash(String)}; the {@code k} bit positions
+ * are derived from two mixes of that hash. Values cannot be removed. Thread-safe.
+ */
+final class BloomFilter {
+    private static final double LN_2 = Math.log(2);
+
+    private final AtomicLongArray words;
+    private final long bitCount;
+    private final int hashCount;
+    private final LongAdder bitsSet = new LongAdder();
+
+    BloomFilter(long expectedInsertions, double falsePositiveRate) {
+        long n = Math.max(1, expectedInsertions);
+        long bits = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (LN_2 * LN_2));
+        int wordCount = Math.toIntExact(Math.max(1, (bits + Long.SIZE - 1) / Long.SIZE));
+        this.words = new AtomicLongArray(wordCount);
+        this.bitCount = (long) wordCount * Long.SIZE;
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * LN_2));
+    }
+
+    /** FNV-1a over the UTF-16 chars, finished with the MurmurHash3 64-bit mix. */
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        return mix(hash);
+    }
+
+    void add(long hash) {
+        long step = step(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            long mask = 1L << bit;
+            long before = words.getAndAccumulate((int) (bit >>> 6), mask, (a, b) -> a | b);
+            if ((before & mask) == 0) {
+                bitsSet.increment();
+            }
+        }
+    }
+
+    boolean mightContain(long hash) {
+        long step = step(hash);
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(hash + i * step, bitCount);
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** The chance that an absent value passes, given the bits set so far. */
+    double expectedFalsePositiveRate() {
+        return Math.pow((double) bitsSet.sum() / bitCount, hashCount);
+    }
+
+    long bitCount() {
+        return bitCount;
+    }
+
+    int hashCount() {
+        return hashCount;
+    }
+
+    private static long step(long hash) {
+        // Odd, so it shares no factor of two with the bit count, a multiple of 64.
+        return mix(hash + 0x9e3779b97f4a7c15L) | 1;
+    }
+
+    private static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
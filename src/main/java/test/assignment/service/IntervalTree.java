@@ -0,0 +1,157 @@
+package test.assignment.service;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Closed intervals over {@code long} points, each carrying a key, in a treap ordered by
+ * {@code (from, to)} where every node also knows the largest {@code to} below it. Finding
+ * the intervals that contain a point then costs {@code O(log n + k)} for {@code k} matches.
+ * Intervals must be distinct. Not thread-safe.
+ */
+final class IntervalTree<K> {
+    private Node<K> root;
+    private int size;
+
+    void add(long from, long to, K key) {
+        root = insert(root, new Node<>(from, to, key));
+        size++;
+    }
+
+    boolean remove(long from, long to) {
+        int before = size;
+        root = remove(root, from, to);
+        return size < before;
+    }
+
+    void forEachContaining(long point, Consumer<K> action) {
+        collect(root, point, action);
+    }
+
+    void clear() {
+        root = null;
+        size = 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    private Node<K> insert(Node<K> node, Node<K> added) {
+        if (node == null) {
+            return added;
+        }
+        if (compare(added.from, added.to, node) < 0) {
+            node.left = insert(node.left, added);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, added);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private Node<K> remove(Node<K> node, long from, long to) {
+        if (node == null) {
+            return null;
+        }
+        int order = compare(from, to, node);
+        if (order == 0) {
+            size--;
+            return merge(node.left, node.right);
+        }
+        if (order < 0) {
+            node.left = remove(node.left, from, to);
+        } else {
+            node.right = remove(node.right, from, to);
+        }
+        node.update();
+        return node;
+    }
+
+    private static <K> Node<K> merge(Node<K> left, Node<K> right) {
+        if (left == null) {
+            return right;
+        }
+        if (right == null) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static <K> void collect(Node<K> node, long point, Consumer<K> action) {
+        if (node == null || node.maxTo < point) {
+            return;
+        }
+        collect(node.left, point, action);
+        if (node.from <= point) {
+            if (node.to >= point) {
+                action.accept(node.key);
+            }
+            // Everything to the right starts at or after this node, so only then can it match.
+            collect(node.right, point, action);
+        }
+    }
+
+    private static <K> Node<K> rotateRight(Node<K> node) {
+        Node<K> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        left.update();
+        return left;
+    }
+
+    private static <K> Node<K> rotateLeft(Node<K> node) {
+        Node<K> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        right.update();
+        return right;
+    }
+
+    private static int compare(long from, long to, Node<?> node) {
+        int order = Long.compare(from, node.from);
+        return order != 0 ? order : Long.compare(to, node.to);
+    }
+
+    private static final class Node<K> {
+        private final long from;
+        private final long to;
+        private final K key;
+        private final int priority = ThreadLocalRandom.current().nextInt();
+        private long maxTo;
+        private Node<K> left;
+        private Node<K> right;
+
+        private Node(long from, long to, K key) {
+            this.from = from;
+            this.to = to;
+            this.key = key;
+            this.maxTo = to;
+        }
+
+        private void update() {
+            maxTo = to;
+            if (left != null) {
+                maxTo = Math.max(maxTo, left.maxTo);
+            }
+            if (right != null) {
+                maxTo = Math.max(maxTo, right.maxTo);
+            }
+        }
+    }
+}
@@ -0,0 +1,281 @@
+package test.assignment.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import test.assignment.datasource.PrimaryReads;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.repository.UserRepository;
+
+/**
+ * Optional in-memory copy of the users table ({@code users.birth-date-index.enabled=true})
+ * that answers birth date range queries without the database. Rows are stored column by
+ * column in parallel arrays sorted by {@code (epochDay, id)}, so a range is a binary search
+ * for the first day followed by a sequential scan.
+ *
+ * <p>The copy is loaded from the primary once the application is ready and then follows
+ * committed {@link UserChangeEvent}s; changes committed while it loads are replayed
+ * afterwards. An event older than one already applied to the same user is dropped.
+ * Every write shifts the arrays, which is linear in the table size, so the index suits
+ * read-mostly tables and should stay disabled during large bulk loads.
+ */
+@Slf4j
+@Component
+public class UserBirthDateIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final boolean enabled;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private List<UserChangeEvent> changesDuringLoad = new ArrayList<>();
+    private volatile boolean ready;
+    private Columns columns = new Columns(INITIAL_CAPACITY);
+    private final UserVersions versions = new UserVersions();
+
+    public UserBirthDateIndex(@Value("${users.birth-date-index.enabled:false}") boolean enabled,
+                              UserRepository userRepository,
+                              PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Columns loaded = PrimaryReads.call(() -> readOnlyTransaction.execute(status -> {
+            try (Stream<UserResponseDto> users = userRepository.streamAllUserDtos()) {
+                Columns unsorted = new Columns(INITIAL_CAPACITY);
+                users.forEach(user -> unsorted.insert(unsorted.size, user));
+                return unsorted.sortedByBirthDate();
+            }
+        }));
+        lock.writeLock().lock();
+        try {
+            columns = loaded;
+            changesDuringLoad.forEach(this::apply);
+            changesDuringLoad = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} users into the birth date index in {} ms", loaded.size,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(UserChangeEvent.VIEW_ORDER)
+    public void onUserChange(UserChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                apply(event);
+            } else {
+                changesDuringLoad.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Users born in {@code [from, to]}, ordered by birth date and id. */
+    public List<UserResponseDto> findByBirthDateBetween(LocalDate from, LocalDate to) {
+        long fromDay = from.toEpochDay();
+        long toDay = to.toEpochDay();
+        lock.readLock().lock();
+        try {
+            Columns current = columns;
+            List<UserResponseDto> users = new ArrayList<>();
+            for (int i = current.firstIndexOnOrAfter(fromDay);
+                    i < current.size && current.epochDays[i] <= toDay; i++) {
+                users.add(current.row(i));
+            }
+            return users;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return columns.size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(UserChangeEvent event) {
+        if (!versions.advance(event)) {
+            return;
+        }
+        int index = columns.indexOfId(event.id());
+        if (index >= 0) {
+            columns.remove(index);
+        }
+        UserResponseDto user = event.user();
+        if (user != null && user.birthDate() != null) {
+            columns.insert(columns.insertionIndex(user.birthDate().toEpochDay(), user.id()),
+                    user);
+        }
+    }
+
+    private static final class Columns {
+        private int size;
+        private int[] epochDays;
+        private long[] ids;
+        private String[] emails;
+        private String[] firstNames;
+        private String[] lastNames;
+        private String[] addresses;
+        private String[] phoneNumbers;
+
+        private Columns(int capacity) {
+            epochDays = new int[capacity];
+            ids = new long[capacity];
+            emails = new String[capacity];
+            firstNames = new String[capacity];
+            lastNames = new String[capacity];
+            addresses = new String[capacity];
+            phoneNumbers = new String[capacity];
+        }
+
+        private UserResponseDto row(int i) {
+            return new UserResponseDto(ids[i], emails[i], firstNames[i], lastNames[i],
+                    LocalDate.ofEpochDay(epochDays[i]), addresses[i], phoneNumbers[i]);
+        }
+
+        private int firstIndexOnOrAfter(long epochDay) {
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (epochDays[mid] < epochDay) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        private int insertionIndex(long epochDay, long id) {
+            int low = firstIndexOnOrAfter(epochDay);
+            while (low < size && epochDays[low] == epochDay && ids[low] < id) {
+                low++;
+            }
+            return low;
+        }
+
+        private int indexOfId(long id) {
+            for (int i = 0; i < size; i++) {
+                if (ids[i] == id) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        private void insert(int index, UserResponseDto user) {
+            if (size == ids.length) {
+                grow();
+            }
+            int tail = size - index;
+            System.arraycopy(epochDays, index, epochDays, index + 1, tail);
+            System.arraycopy(ids, index, ids, index + 1, tail);
+            System.arraycopy(emails, index, emails, index + 1, tail);
+            System.arraycopy(firstNames, index, firstNames, index + 1, tail);
+            System.arraycopy(lastNames, index, lastNames, index + 1, tail);
+            System.arraycopy(addresses, index, addresses, index + 1, tail);
+            System.arraycopy(phoneNumbers, index, phoneNumbers, index + 1, tail);
+            epochDays[index] = Math.toIntExact(user.birthDate().toEpochDay());
+            ids[index] = user.id();
+            emails[index] = user.email();
+            firstNames[index] = user.firstName();
+            lastNames[index] = user.lastName();
+            addresses[index] = user.address();
+            phoneNumbers[index] = user.phoneNumber();
+            size++;
+        }
+
+        private void remove(int index) {
+            int tail = size - index - 1;
+            System.arraycopy(epochDays, index + 1, epochDays, index, tail);
+            System.arraycopy(ids, index + 1, ids, index, tail);
+            System.arraycopy(emails, index + 1, emails, index, tail);
+            System.arraycopy(firstNames, index + 1, firstNames, index, tail);
+            System.arraycopy(lastNames, index + 1, lastNames, index, tail);
+            System.arraycopy(addresses, index + 1, addresses, index, tail);
+            System.arraycopy(phoneNumbers, index + 1, phoneNumbers, index, tail);
+            size--;
+            emails[size] = null;
+            firstNames[size] = null;
+            lastNames[size] = null;
+            addresses[size] = null;
+            phoneNumbers[size] = null;
+        }
+
+        private void grow() {
+            int capacity = ids.length + (ids.length >> 1);
+            epochDays = Arrays.copyOf(epochDays, capacity);
+            ids = Arrays.copyOf(ids, capacity);
+            emails = Arrays.copyOf(emails, capacity);
+            firstNames = Arrays.copyOf(firstNames, capacity);
+            lastNames = Arrays.copyOf(lastNames, capacity);
+            addresses = Arrays.copyOf(addresses, capacity);
+            phoneNumbers = Arrays.copyOf(phoneNumbers, capacity);
+        }
+
+        /**
+         * Returns a copy ordered by {@code (epochDay, id)}, assuming this one is ordered by
+         * id. The sort key packs the day into the high half and the current position into
+         * the low half, so equal days keep their id order.
+         */
+        private Columns sortedByBirthDate() {
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = ((long) epochDays[i] << Integer.SIZE) | i;
+            }
+            Arrays.sort(keys);
+            Columns sorted = new Columns(Math.max(size, INITIAL_CAPACITY));
+            for (int i = 0; i < size; i++) {
+                int from = (int) keys[i];
+                sorted.epochDays[i] = epochDays[from];
+                sorted.ids[i] = ids[from];
+                sorted.emails[i] = emails[from];
+                sorted.firstNames[i] = firstNames[from];
+                sorted.lastNames[i] = lastNames[from];
+                sorted.addresses[i] = addresses[from];
+                sorted.phoneNumbers[i] = phoneNumbers[from];
+            }
+            sorted.size = size;
+            return sorted;
+        }
+    }
+}
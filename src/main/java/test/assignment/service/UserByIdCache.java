@@ -0,0 +1,71 @@
+package test.assignment.service;
+
+import java.util.function.Supplier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import test.assignment.configuration.CacheConfig;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.event.UserChangeEvent.ChangeType;
+import test.assignment.model.dto.response.UserResponseDto;
+
+/**
+ * Users by id, held in the {@value CacheConfig#USERS_CACHE} cache. A committed write evicts
+ * its user rather than putting the new state, and a load that overlapped a write to a user
+ * of the same stripe is returned but not cached, as it may predate the write. Without the
+ * second rule a miss that read the old row could put it back after the write's eviction.
+ */
+@Component
+public class UserByIdCache {
+    private static final int STRIPES = 64;
+
+    private final Cache cache;
+    private final long[] writes = new long[STRIPES];
+    private final Object[] locks = new Object[STRIPES];
+
+    public UserByIdCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.USERS_CACHE);
+        for (int i = 0; i < STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    public UserResponseDto get(Long id, Supplier<UserResponseDto> loader) {
+        UserResponseDto cached = cache.get(id, UserResponseDto.class);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripeOf(id);
+        long writesBefore;
+        synchronized (locks[stripe]) {
+            writesBefore = writes[stripe];
+        }
+        UserResponseDto user = loader.get();
+        synchronized (locks[stripe]) {
+            if (writes[stripe] == writesBefore) {
+                cache.put(id, user);
+            }
+        }
+        return user;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(UserChangeEvent.VIEW_ORDER)
+    public void onUserChange(UserChangeEvent event) {
+        if (event.type() == ChangeType.CREATED) {
+            // Nothing can be cached for an id before its user exists.
+            return;
+        }
+        int stripe = stripeOf(event.id());
+        synchronized (locks[stripe]) {
+            writes[stripe]++;
+            cache.evict(event.id());
+        }
+    }
+
+    private static int stripeOf(Long id) {
+        return Math.floorMod(Long.hashCode(id), STRIPES);
+    }
+}
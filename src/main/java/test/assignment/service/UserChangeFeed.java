@@ -0,0 +1,311 @@
+package test.assignment.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.exception.ConcurrencyLimitExceededException;
+import test.assignment.model.dto.response.UserChangeResponseDto;
+
+/**
+ * Server-sent event feed of committed user writes, so that other services can follow
+ * changes instead of polling. Each committed {@link UserChangeEvent} gets the next sequence
+ * number and goes into a ring holding the last {@code users.change-feed.buffer-size} events.
+ * An event that lost the race to the feed to a newer write of the same user still in the
+ * ring is dropped, so the feed does not show a user going back to an earlier state.
+ * Event ids are the sequence number prefixed by the startup time, like the ETags of
+ * {@link UserDataVersion}, and event names are the change type in lower case.
+ *
+ * <p>A client that reconnects with a {@code Last-Event-ID} still in the ring resumes right
+ * after it. If the id has left the ring or comes from another process, the client first gets
+ * a {@value #RESET} event and must reload the users it keeps, then it follows new changes.
+ *
+ * <p>Writers only append to the ring and wake the subscribers. Each subscriber keeps its own
+ * position in the ring and has at most one task on the sender pool, which sends it what it
+ * has not seen yet. A slow client therefore holds up neither writers nor other clients, and
+ * buffers nothing of its own. One that falls a whole ring behind gets a {@value #RESET} and
+ * skips to the newest change. Each event is serialized once however many clients get it.
+ * Streams get a comment every {@code users.change-feed.heartbeat}, which keeps proxies from
+ * closing them and finds clients that are gone. At most
+ * {@code users.change-feed.max-subscribers} clients are connected at once.
+ */
+@Component
+public class UserChangeFeed {
+    static final String RESET = "reset";
+    private static final Duration RETRY_AFTER = Duration.ofSeconds(5);
+    private static final String HEARTBEAT = "keep-alive";
+
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final FeedEvent[] ring;
+    // One permit per client that may connect; taken before a client is added, so that
+    // concurrent subscribes cannot overshoot the limit.
+    private final Semaphore subscriberSlots;
+    private final long timeoutMillis;
+    private final ObjectMapper objectMapper;
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    // Version of the newest event in the ring for each user in it; guarded by the ring.
+    private final Map<Long, Long> versions = new HashMap<>();
+    private final ExecutorService sender;
+    private final ScheduledExecutorService heartbeats;
+    private final Counter resets;
+    private volatile long lastSequence;
+
+    public UserChangeFeed(
+            @Value("${users.change-feed.buffer-size:1024}") int bufferSize,
+            @Value("${users.change-feed.max-subscribers:100}") int maxSubscribers,
+            @Value("${users.change-feed.heartbeat:15s}") Duration heartbeat,
+            @Value("${users.change-feed.timeout:30m}") Duration timeout,
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry) {
+        this.ring = new FeedEvent[bufferSize];
+        this.subscriberSlots = new Semaphore(maxSubscribers);
+        this.timeoutMillis = timeout.toMillis();
+        this.objectMapper = objectMapper;
+        // At most one task per subscriber, so the pool is bounded by the subscriber limit.
+        this.sender = Executors.newCachedThreadPool(daemonThreads("user-change-feed-"));
+        this.heartbeats = Executors.newSingleThreadScheduledExecutor(
+                daemonThreads("user-change-feed-heartbeat-"));
+        this.heartbeats.scheduleAtFixedRate(this::heartbeat, heartbeat.toMillis(),
+                heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+        this.resets = Counter.builder("users.change-feed.resets")
+                .description("Change feed clients told to reload because they missed events")
+                .register(meterRegistry);
+        Gauge.builder("users.change-feed.subscribers", subscribers, Set::size)
+                .description("Clients connected to the change feed")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Opens a stream of the changes committed from now on, or right after
+     * {@code lastEventId} if that is still in the ring.
+     */
+    public SseEmitter subscribe(String lastEventId) {
+        if (!subscriberSlots.tryAcquire()) {
+            throw new ConcurrencyLimitExceededException("Too many change feed subscribers",
+                    RETRY_AFTER);
+        }
+        Subscriber subscriber;
+        try {
+            subscriber = new Subscriber(createEmitter(timeoutMillis));
+        } catch (RuntimeException e) {
+            subscriberSlots.release();
+            throw e;
+        }
+        synchronized (ring) {
+            long resumeAfter = lastEventId == null ? lastSequence : sequenceOf(lastEventId);
+            if (resumeAfter < Math.max(0, lastSequence - ring.length)
+                    || resumeAfter > lastSequence) {
+                subscriber.reset = true;
+                resumeAfter = lastSequence;
+            }
+            subscriber.position = resumeAfter;
+        }
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber.emitter::complete);
+        subscriber.emitter.onError(error -> subscriber.close());
+        subscribers.add(subscriber);
+        subscriber.wake();
+        return subscriber.emitter;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(UserChangeEvent.NOTIFY_ORDER)
+    public void onUserChange(UserChangeEvent event) {
+        FeedEvent feedEvent = new FeedEvent(new UserChangeResponseDto(event.type(),
+                event.id(), event.version(), event.user()));
+        synchronized (ring) {
+            Long sent = versions.get(event.id());
+            if (sent != null && sent >= event.version()) {
+                return;
+            }
+            long sequence = lastSequence + 1;
+            feedEvent.sequence = sequence;
+            int slot = (int) (sequence % ring.length);
+            FeedEvent evicted = ring[slot];
+            if (evicted != null) {
+                versions.remove(evicted.change.id(), evicted.change.version());
+            }
+            ring[slot] = feedEvent;
+            versions.put(event.id(), event.version());
+            lastSequence = sequence;
+        }
+        subscribers.forEach(Subscriber::wake);
+    }
+
+    SseEmitter createEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    @PreDestroy
+    public void stop() {
+        heartbeats.shutdownNow();
+        sender.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    private void heartbeat() {
+        for (Subscriber subscriber : subscribers) {
+            subscriber.heartbeatDue = true;
+            subscriber.wake();
+        }
+    }
+
+    private String eventId(long sequence) {
+        return epoch + "-" + sequence;
+    }
+
+    /** The sequence number in an event id of this process, or -1 for any other id. */
+    private long sequenceOf(String eventId) {
+        int separator = eventId.lastIndexOf('-');
+        if (separator < 0 || !eventId.substring(0, separator).equals(epoch)) {
+            return -1;
+        }
+        try {
+            return Long.parseLong(eventId.substring(separator + 1));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger threads = new AtomicInteger();
+        return task -> {
+            Thread thread = new Thread(task, prefix + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /** A change with its JSON, written on first use and then shared by every client. */
+    private final class FeedEvent {
+        private final UserChangeResponseDto change;
+        private long sequence;
+        private volatile String json;
+
+        private FeedEvent(UserChangeResponseDto change) {
+            this.change = change;
+        }
+
+        private String json() throws JsonProcessingException {
+            String value = json;
+            if (value == null) {
+                value = objectMapper.writeValueAsString(change);
+                json = value;
+            }
+            return value;
+        }
+    }
+
+    private final class Subscriber implements Runnable {
+        private final SseEmitter emitter;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        // The first run sends a comment, so that the client sees the stream open at once.
+        private volatile boolean heartbeatDue = true;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        // Written by subscribe before the first run, then only by the running task.
+        private long position;
+        private boolean reset;
+
+        private Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        private void wake() {
+            if (closed.get() || !scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                sender.execute(this);
+            } catch (RejectedExecutionException e) {
+                // The feed is shutting down.
+                scheduled.set(false);
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                do {
+                    sendPending();
+                    scheduled.set(false);
+                    // A wake-up that came while sending found this task still scheduled.
+                } while (hasPending() && scheduled.compareAndSet(false, true));
+            } catch (JsonProcessingException e) {
+                close();
+                emitter.completeWithError(e);
+            } catch (IOException | IllegalStateException e) {
+                // The client is gone or the stream has timed out; the container cleans up.
+                close();
+            }
+        }
+
+        private boolean hasPending() {
+            return !closed.get() && (heartbeatDue || position < lastSequence);
+        }
+
+        private void sendPending() throws IOException {
+            List<FeedEvent> events = new ArrayList<>();
+            synchronized (ring) {
+                if (position < lastSequence - ring.length) {
+                    reset = true;
+                    position = lastSequence;
+                }
+                for (long sequence = position + 1; sequence <= lastSequence; sequence++) {
+                    events.add(ring[(int) (sequence % ring.length)]);
+                }
+            }
+            if (reset) {
+                reset = false;
+                resets.increment();
+                emitter.send(SseEmitter.event().id(eventId(position)).name(RESET).data("{}",
+                        MediaType.APPLICATION_JSON));
+            }
+            if (heartbeatDue) {
+                heartbeatDue = false;
+                emitter.send(SseEmitter.event().comment(HEARTBEAT));
+            }
+            for (FeedEvent event : events) {
+                emitter.send(SseEmitter.event()
+                        .id(eventId(event.sequence))
+                        .name(event.change.type().name().toLowerCase(Locale.ROOT))
+                        .data(event.json(), MediaType.APPLICATION_JSON));
+                position = event.sequence;
+            }
+        }
+
+        /** Runs once for each way a client goes away, but frees its slot only once. */
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                subscriberSlots.release();
+                subscribers.remove(this);
+            }
+        }
+    }
+}
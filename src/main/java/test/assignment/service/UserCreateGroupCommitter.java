@@ -0,0 +1,182 @@
+package test.assignment.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import test.assignment.exception.DuplicateEmailException;
+import test.assignment.exception.InvalidUserException;
+import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.response.UserBatchItemResponseDto;
+import test.assignment.model.dto.response.UserResponseDto;
+
+/**
+ * Opt-in group commit for single creates ({@code users.group-commit.enabled=true}).
+ * Callers park on a bounded queue; one flusher thread takes the first waiting create, keeps
+ * collecting for up to {@code window} or {@code max-batch-size} entries and saves them with
+ * {@link UserService#createUsers} in one transaction. When the queue is full, callers block
+ * until the flusher catches up. If the batch fails, its entries are retried one by one, so
+ * only the offending caller sees the error. Once stopping, creates run on the caller's thread.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "users.group-commit.enabled", havingValue = "true")
+public class UserCreateGroupCommitter {
+    private static final long IDLE_POLL_MILLIS = 100;
+
+    private final UserService userService;
+    private final BlockingQueue<PendingCreate> queue;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final DistributionSummary batchSizes;
+    private final Thread flusher = new Thread(this::run, "user-group-commit");
+    private volatile boolean running = true;
+
+    public UserCreateGroupCommitter(
+            UserService userService,
+            MeterRegistry meterRegistry,
+            @Value("${users.group-commit.window:5ms}") Duration window,
+            @Value("${users.group-commit.max-batch-size:50}") int maxBatchSize,
+            @Value("${users.group-commit.queue-capacity:1000}") int queueCapacity) {
+        this.userService = userService;
+        this.queue = createQueue(queueCapacity);
+        this.windowNanos = window.toNanos();
+        this.maxBatchSize = maxBatchSize;
+        this.batchSizes = DistributionSummary.builder("users.group-commit.batch.size")
+                .description("Creates committed per group-commit transaction")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        flusher.setDaemon(true);
+        flusher.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        flusher.join();
+        PendingCreate pending;
+        while ((pending = queue.poll()) != null) {
+            createSingle(pending);
+        }
+    }
+
+    BlockingQueue<PendingCreate> createQueue(int capacity) {
+        return new ArrayBlockingQueue<>(capacity);
+    }
+
+    public UserResponseDto createUser(SaveUserDto newUserDto) {
+        if (!running) {
+            return userService.createUser(newUserDto);
+        }
+        PendingCreate pending = new PendingCreate(newUserDto, new CompletableFuture<>());
+        try {
+            queue.put(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting to create a user", e);
+        }
+        // stop() may have drained the queue between the check and the put. Whichever of the
+        // two removes the entry first creates the user.
+        if (!running && queue.remove(pending)) {
+            return userService.createUser(newUserDto);
+        }
+        try {
+            return pending.result().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void run() {
+        List<PendingCreate> batch = new ArrayList<>(maxBatchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                collect(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void collect(List<PendingCreate> batch) throws InterruptedException {
+        PendingCreate first = queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (first == null) {
+            return;
+        }
+        batch.add(first);
+        long deadline = System.nanoTime() + windowNanos;
+        while (batch.size() < maxBatchSize) {
+            if (queue.drainTo(batch, maxBatchSize - batch.size()) > 0) {
+                continue;
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return;
+            }
+            PendingCreate next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null) {
+                return;
+            }
+            batch.add(next);
+        }
+    }
+
+    private void flush(List<PendingCreate> batch) {
+        batchSizes.record(batch.size());
+        List<UserBatchItemResponseDto> results;
+        try {
+            results = userService.createUsers(batch.stream()
+                    .map(PendingCreate::newUserDto)
+                    .toList());
+        } catch (RuntimeException e) {
+            log.debug("Group commit of {} users failed, retrying one by one", batch.size(), e);
+            batch.forEach(this::createSingle);
+            return;
+        }
+        for (UserBatchItemResponseDto result : results) {
+            CompletableFuture<UserResponseDto> future = batch.get(result.index()).result();
+            if (result.user() != null) {
+                future.complete(result.user());
+            } else if (result.errors().contains(DuplicateEmailException.FIELD_ERROR)) {
+                future.completeExceptionally(new DuplicateEmailException());
+            } else {
+                future.completeExceptionally(new InvalidUserException(result.errors()));
+            }
+        }
+    }
+
+    private void createSingle(PendingCreate pending) {
+        try {
+            pending.result().complete(userService.createUser(pending.newUserDto()));
+        } catch (RuntimeException e) {
+            pending.result().completeExceptionally(e);
+        }
+    }
+
+    record PendingCreate(SaveUserDto newUserDto, CompletableFuture<UserResponseDto> result) {
+    }
+}
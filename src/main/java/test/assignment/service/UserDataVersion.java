@@ -0,0 +1,35 @@
+package test.assignment.service;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import test.assignment.event.UserChangeEvent;
+
+/**
+ * Change counter for the users table, used as the ETag of user reads.
+ * It moves forward only after a write has committed and every in-memory view has applied
+ * it, so a reader that samples it and then queries the primary or those views never labels
+ * old data with a new version. A replica may not have the write yet, which is why reads
+ * answered under this ETag go to the primary. The startup time prefix keeps
+ * ETags from a previous process from matching after a restart.
+ */
+@Component
+public class UserDataVersion {
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong version = new AtomicLong();
+
+    public String etag() {
+        return "\"" + epoch + "-" + current() + "\"";
+    }
+
+    public long current() {
+        return version.get();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(UserChangeEvent.VERSION_ORDER)
+    public void onUserChange(UserChangeEvent event) {
+        version.incrementAndGet();
+    }
+}
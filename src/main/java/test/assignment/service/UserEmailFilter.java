@@ -0,0 +1,179 @@
+package test.assignment.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import test.assignment.datasource.PrimaryReads;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.repository.UserRepository;
+
+/**
+ * Bloom filter of every email in use ({@code users.email-filter.enabled}, on by default), so
+ * that the duplicate check for an email that is certainly new skips its database probe.
+ * The filter is built once the application is ready, sized for
+ * {@code users.email-filter.expected-users} or twice the loaded users if that is more, and
+ * then follows committed {@link UserChangeEvent}s. Emails that are deleted or replaced stay
+ * in it until the next restart, which only costs extra probes. Until it is loaded, and on
+ * writes made by other instances, the unique index on {@code users.email} still has the
+ * final say.
+ *
+ * <p>Checks are counted in {@code users.email-checks} by outcome: {@code skipped} probes
+ * were saved, {@code available} probes found the email free and {@code taken} ones found a
+ * duplicate. For new emails, {@code available} counts the false positives.
+ */
+@Slf4j
+@Component
+public class UserEmailFilter {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private final boolean enabled;
+    private final double falsePositiveRate;
+    private final long expectedUsers;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Counter skipped;
+    private final Counter available;
+    private final Counter taken;
+    private List<Long> changesDuringLoad = new ArrayList<>();
+    private volatile BloomFilter filter;
+
+    public UserEmailFilter(
+            @Value("${users.email-filter.enabled:true}") boolean enabled,
+            @Value("${users.email-filter.false-positive-rate:0.01}") double falsePositiveRate,
+            @Value("${users.email-filter.expected-users:1000000}") long expectedUsers,
+            UserRepository userRepository,
+            PlatformTransactionManager transactionManager,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.falsePositiveRate = falsePositiveRate;
+        this.expectedUsers = expectedUsers;
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.skipped = counter(meterRegistry, "skipped");
+        this.available = counter(meterRegistry, "available");
+        this.taken = counter(meterRegistry, "taken");
+        Gauge.builder("users.email-filter.false-positive-rate", this,
+                        UserEmailFilter::expectedFalsePositiveRate)
+                .description("Chance that a new email still needs a database probe")
+                .register(meterRegistry);
+    }
+
+    public boolean isReady() {
+        return filter != null;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        long[] hashes = PrimaryReads.call(() -> readOnlyTransaction.execute(status -> {
+            try (Stream<UserResponseDto> users = userRepository.streamAllUserDtos()) {
+                Hashes loaded = new Hashes();
+                users.forEach(user -> loaded.add(user.email()));
+                return loaded.toArray();
+            }
+        }));
+        BloomFilter loaded = new BloomFilter(Math.max(expectedUsers, 2L * hashes.length),
+                falsePositiveRate);
+        for (long hash : hashes) {
+            loaded.add(hash);
+        }
+        synchronized (this) {
+            changesDuringLoad.forEach(loaded::add);
+            changesDuringLoad = null;
+            filter = loaded;
+        }
+        log.info("Loaded {} emails into a {} KB filter in {} ms", hashes.length,
+                loaded.bitCount() / Byte.SIZE / 1024,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(UserChangeEvent.VIEW_ORDER)
+    public void onUserChange(UserChangeEvent event) {
+        if (!enabled || event.user() == null || event.user().email() == null) {
+            return;
+        }
+        long hash = BloomFilter.hash(event.user().email());
+        BloomFilter current = filter;
+        if (current == null) {
+            synchronized (this) {
+                current = filter;
+                if (current == null) {
+                    changesDuringLoad.add(hash);
+                    return;
+                }
+            }
+        }
+        current.add(hash);
+    }
+
+    /**
+     * Whether {@code email} is in use, asking {@code probe} only when the filter cannot rule
+     * it out.
+     */
+    public boolean isTaken(String email, BooleanSupplier probe) {
+        BloomFilter current = filter;
+        if (current == null) {
+            return probe.getAsBoolean();
+        }
+        if (!current.mightContain(BloomFilter.hash(email))) {
+            skipped.increment();
+            return false;
+        }
+        boolean isTaken = probe.getAsBoolean();
+        (isTaken ? taken : available).increment();
+        return isTaken;
+    }
+
+    private double expectedFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current == null ? Double.NaN : current.expectedFalsePositiveRate();
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("users.email-checks")
+                .description("Email uniqueness checks by whether they needed a database probe")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    /** Email hashes collected while streaming the table, 8 bytes per user. */
+    private static final class Hashes {
+        private long[] values = new long[INITIAL_CAPACITY];
+        private int size;
+
+        private void add(String email) {
+            if (email == null) {
+                return;
+            }
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size + (size >> 1));
+            }
+            values[size++] = BloomFilter.hash(email);
+        }
+
+        private long[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
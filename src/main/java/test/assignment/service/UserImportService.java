@@ -0,0 +1,9 @@
+package test.assignment.service;
+
+import java.io.BufferedReader;
+import test.assignment.model.dto.response.UserImportResponseDto;
+import test.assignment.util.parser.UserImportFormat;
+
+public interface UserImportService {
+    UserImportResponseDto importUsers(BufferedReader reader, UserImportFormat format);
+}
@@ -0,0 +1,226 @@
+package test.assignment.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.event.UserChangeEvent.ChangeType;
+import test.assignment.exception.DuplicateEmailException;
+import test.assignment.exception.InvalidImportException;
+import test.assignment.model.User;
+import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.response.UserImportErrorDto;
+import test.assignment.model.dto.response.UserImportResponseDto;
+import test.assignment.repository.UserRepository;
+import test.assignment.util.UserMapper;
+import test.assignment.util.parser.BoundedLineReader;
+import test.assignment.util.parser.CsvUserRowParser;
+import test.assignment.util.parser.NdjsonUserRowParser;
+import test.assignment.util.parser.UserImportFormat;
+import test.assignment.util.parser.UserRowParser;
+import test.assignment.util.validation.UserDtoValidator;
+
+/**
+ * Reads the import line by line and commits every {@link #CHUNK_SIZE} valid rows in their
+ * own transaction, so memory use depends on the chunk size rather than on the file size.
+ * If a chunk fails to save, its rows are retried one by one, so that only the offending
+ * rows are rejected.
+ * The next line is only read once the previous chunk is committed, which lets the database
+ * set the pace of the upload. Committed chunks stay committed if a later chunk fails or
+ * the client disconnects. A row whose email is already in use, or repeats one earlier in its
+ * chunk, is rejected; earlier chunks are committed by then and known to the email filter.
+ * At most {@link #MAX_REPORTED_ERRORS} rejected rows are listed in the report; all of them
+ * are counted. A row longer than {@link #MAX_LINE_LENGTH} characters is rejected without
+ * being held in memory. Rows are numbered by the line they start on.
+ */
+@Slf4j
+@Service
+@AllArgsConstructor
+@Timed(value = "users.import", histogram = true)
+public class UserImportServiceImpl implements UserImportService {
+    static final int CHUNK_SIZE = 500;
+    static final int MAX_REPORTED_ERRORS = 1000;
+    static final int MAX_LINE_LENGTH = 64 * 1024;
+    static final String LINE_TOO_LONG = "Row is longer than " + MAX_LINE_LENGTH + " characters";
+
+    private UserRepository userRepository;
+    private UserMapper mapper;
+    private EntityManager entityManager;
+    private UserDtoValidator validator;
+    private ApplicationEventPublisher eventPublisher;
+    private TransactionTemplate transactionTemplate;
+    private ObjectMapper objectMapper;
+    private UserEmailFilter emailFilter;
+
+    @Override
+    public UserImportResponseDto importUsers(BufferedReader reader, UserImportFormat format) {
+        long start = System.nanoTime();
+        ImportReport report = new ImportReport();
+        List<User> chunk = new ArrayList<>(CHUNK_SIZE);
+        long[] chunkLines = new long[CHUNK_SIZE];
+        Set<String> chunkEmails = new HashSet<>();
+        List<String> errors = new ArrayList<>();
+        BoundedLineReader lines = new BoundedLineReader(reader, MAX_LINE_LENGTH);
+        try {
+            long lineNumber = 0;
+            UserRowParser parser = new NdjsonUserRowParser(objectMapper);
+            if (format == UserImportFormat.CSV) {
+                String header = lines.readLine();
+                lineNumber++;
+                if (header == null || header.isBlank()) {
+                    throw new InvalidImportException("CSV import must start with a header row");
+                }
+                if (lines.isTruncated()) {
+                    throw new InvalidImportException("CSV header is longer than "
+                            + MAX_LINE_LENGTH + " characters");
+                }
+                parser = new CsvUserRowParser(header);
+            }
+            String line;
+            while ((line = lines.readLine()) != null) {
+                lineNumber++;
+                long rowLine = lineNumber;
+                boolean tooLong = lines.isTruncated();
+                if (!tooLong && parser.continuesOnNextLine(line)) {
+                    StringBuilder row = new StringBuilder(line);
+                    String terminator = lines.terminator();
+                    boolean open = true;
+                    String next;
+                    while (open && (next = lines.readLine()) != null) {
+                        lineNumber++;
+                        if (tooLong) {
+                            // The rest of an oversized row is read past, not kept, so that
+                            // its lines are not taken for rows of their own.
+                            open = parser.continuesAfter(next);
+                            continue;
+                        }
+                        row.append(terminator).append(next);
+                        terminator = lines.terminator();
+                        tooLong = lines.isTruncated() || row.length() > MAX_LINE_LENGTH;
+                        open = parser.continuesOnNextLine(row);
+                        if (tooLong) {
+                            row.setLength(0);
+                        }
+                    }
+                    if (!tooLong) {
+                        line = row.toString();
+                    }
+                }
+                if (line.isBlank()) {
+                    continue;
+                }
+                report.rows++;
+                if (tooLong) {
+                    report.reject(rowLine, List.of(LINE_TOO_LONG));
+                    continue;
+                }
+                SaveUserDto newUserDto;
+                try {
+                    newUserDto = parser.parse(line);
+                } catch (IllegalArgumentException e) {
+                    report.reject(rowLine, List.of(e.getMessage()));
+                    continue;
+                }
+                if (!validator.validate(newUserDto, errors)) {
+                    report.reject(rowLine, List.copyOf(errors));
+                    errors.clear();
+                    continue;
+                }
+                String email = newUserDto.email();
+                if (!chunkEmails.add(email)
+                        || emailFilter.isTaken(email, () -> userRepository.existsByEmail(email))) {
+                    report.reject(rowLine, List.of(DuplicateEmailException.FIELD_ERROR));
+                    continue;
+                }
+                chunkLines[chunk.size()] = rowLine;
+                chunk.add(mapper.toModel(newUserDto));
+                if (chunk.size() == CHUNK_SIZE) {
+                    saveChunk(chunk, chunkLines, report);
+                    chunkEmails.clear();
+                }
+            }
+            saveChunk(chunk, chunkLines, report);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        long elapsedNanos = System.nanoTime() - start;
+        long rowsPerSecond = elapsedNanos == 0 ? 0
+                : report.rows * TimeUnit.SECONDS.toNanos(1) / elapsedNanos;
+        log.info("Imported {} of {} {} rows in {} ms ({} rows/s)", report.imported,
+                report.rows, format, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+                rowsPerSecond);
+        return new UserImportResponseDto(report.rows, report.imported, report.rejected,
+                TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rowsPerSecond, report.errors);
+    }
+
+    private void saveChunk(List<User> chunk, long[] chunkLines, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        try {
+            commit(chunk);
+            report.imported += chunk.size();
+        } catch (DataAccessException e) {
+            log.debug("Import chunk of {} users failed, retrying one by one", chunk.size(), e);
+            for (int i = 0; i < chunk.size(); i++) {
+                saveRow(chunk.get(i), chunkLines[i], report);
+            }
+        } finally {
+            chunk.clear();
+        }
+    }
+
+    private void saveRow(User user, long line, ImportReport report) {
+        // The failed chunk may have assigned an id and a version before it rolled back.
+        user.setId(null);
+        user.setVersion(null);
+        try {
+            commit(List.of(user));
+            report.imported++;
+        } catch (DataAccessException e) {
+            report.reject(line, List.of("Row could not be saved: "
+                    + NestedExceptionUtils.getMostSpecificCause(e).getMessage()));
+        }
+    }
+
+    private void commit(List<User> users) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (User savedUser : userRepository.saveAll(users)) {
+                eventPublisher.publishEvent(new UserChangeEvent(ChangeType.CREATED,
+                        savedUser.getId(), savedUser.getVersion(), mapper.toDto(savedUser)));
+            }
+            userRepository.flush();
+            // With open-in-view enabled the persistence context outlives the transaction.
+            entityManager.clear();
+        });
+    }
+
+    private static class ImportReport {
+        private final List<UserImportErrorDto> errors = new ArrayList<>();
+        private long rows;
+        private long imported;
+        private long rejected;
+
+        private void reject(long line, List<String> messages) {
+            rejected++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new UserImportErrorDto(line, messages));
+            }
+        }
+    }
+}
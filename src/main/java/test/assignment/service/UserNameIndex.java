@@ -0,0 +1,707 @@
+package test.assignment.service;
+
+import jakarta.annotation.PreDestroy;
+import java.text.Normalizer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import test.assignment.datasource.PrimaryReads;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.repository.UserRepository;
+
+/**
+ * Optional trigram index over first and last names ({@code users.name-search.enabled=true})
+ * for prefix search with one typo of tolerance. Names are lowercased and stripped of accents,
+ * then padded at the start, so every prefix of a name shares all its trigrams with the name.
+ * A query term of four or more characters may also be one insertion, deletion or
+ * substitution away from a name prefix; such a name misses at most three of the term's
+ * trigrams, so it is on at least two of the term's five rarest posting lists. Candidates are
+ * found by merging those lists and checked against a 64-bit trigram signature of each name
+ * before the names themselves are read.
+ *
+ * <p>Every term of a query must match the first or the last name. A term scores 3 for an
+ * equal name, 2 for a prefix and 1 for a fuzzy prefix, and users are ranked by their total,
+ * then by last name, first name and id. A search stops after
+ * {@code users.name-search.timeout} and returns the best matches found so far.
+ *
+ * <p>Like {@link UserBirthDateIndex}, the index is loaded once the application is ready and
+ * then follows committed {@link UserChangeEvent}s, dropping stale ones. A write appends the
+ * user's new names and leaves the old entry dead. Once dead entries outnumber live ones, the
+ * live ones are copied into fresh postings on a background thread while searches and writes
+ * go on against the old ones; the writes made meanwhile are replayed onto the copy before it
+ * replaces them.
+ */
+@Slf4j
+@Component
+public class UserNameIndex {
+    static final int EQUAL = 3;
+    static final int PREFIX = 2;
+    static final int FUZZY = 1;
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int FIELDS = 2;
+    private static final char PAD = '\u0001';
+    private static final int MIN_FUZZY_LENGTH = 4;
+    private static final int GRAMS_LOST_PER_EDIT = 3;
+    private static final int MAX_TERMS = 5;
+    private static final int DEADLINE_CHECK_INTERVAL = 1024;
+    private static final Pattern ACCENTS = Pattern.compile("\\p{M}+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private final boolean enabled;
+    private final long timeoutNanos;
+    private final UserRepository userRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private List<UserChangeEvent> changesDuringLoad = new ArrayList<>();
+    private volatile boolean ready;
+    private Entries entries = new Entries(INITIAL_CAPACITY);
+    private final UserVersions versions = new UserVersions();
+    /** The changes applied since a compaction started, or {@code null} if none runs. */
+    private List<UserChangeEvent> changesDuringCompaction;
+    private final ExecutorService compactor = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "user-name-index-compaction");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public UserNameIndex(@Value("${users.name-search.enabled:false}") boolean enabled,
+                         @Value("${users.name-search.timeout:100ms}") Duration timeout,
+                         UserRepository userRepository,
+                         PlatformTransactionManager transactionManager) {
+        this.enabled = enabled;
+        this.timeoutNanos = timeout.toNanos();
+        this.userRepository = userRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        Entries loaded = PrimaryReads.call(() -> readOnlyTransaction.execute(status -> {
+            try (Stream<UserResponseDto> users = userRepository.streamAllUserDtos()) {
+                Entries all = new Entries(INITIAL_CAPACITY);
+                users.forEach(all::add);
+                return all;
+            }
+        }));
+        lock.writeLock().lock();
+        try {
+            entries = loaded;
+            changesDuringLoad.forEach(this::apply);
+            changesDuringLoad = null;
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} users into the name index in {} ms", loaded.live(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(UserChangeEvent.VIEW_ORDER)
+    public void onUserChange(UserChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            if (ready) {
+                apply(event);
+            } else {
+                changesDuringLoad.add(event);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        compactor.shutdownNow();
+    }
+
+    /**
+     * Ids of the users ranked {@code offset} to {@code offset + limit - 1} for {@code query},
+     * with the number of matches and whether the search ran out of time.
+     */
+    public SearchResult search(String query, int limit, int offset) {
+        long deadline = System.nanoTime() + timeoutNanos;
+        String[] terms = terms(query);
+        if (terms.length == 0) {
+            return new SearchResult(List.of(), 0, false);
+        }
+        lock.readLock().lock();
+        try {
+            return entries.search(terms, offset + limit, deadline).page(offset);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.live();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void apply(UserChangeEvent event) {
+        if (!versions.advance(event)) {
+            return;
+        }
+        update(entries, event);
+        if (changesDuringCompaction != null) {
+            changesDuringCompaction.add(event);
+        } else if (entries.dead > entries.live() && entries.dead > INITIAL_CAPACITY) {
+            changesDuringCompaction = new ArrayList<>();
+            Snapshot snapshot = entries.snapshot();
+            compactLater(() -> finishCompaction(snapshot));
+        }
+    }
+
+    private static void update(Entries entries, UserChangeEvent event) {
+        UserResponseDto user = event.user();
+        String firstName = user == null ? null : normalize(user.firstName());
+        String lastName = user == null ? null : normalize(user.lastName());
+        if (user != null && entries.hasNames(event.id(), firstName, lastName)) {
+            return;
+        }
+        entries.remove(event.id());
+        if (user != null) {
+            entries.add(user.id(), firstName, lastName);
+        }
+    }
+
+    void compactLater(Runnable compaction) {
+        compactor.execute(compaction);
+    }
+
+    private void finishCompaction(Snapshot snapshot) {
+        Entries compacted = null;
+        try {
+            compacted = snapshot.compacted();
+        } catch (RuntimeException | OutOfMemoryError e) {
+            log.warn("Could not compact the name index", e);
+        }
+        lock.writeLock().lock();
+        try {
+            if (compacted != null) {
+                for (UserChangeEvent event : changesDuringCompaction) {
+                    update(compacted, event);
+                }
+                entries = compacted;
+            }
+            changesDuringCompaction = null;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    static String normalize(String name) {
+        if (name == null) {
+            return "";
+        }
+        String lowerCase = name.toLowerCase(Locale.ROOT).strip();
+        for (int i = 0; i < lowerCase.length(); i++) {
+            if (lowerCase.charAt(i) >= 0x80) {
+                return ACCENTS.matcher(Normalizer.normalize(lowerCase, Normalizer.Form.NFD))
+                        .replaceAll("");
+            }
+        }
+        return lowerCase;
+    }
+
+    static String[] terms(String query) {
+        String normalized = normalize(query);
+        if (normalized.isEmpty()) {
+            return new String[0];
+        }
+        return Arrays.stream(WHITESPACE.split(normalized))
+                .distinct()
+                .limit(MAX_TERMS)
+                .toArray(String[]::new);
+    }
+
+    /** How well {@code term} matches {@code name}: {@link #EQUAL} down to 0 for no match. */
+    static int score(String term, String name) {
+        return score(term.toCharArray(), name.toCharArray(), 0, name.length());
+    }
+
+    /**
+     * How well {@code term} matches the name in {@code chars[start]} up to {@code chars[end]}.
+     * A fuzzy match needs one insertion, deletion or substitution to turn {@code term} into a
+     * prefix of the name, and the edit can always be placed at the first mismatch.
+     */
+    private static int score(char[] term, char[] chars, int start, int end) {
+        int common = 0;
+        int shorter = Math.min(term.length, end - start);
+        while (common < shorter && term[common] == chars[start + common]) {
+            common++;
+        }
+        if (common == term.length) {
+            return end - start == term.length ? EQUAL : PREFIX;
+        }
+        if (term.length < MIN_FUZZY_LENGTH) {
+            return 0;
+        }
+        int rest = term.length - common - 1;
+        int mismatch = start + common;
+        return regionMatches(chars, mismatch + 1, end, term, common + 1, rest)
+                || regionMatches(chars, mismatch, end, term, common + 1, rest)
+                || regionMatches(chars, mismatch + 1, end, term, common, rest + 1) ? FUZZY : 0;
+    }
+
+    private static boolean regionMatches(char[] chars, int from, int end, char[] term,
+                                         int termFrom, int length) {
+        return from + length <= end
+                && Arrays.equals(chars, from, from + length, term, termFrom, termFrom + length);
+    }
+
+    /** Trigrams of {@code value} padded with two {@link #PAD}s, each packed into a long. */
+    private static long[] grams(String value) {
+        String padded = "" + PAD + PAD + value;
+        long[] grams = new long[value.length()];
+        for (int i = 0; i < grams.length; i++) {
+            grams[i] = ((long) padded.charAt(i) << 32) | ((long) padded.charAt(i + 1) << 16)
+                    | padded.charAt(i + 2);
+        }
+        return grams;
+    }
+
+    /** The bit standing for {@code gram} in a name's 64-bit signature. */
+    private static long bit(long gram) {
+        return 1L << (gram * 0x9e3779b97f4a7c15L >>> 58);
+    }
+
+    public record SearchResult(List<Long> ids, int matches, boolean partial) {
+    }
+
+    private record Match(int entry, int score) {
+    }
+
+    private record Candidates(Postings[] lists, int required) {
+    }
+
+    /**
+     * A query term with its distinct trigrams. A name it matches shares at least
+     * {@code shared} of them, all of them unless one edit may have taken some away.
+     */
+    private static final class Term {
+        private final char[] chars;
+        private final long[] grams;
+        private final long[] bits;
+        private final int shared;
+
+        private Term(String term) {
+            chars = term.toCharArray();
+            grams = Arrays.stream(grams(term)).distinct().toArray();
+            bits = Arrays.stream(grams).map(UserNameIndex::bit).toArray();
+            shared = term.length() >= MIN_FUZZY_LENGTH
+                    ? grams.length - GRAMS_LOST_PER_EDIT : grams.length;
+        }
+
+        /** Whether a name with {@code signature} may share enough trigrams with the term. */
+        private boolean mightMatch(long signature) {
+            int found = 0;
+            for (long bit : bits) {
+                if ((signature & bit) != 0) {
+                    found++;
+                }
+            }
+            return found >= shared;
+        }
+    }
+
+    /**
+     * Users in the order they were indexed. Entry {@code e} has the first name {@code 2e}
+     * and the last name {@code 2e + 1}; name {@code n} is stored in {@code chars[starts[n]]}
+     * up to {@code chars[starts[n + 1]]}, and postings hold names in ascending order. Each
+     * name also has a signature with the {@link #bit} of each of its trigrams set, so most
+     * candidates are ruled out without reading their names.
+     */
+    private static final class Entries {
+        private final Map<Long, Postings> postings = new HashMap<>();
+        private final LongIntMap entriesById;
+        private long[] ids;
+        private long[] signatures;
+        private int[] starts;
+        private char[] chars;
+        private int size;
+        private int dead;
+
+        private Entries(int capacity) {
+            ids = new long[capacity];
+            signatures = new long[capacity * FIELDS];
+            starts = new int[capacity * FIELDS + 1];
+            chars = new char[capacity * FIELDS * 8];
+            entriesById = new LongIntMap(capacity);
+        }
+
+        private int live() {
+            return size - dead;
+        }
+
+        private void add(UserResponseDto user) {
+            add(user.id(), normalize(user.firstName()), normalize(user.lastName()));
+        }
+
+        private void add(long id, String firstName, String lastName) {
+            if (size == ids.length) {
+                int capacity = size + (size >> 1);
+                ids = Arrays.copyOf(ids, capacity);
+                signatures = Arrays.copyOf(signatures, capacity * FIELDS);
+                starts = Arrays.copyOf(starts, capacity * FIELDS + 1);
+            }
+            int entry = size++;
+            ids[entry] = id;
+            entriesById.put(id, entry);
+            append(entry * FIELDS, firstName);
+            append(entry * FIELDS + 1, lastName);
+        }
+
+        private void append(int name, String value) {
+            int start = starts[name];
+            int end = start + value.length();
+            if (end > chars.length) {
+                chars = Arrays.copyOf(chars, Math.max(end, chars.length + (chars.length >> 1)));
+            }
+            value.getChars(0, value.length(), chars, start);
+            starts[name + 1] = end;
+            for (long gram : grams(value)) {
+                signatures[name] |= bit(gram);
+                postings.computeIfAbsent(gram, key -> new Postings()).add(name);
+            }
+        }
+
+        private String name(int name) {
+            return new String(chars, starts[name], starts[name + 1] - starts[name]);
+        }
+
+        private boolean hasNames(long id, String firstName, String lastName) {
+            int entry = entriesById.get(id);
+            return entry >= 0 && name(entry * FIELDS).equals(firstName)
+                    && name(entry * FIELDS + 1).equals(lastName);
+        }
+
+        private void remove(long id) {
+            int entry = entriesById.get(id);
+            if (entry >= 0) {
+                entriesById.put(id, -1);
+                ids[entry] = -1;
+                dead++;
+            }
+        }
+
+        /**
+         * The entries so far, readable without the lock: later writes only append past them
+         * or mark them dead in {@code ids}, which is copied, and growing replaces the arrays
+         * instead of changing them.
+         */
+        private Snapshot snapshot() {
+            return new Snapshot(Arrays.copyOf(ids, size), starts, chars, live());
+        }
+
+        private Ranking search(String[] query, int wanted, long deadline) {
+            Term[] terms = Arrays.stream(query).map(Term::new).toArray(Term[]::new);
+            Ranking ranking = new Ranking(wanted);
+            Candidates candidates = candidates(terms);
+            if (candidates == null) {
+                for (int entry = 0; entry < size && !ranking.timedOut(deadline); entry++) {
+                    check(terms, entry, ranking);
+                }
+                return ranking;
+            }
+            // Merges the lists in ascending order, counting the lists each name is on.
+            Postings[] lists = candidates.lists();
+            int[] positions = new int[lists.length];
+            int[] heads = new int[lists.length];
+            for (int list = 0; list < lists.length; list++) {
+                heads[list] = lists[list].get(0);
+            }
+            int checked = -1;
+            while (!ranking.timedOut(deadline)) {
+                int name = Integer.MAX_VALUE;
+                for (int head : heads) {
+                    name = Math.min(name, head);
+                }
+                if (name == Integer.MAX_VALUE) {
+                    break;
+                }
+                int found = 0;
+                for (int list = 0; list < lists.length; list++) {
+                    if (heads[list] == name) {
+                        heads[list] = lists[list].get(++positions[list]);
+                        found++;
+                    }
+                }
+                int entry = name / FIELDS;
+                if (found >= candidates.required() && entry != checked) {
+                    checked = entry;
+                    check(terms, entry, ranking);
+                }
+            }
+            return ranking;
+        }
+
+        private void check(Term[] terms, int entry, Ranking ranking) {
+            int score = score(terms, entry);
+            if (score > 0 && ids[entry] >= 0) {
+                ranking.offer(new Match(entry, score));
+            }
+        }
+
+        /**
+         * The posting lists of the most selective term, with how many of them each of its
+         * matches is on. A match misses at most {@code grams - shared} of the term's lists,
+         * so it is on at least {@code k - grams + shared} of any {@code k}; the rarest lists
+         * are taken, one more than the minimum when there is one, so that a name must be on
+         * two of them. {@code null} if one edit could take away all the trigrams of every
+         * term, in which case every entry is a candidate.
+         */
+        private Candidates candidates(Term[] terms) {
+            Candidates best = null;
+            long bestSize = Long.MAX_VALUE;
+            for (Term term : terms) {
+                int missed = term.grams.length - term.shared;
+                if (term.shared <= 0) {
+                    continue;
+                }
+                Postings[] lists = Arrays.stream(term.grams)
+                        .mapToObj(gram -> postings.getOrDefault(gram, Postings.EMPTY))
+                        .sorted(Comparator.comparingInt(list -> list.size))
+                        .limit(missed + 2)
+                        .toArray(Postings[]::new);
+                long total = Arrays.stream(lists).mapToLong(list -> list.size).sum();
+                if (total < bestSize) {
+                    best = new Candidates(lists, lists.length - missed);
+                    bestSize = total;
+                }
+            }
+            return best;
+        }
+
+        /** The sum of each term's best score over both names, or 0 if a term matches none. */
+        private int score(Term[] terms, int entry) {
+            int firstName = entry * FIELDS;
+            int lastName = firstName + 1;
+            for (Term term : terms) {
+                if (!term.mightMatch(signatures[firstName])
+                        && !term.mightMatch(signatures[lastName])) {
+                    return 0;
+                }
+            }
+            int total = 0;
+            for (Term term : terms) {
+                int score = Math.max(
+                        UserNameIndex.score(term.chars, chars, starts[firstName],
+                                starts[firstName + 1]),
+                        UserNameIndex.score(term.chars, chars, starts[lastName],
+                                starts[lastName + 1]));
+                if (score == 0) {
+                    return 0;
+                }
+                total += score;
+            }
+            return total;
+        }
+
+        private int compareNames(int name, int other) {
+            return Arrays.compare(chars, starts[name], starts[name + 1],
+                    chars, starts[other], starts[other + 1]);
+        }
+
+        /** Higher scores first, then by last name, first name and id. */
+        private int compare(Match match, Match other) {
+            if (match.score() != other.score()) {
+                return Integer.compare(other.score(), match.score());
+            }
+            int firstName = match.entry() * FIELDS;
+            int otherFirstName = other.entry() * FIELDS;
+            int order = compareNames(firstName + 1, otherFirstName + 1);
+            if (order == 0) {
+                order = compareNames(firstName, otherFirstName);
+            }
+            return order != 0 ? order : Long.compare(ids[match.entry()], ids[other.entry()]);
+        }
+
+        /** The best {@code wanted} matches seen, kept in a heap whose head is the worst. */
+        private final class Ranking {
+            private final Comparator<Match> order = Entries.this::compare;
+            private final PriorityQueue<Match> best;
+            private final int wanted;
+            private int matches;
+            private int steps;
+            private boolean partial;
+
+            private Ranking(int wanted) {
+                this.wanted = wanted;
+                this.best = new PriorityQueue<>(wanted + 1, order.reversed());
+            }
+
+            private void offer(Match match) {
+                matches++;
+                if (best.size() < wanted) {
+                    best.add(match);
+                } else if (order.compare(match, best.peek()) < 0) {
+                    best.poll();
+                    best.add(match);
+                }
+            }
+
+            /** Whether the search has passed its deadline, which is checked now and then. */
+            private boolean timedOut(long deadline) {
+                if (++steps % DEADLINE_CHECK_INTERVAL == 0 && System.nanoTime() > deadline) {
+                    partial = true;
+                }
+                return partial;
+            }
+
+            private SearchResult page(int offset) {
+                Match[] ranked = best.toArray(new Match[0]);
+                Arrays.sort(ranked, order);
+                List<Long> page = new ArrayList<>(Math.max(0, ranked.length - offset));
+                for (int i = offset; i < ranked.length; i++) {
+                    page.add(ids[ranked[i].entry()]);
+                }
+                return new SearchResult(page, matches, partial);
+            }
+        }
+    }
+
+    /** The entries a compaction copies, see {@link Entries#snapshot()}. */
+    private record Snapshot(long[] ids, int[] starts, char[] chars, int live) {
+
+        private Entries compacted() {
+            Entries compacted = new Entries(Math.max(live, INITIAL_CAPACITY));
+            for (int entry = 0; entry < ids.length; entry++) {
+                if (ids[entry] >= 0) {
+                    compacted.add(ids[entry], name(entry * FIELDS), name(entry * FIELDS + 1));
+                }
+            }
+            return compacted;
+        }
+
+        private String name(int name) {
+            return new String(chars, starts[name], starts[name + 1] - starts[name]);
+        }
+    }
+
+    private static final class Postings {
+        private static final Postings EMPTY = new Postings();
+
+        private int[] values = new int[4];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        /** The value at {@code position}, or {@link Integer#MAX_VALUE} past the end. */
+        private int get(int position) {
+            return position < size ? values[position] : Integer.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Open-addressing map from user id to entry, without boxing. Removed ids are kept with
+     * the value -1; they go away when the entries are compacted.
+     */
+    private static final class LongIntMap {
+        private long[] keys;
+        private int[] values;
+        private boolean[] used;
+        private int size;
+
+        private LongIntMap(int expected) {
+            int capacity = Integer.highestOneBit(Math.max(expected, 8) * 2 - 1) << 1;
+            keys = new long[capacity];
+            values = new int[capacity];
+            used = new boolean[capacity];
+        }
+
+        private int get(long key) {
+            int mask = keys.length - 1;
+            for (int slot = slot(key, mask); used[slot]; slot = (slot + 1) & mask) {
+                if (keys[slot] == key) {
+                    return values[slot];
+                }
+            }
+            return -1;
+        }
+
+        private void put(long key, int value) {
+            if ((size + 1) * 2 > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int slot = slot(key, mask);
+            while (used[slot] && keys[slot] != key) {
+                slot = (slot + 1) & mask;
+            }
+            if (!used[slot]) {
+                used[slot] = true;
+                keys[slot] = key;
+                size++;
+            }
+            values[slot] = value;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldValues = values;
+            boolean[] oldUsed = used;
+            keys = new long[oldKeys.length * 2];
+            values = new int[oldKeys.length * 2];
+            used = new boolean[oldKeys.length * 2];
+            size = 0;
+            for (int i = 0; i < oldKeys.length; i++) {
+                if (oldUsed[i]) {
+                    put(oldKeys[i], oldValues[i]);
+                }
+            }
+        }
+
+        private static int slot(long key, int mask) {
+            return (int) (key * 0x9e3779b97f4a7c15L >>> 32) & mask;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package test.assignment.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.unit.DataSize;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.event.UserChangeEvent.ChangeType;
+import test.assignment.model.dto.response.UserResponseDto;
+
+/**
+ * Opt-in cache of birth date range results keyed by {@code (from, to)}
+ * ({@code users.range-cache.enabled=true}). A committed write drops only the cached ranges
+ * that contain the user's old or new birth date, found through an {@link IntervalTree}; a
+ * write whose old birth date is unknown drops everything. Entries are evicted least recently
+ * used first once their estimated size exceeds {@code users.range-cache.max-memory}.
+ * A result whose query overlapped any write is returned but not cached, as it may predate
+ * the write. Published as {@code users.range-cache.*} metrics, including the hit ratio.
+ */
+@Component
+public class UserRangeCache {
+    private static final long ENTRY_OVERHEAD_BYTES = 200;
+    private static final long USER_OVERHEAD_BYTES = 40 + 16 + 24;
+    private static final long STRING_OVERHEAD_BYTES = 40;
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final Map<Range, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final IntervalTree<Range> intervals = new IntervalTree<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private long bytes;
+    private long writes;
+
+    public UserRangeCache(@Value("${users.range-cache.enabled:false}") boolean enabled,
+                          @Value("${users.range-cache.max-memory:64MB}") DataSize maxMemory,
+                          MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.maxBytes = maxMemory.toBytes();
+        bindMetrics(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public List<UserResponseDto> get(LocalDate from, LocalDate to,
+                                     Supplier<List<UserResponseDto>> query) {
+        if (!enabled) {
+            return query.get();
+        }
+        Range range = new Range(from, to);
+        long writesBefore;
+        synchronized (this) {
+            Entry entry = entries.get(range);
+            if (entry != null) {
+                hits.increment();
+                return entry.users();
+            }
+            writesBefore = writes;
+        }
+        misses.increment();
+        List<UserResponseDto> users = Collections.unmodifiableList(query.get());
+        put(range, users, writesBefore);
+        return users;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(UserChangeEvent.VIEW_ORDER)
+    public void onUserChange(UserChangeEvent event) {
+        if (!enabled) {
+            return;
+        }
+        LocalDate birthDate = event.user() == null ? null : event.user().birthDate();
+        synchronized (this) {
+            writes++;
+            if (event.type() != ChangeType.CREATED && event.previousBirthDate() == null) {
+                invalidations.add(entries.size());
+                entries.clear();
+                intervals.clear();
+                bytes = 0;
+                return;
+            }
+            invalidate(event.previousBirthDate());
+            invalidate(birthDate);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long estimatedBytes() {
+        return bytes;
+    }
+
+    private synchronized void put(Range range, List<UserResponseDto> users, long writesBefore) {
+        if (writes != writesBefore) {
+            return;
+        }
+        long size = estimateBytes(users);
+        if (size > maxBytes) {
+            return;
+        }
+        Entry previous = entries.put(range, new Entry(users, size));
+        if (previous == null) {
+            intervals.add(range.from().toEpochDay(), range.to().toEpochDay(), range);
+        } else {
+            bytes -= previous.bytes();
+        }
+        bytes += size;
+        Iterator<Map.Entry<Range, Entry>> eldest = entries.entrySet().iterator();
+        while (bytes > maxBytes) {
+            Map.Entry<Range, Entry> evicted = eldest.next();
+            eldest.remove();
+            intervals.remove(evicted.getKey().from().toEpochDay(),
+                    evicted.getKey().to().toEpochDay());
+            bytes -= evicted.getValue().bytes();
+            evictions.increment();
+        }
+    }
+
+    private void invalidate(LocalDate birthDate) {
+        if (birthDate == null) {
+            return;
+        }
+        List<Range> stale = new ArrayList<>();
+        intervals.forEachContaining(birthDate.toEpochDay(), stale::add);
+        // Removed after the walk, as the tree must not change while it is traversed.
+        for (Range range : stale) {
+            intervals.remove(range.from().toEpochDay(), range.to().toEpochDay());
+            bytes -= entries.remove(range).bytes();
+        }
+        invalidations.add(stale.size());
+    }
+
+    private static long estimateBytes(List<UserResponseDto> users) {
+        long size = ENTRY_OVERHEAD_BYTES + 4L * users.size();
+        for (UserResponseDto user : users) {
+            size += USER_OVERHEAD_BYTES + stringBytes(user.email()) + stringBytes(user.firstName())
+                    + stringBytes(user.lastName()) + stringBytes(user.address())
+                    + stringBytes(user.phoneNumber());
+        }
+        return size;
+    }
+
+    private static long stringBytes(String value) {
+        return value == null ? 0 : STRING_OVERHEAD_BYTES + value.length();
+    }
+
+    private void bindMetrics(MeterRegistry meterRegistry) {
+        FunctionCounter.builder("users.range-cache.gets", hits, LongAdder::sum)
+                .description("Range cache lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        FunctionCounter.builder("users.range-cache.gets", misses, LongAdder::sum)
+                .description("Range cache lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        FunctionCounter.builder("users.range-cache.removals", invalidations, LongAdder::sum)
+                .description("Cached ranges removed")
+                .tag("cause", "invalidated")
+                .register(meterRegistry);
+        FunctionCounter.builder("users.range-cache.removals", evictions, LongAdder::sum)
+                .description("Cached ranges removed")
+                .tag("cause", "evicted")
+                .register(meterRegistry);
+        Gauge.builder("users.range-cache.hit-ratio", this, UserRangeCache::hitRatio)
+                .description("Share of range lookups served from the cache")
+                .register(meterRegistry);
+        Gauge.builder("users.range-cache.size", this, UserRangeCache::size)
+                .description("Cached ranges")
+                .register(meterRegistry);
+        Gauge.builder("users.range-cache.bytes", this, UserRangeCache::estimatedBytes)
+                .description("Estimated memory held by cached ranges")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+    }
+
+    private double hitRatio() {
+        long hitCount = hits.sum();
+        long total = hitCount + misses.sum();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    private record Range(LocalDate from, LocalDate to) {
+    }
+
+    private record Entry(List<UserResponseDto> users, long bytes) {
+    }
+}
@@ -0,0 +1,103 @@
+package test.assignment.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import test.assignment.model.dto.response.UserResponseDto;
+
+/**
+ * Opt-in single-flight for birth date range queries ({@code users.range-coalescing.enabled}).
+ * The first caller for a {@code from}/{@code to} pair runs the query; callers asking for the
+ * same pair while it runs wait for it and share its unmodifiable result, or its exception.
+ * A caller joins only while the {@link UserDataVersion} is still the one the query started
+ * under; after a write it starts a query of its own, so a result is never answered under an
+ * ETag newer than its data. Counted in {@code users.range-queries} by outcome:
+ * {@code executed} queries hit the database and {@code coalesced} ones were saved.
+ */
+@Component
+public class UserRangeQueryCoalescer {
+    private final boolean enabled;
+    private final UserDataVersion dataVersion;
+    private final ConcurrentMap<Range, Query> inFlight = new ConcurrentHashMap<>();
+    private final Counter executed;
+    private final Counter coalesced;
+
+    public UserRangeQueryCoalescer(
+            @Value("${users.range-coalescing.enabled:false}") boolean enabled,
+            UserDataVersion dataVersion, MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.dataVersion = dataVersion;
+        this.executed = counter(meterRegistry, "executed");
+        this.coalesced = counter(meterRegistry, "coalesced");
+    }
+
+    public List<UserResponseDto> execute(LocalDate from, LocalDate to,
+                                         Supplier<List<UserResponseDto>> query) {
+        if (!enabled) {
+            return query.get();
+        }
+        Range range = new Range(from, to);
+        Query own = new Query(dataVersion.current(), new CompletableFuture<>());
+        Query running;
+        while ((running = inFlight.putIfAbsent(range, own)) != null) {
+            if (running.version() >= own.version()) {
+                coalesced.increment();
+                return await(running.result());
+            }
+            // The running query may have read the range before a write this caller follows;
+            // it finishes for its own callers, and later ones join this query instead.
+            if (inFlight.replace(range, running, own)) {
+                break;
+            }
+        }
+        executed.increment();
+        try {
+            List<UserResponseDto> users = Collections.unmodifiableList(query.get());
+            // Later callers start a fresh query rather than reuse a finished result.
+            inFlight.remove(range, own);
+            own.result().complete(users);
+            return users;
+        } catch (RuntimeException | Error e) {
+            inFlight.remove(range, own);
+            own.result().completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private static List<UserResponseDto> await(CompletableFuture<List<UserResponseDto>> query) {
+        try {
+            return query.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("users.range-queries")
+                .description("Birth date range queries by whether they ran or joined one")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private record Range(LocalDate from, LocalDate to) {
+    }
+
+    /** A running query and the data version sampled before it started. */
+    private record Query(long version, CompletableFuture<List<UserResponseDto>> result) {
+    }
+}
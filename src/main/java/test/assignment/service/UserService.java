@@ -2,15 +2,36 @@ package test.assignment.service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.function.Consumer;
 import test.assignment.model.dto.request.SaveUserDto;
 import test.assignment.model.dto.request.UserUpdatePartialDto;
+import test.assignment.model.dto.response.UserBatchItemResponseDto;
+import test.assignment.model.dto.response.UserPageResponseDto;
 import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.model.dto.response.UserSearchResponseDto;
+import test.assignment.util.KeysetCursor;
 
 public interface UserService {
     UserResponseDto createUser(SaveUserDto newUserDto);
 
+    List<UserBatchItemResponseDto> createUsers(List<SaveUserDto> newUserDtos);
+
+    UserResponseDto getUserById(Long id);
+
+    UserResponseDto getUserByEmail(String email);
+
     List<UserResponseDto> getUsersByBirthDateRange(LocalDate from, LocalDate to);
 
+    UserPageResponseDto getUsersByBirthDateRange(LocalDate from, LocalDate to,
+                                                 int limit, KeysetCursor after);
+
+    UserSearchResponseDto searchUsersByName(String query, int limit, int offset);
+
+    void streamUsersByBirthDateRange(LocalDate from, LocalDate to,
+                                     Consumer<UserResponseDto> consumer);
+
+    void streamAllUsers(Consumer<UserResponseDto> consumer);
+
     UserResponseDto updateUser(Long id, SaveUserDto userUpdateDto);
 
     UserResponseDto updatePartialUser(Long id, UserUpdatePartialDto userUpdatePartialDto);
@@ -1,68 +1,281 @@
 package test.assignment.service;
 
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 import lombok.AllArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import test.assignment.datasource.PrimaryReads;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.event.UserChangeEvent.ChangeType;
+import test.assignment.exception.DuplicateEmailException;
 import test.assignment.exception.EntityNotFoundException;
+import test.assignment.exception.SearchUnavailableException;
 import test.assignment.model.User;
 import test.assignment.model.dto.request.SaveUserDto;
 import test.assignment.model.dto.request.UserUpdatePartialDto;
+import test.assignment.model.dto.response.UserBatchItemResponseDto;
+import test.assignment.model.dto.response.UserPageResponseDto;
 import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.model.dto.response.UserSearchResponseDto;
 import test.assignment.repository.UserRepository;
+import test.assignment.util.KeysetCursor;
 import test.assignment.util.UserMapper;
+import test.assignment.util.validation.UserDtoValidator;
 
 @Service
 @AllArgsConstructor
+@Timed(value = "users.service", histogram = true)
 public class UserServiceImpl implements UserService {
+    private static final int BATCH_SIZE = 50;
+    static final String NULL_USER = "user must not be null";
 
     private UserRepository userRepository;
     private UserMapper mapper;
+    private EntityManager entityManager;
+    private UserDtoValidator validator;
+    private ApplicationEventPublisher eventPublisher;
+    private UserBirthDateIndex birthDateIndex;
+    private UserRangeQueryCoalescer rangeQueryCoalescer;
+    private UserRangeCache rangeCache;
+    private UserEmailFilter emailFilter;
+    private UserNameIndex nameIndex;
+    private UserByIdCache userByIdCache;
 
     @Override
     public UserResponseDto createUser(SaveUserDto newUserDto) {
+        checkEmailAvailable(newUserDto.email(), null);
         User newUser = mapper.toModel(newUserDto);
-        return mapper.toDto(userRepository.save(newUser));
+        User savedUser = userRepository.save(newUser);
+        UserResponseDto savedUserDto = mapper.toDto(savedUser);
+        eventPublisher.publishEvent(new UserChangeEvent(ChangeType.CREATED, savedUser.getId(),
+                savedUser.getVersion(), savedUserDto));
+        return savedUserDto;
+    }
+
+    @Override
+    @Transactional
+    public List<UserBatchItemResponseDto> createUsers(List<SaveUserDto> newUserDtos) {
+        List<UserBatchItemResponseDto> results = new ArrayList<>(newUserDtos.size());
+        List<User> chunk = new ArrayList<>(BATCH_SIZE);
+        List<Integer> chunkIndexes = new ArrayList<>(BATCH_SIZE);
+        List<String> errors = new ArrayList<>();
+        // The filter only learns of these emails on commit, so repeats are caught here.
+        Set<String> batchEmails = new HashSet<>();
+        for (int i = 0; i < newUserDtos.size(); i++) {
+            SaveUserDto newUserDto = newUserDtos.get(i);
+            if (newUserDto == null) {
+                results.add(new UserBatchItemResponseDto(i, null, List.of(NULL_USER)));
+                continue;
+            }
+            if (!validator.validate(newUserDto, errors)) {
+                results.add(new UserBatchItemResponseDto(i, null, List.copyOf(errors)));
+                errors.clear();
+                continue;
+            }
+            if (!batchEmails.add(newUserDto.email()) || isEmailTaken(newUserDto.email(), null)) {
+                results.add(new UserBatchItemResponseDto(i, null,
+                        List.of(DuplicateEmailException.FIELD_ERROR)));
+                continue;
+            }
+            chunk.add(mapper.toModel(newUserDto));
+            chunkIndexes.add(i);
+            if (chunk.size() == BATCH_SIZE) {
+                saveChunk(chunk, chunkIndexes, results);
+            }
+        }
+        saveChunk(chunk, chunkIndexes, results);
+        results.sort(Comparator.comparingInt(UserBatchItemResponseDto::index));
+        return results;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserResponseDto getUserById(Long id) {
+        // The result is cached, so it must not come from a replica that lags behind.
+        return userByIdCache.get(id, () ->
+                PrimaryReads.call(() -> userRepository.findUserDtoById(id)).orElseThrow(
+                        () -> new EntityNotFoundException("User not found with ID: " + id)));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserResponseDto getUserByEmail(String email) {
+        // Answered under the data version's ETag, which a lagging replica could outrun.
+        return PrimaryReads.call(() -> userRepository.findUserDtoByEmail(email))
+                .orElseThrow(() -> new EntityNotFoundException(
+                        "User not found with email: " + email));
     }
 
     @Override
     public List<UserResponseDto> getUsersByBirthDateRange(LocalDate from, LocalDate to) {
-        return userRepository.getUsersByBirthDateBetween(from, to).stream()
-                .map(mapper::toDto)
-                .toList();
+        if (birthDateIndex.isReady()) {
+            return birthDateIndex.findByBirthDateBetween(from, to);
+        }
+        return rangeCache.get(from, to, () -> rangeQueryCoalescer.execute(from, to,
+                () -> PrimaryReads.call(
+                        () -> userRepository.findUserDtosByBirthDateBetween(from, to))));
     }
 
     @Override
-    public UserResponseDto updateUser(Long id, SaveUserDto updateUserDto) {
-        if (!userRepository.existsById(id)) {
-            throw new EntityNotFoundException("User not found with ID: " + id);
+    @Transactional(readOnly = true)
+    public UserPageResponseDto getUsersByBirthDateRange(LocalDate from, LocalDate to,
+                                                        int limit, KeysetCursor after) {
+        Limit fetchLimit = Limit.of(limit + 1);
+        // Answered under the data version's ETag, which a lagging replica could outrun.
+        List<UserResponseDto> users = PrimaryReads.call(() -> after == null
+                ? userRepository.findFirstPageByBirthDateBetween(from, to, fetchLimit)
+                : userRepository.findNextPageByBirthDateBetween(from, to,
+                        after.birthDate(), after.id(), fetchLimit));
+        if (users.size() <= limit) {
+            return new UserPageResponseDto(users, null);
+        }
+        List<UserResponseDto> page = users.subList(0, limit);
+        return new UserPageResponseDto(page, KeysetCursor.of(page.get(limit - 1)).encode());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UserSearchResponseDto searchUsersByName(String query, int limit, int offset) {
+        if (!nameIndex.isReady()) {
+            throw new SearchUnavailableException(nameIndex.isEnabled()
+                    ? "Name search index is still loading" : "Name search is disabled");
+        }
+        UserNameIndex.SearchResult result = nameIndex.search(query, limit, offset);
+        List<UserResponseDto> users = new ArrayList<>(result.ids().size());
+        if (!result.ids().isEmpty()) {
+            Map<Long, UserResponseDto> usersById = new HashMap<>();
+            // Answered under the data version's ETag, which a lagging replica could outrun.
+            for (UserResponseDto user : PrimaryReads.call(
+                    () -> userRepository.findUserDtosByIdIn(result.ids()))) {
+                usersById.put(user.id(), user);
+            }
+            // A user deleted since the search is left out.
+            for (Long id : result.ids()) {
+                UserResponseDto user = usersById.get(id);
+                if (user != null) {
+                    users.add(user);
+                }
+            }
+        }
+        return new UserSearchResponseDto(users, result.matches(), result.partial());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamUsersByBirthDateRange(LocalDate from, LocalDate to,
+                                            Consumer<UserResponseDto> consumer) {
+        try (Stream<UserResponseDto> users = userRepository
+                .streamUserDtosByBirthDateBetween(from, to)) {
+            users.forEach(consumer);
         }
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void streamAllUsers(Consumer<UserResponseDto> consumer) {
+        try (Stream<UserResponseDto> users = userRepository.streamAllUserDtos()) {
+            users.forEach(consumer);
+        }
+    }
+
+    @Override
+    @Transactional
+    public UserResponseDto updateUser(Long id, SaveUserDto updateUserDto) {
+        checkEmailAvailable(updateUserDto.email(), id);
         User updatedUser = mapper.toModel(updateUserDto);
         updatedUser.setId(id);
-        return mapper.toDto(userRepository.save(updatedUser));
+        LocalDate previousBirthDate = previousBirthDate(id);
+        long version = userRepository.updateUser(updatedUser).orElseThrow(
+                () -> new EntityNotFoundException("User not found with ID: " + id));
+        UserResponseDto updatedUserDto = mapper.toDto(updatedUser);
+        eventPublisher.publishEvent(new UserChangeEvent(ChangeType.UPDATED, id, version,
+                updatedUserDto, previousBirthDate));
+        return updatedUserDto;
     }
 
     @Override
+    @Transactional
     public UserResponseDto updatePartialUser(Long id,
                                              UserUpdatePartialDto userUpdatePartialDto) {
+        if (userUpdatePartialDto.email() != null && userUpdatePartialDto.email().isPresent()) {
+            checkEmailAvailable(userUpdatePartialDto.email().get(), id);
+        }
+        LocalDate previousBirthDate = previousBirthDate(id);
+        if (userRepository.updatePartialUserById(id, userUpdatePartialDto) == 0) {
+            throw new EntityNotFoundException("User not found with ID: " + id);
+        }
         User user = userRepository.findById(id).orElseThrow(
                 () -> new EntityNotFoundException("User not found with ID: " + id)
         );
-        userUpdatePartialDto.email().ifPresent(user::setEmail);
-        userUpdatePartialDto.firstName().ifPresent(user::setFirstName);
-        userUpdatePartialDto.lastName().ifPresent(user::setLastName);
-        userUpdatePartialDto.birthDate().ifPresent(user::setBirthDate);
-        userUpdatePartialDto.address().ifPresent(user::setAddress);
-        userUpdatePartialDto.phoneNumber().ifPresent(user::setPhoneNumber);
-
-        return mapper.toDto(userRepository.save(user));
+        UserResponseDto userDto = mapper.toDto(user);
+        eventPublisher.publishEvent(new UserChangeEvent(ChangeType.PATCHED, id,
+                user.getVersion(), userDto, previousBirthDate));
+        return userDto;
     }
 
     @Override
+    @Transactional
     public void deleteUser(Long id) {
-        if (!userRepository.existsById(id)) {
-            throw new EntityNotFoundException("User with id " + id + " not found.");
+        LocalDate previousBirthDate = previousBirthDate(id);
+        // The delete takes the next version, so that no earlier write can overtake it.
+        long version = userRepository.deleteUserById(id).orElseThrow(
+                () -> new EntityNotFoundException("User with id " + id + " not found.")) + 1;
+        eventPublisher.publishEvent(new UserChangeEvent(ChangeType.DELETED, id, version, null,
+                previousBirthDate));
+    }
+
+    private void checkEmailAvailable(String email, Long ownerId) {
+        if (isEmailTaken(email, ownerId)) {
+            // An update of an unknown id is reported as such rather than as a conflict.
+            if (ownerId != null && !userRepository.existsById(ownerId)) {
+                throw new EntityNotFoundException("User not found with ID: " + ownerId);
+            }
+            throw new DuplicateEmailException();
+        }
+    }
+
+    /** Whether a user other than {@code ownerId}, if given, already has {@code email}. */
+    private boolean isEmailTaken(String email, Long ownerId) {
+        return emailFilter.isTaken(email, ownerId == null
+                ? () -> userRepository.existsByEmail(email)
+                : () -> userRepository.existsByEmailAndIdNot(email, ownerId));
+    }
+
+    /** Only the range cache needs the old birth date, so the lookup is skipped without it. */
+    private LocalDate previousBirthDate(Long id) {
+        return rangeCache.isEnabled() ? userRepository.findBirthDateById(id).orElse(null) : null;
+    }
+
+    private void saveChunk(List<User> chunk, List<Integer> chunkIndexes,
+                           List<UserBatchItemResponseDto> results) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<User> savedUsers = userRepository.saveAll(chunk);
+        for (int i = 0; i < savedUsers.size(); i++) {
+            User savedUser = savedUsers.get(i);
+            UserResponseDto savedUserDto = mapper.toDto(savedUser);
+            results.add(new UserBatchItemResponseDto(chunkIndexes.get(i), savedUserDto,
+                    List.of()));
+            eventPublisher.publishEvent(new UserChangeEvent(ChangeType.CREATED,
+                    savedUser.getId(), savedUser.getVersion(), savedUserDto));
         }
-        userRepository.deleteById(id);
+        entityManager.flush();
+        entityManager.clear();
+        chunk.clear();
+        chunkIndexes.clear();
     }
 }
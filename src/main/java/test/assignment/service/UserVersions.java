@@ -0,0 +1,25 @@
+package test.assignment.service;
+
+import java.util.HashMap;
+import java.util.Map;
+import test.assignment.event.UserChangeEvent;
+
+/**
+ * The newest {@link UserChangeEvent#version()} a view has applied per user. Deleted users are
+ * kept too, so that an update overtaken by the delete cannot bring one back; ids are never
+ * reused, so this costs one entry per user written since startup. Not thread safe: the views
+ * call it under their write lock.
+ */
+final class UserVersions {
+    private final Map<Long, Long> versions = new HashMap<>();
+
+    /** Records {@code event} and tells whether it is newer than what was applied before. */
+    boolean advance(UserChangeEvent event) {
+        Long applied = versions.get(event.id());
+        if (applied != null && applied >= event.version()) {
+            return false;
+        }
+        versions.put(event.id(), event.version());
+        return true;
+    }
+}
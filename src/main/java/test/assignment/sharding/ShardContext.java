@@ -0,0 +1,25 @@
+package test.assignment.sharding;
+
+/**
+ * The shard that database work on the current thread is routed to. It is set by
+ * {@link ShardedUserRepositoryAspect} and read by {@link ShardRoutingDataSource} when a
+ * connection is fetched and by {@link ShardedIdOptimizer} when ids are allocated.
+ */
+public final class ShardContext {
+    private static final ThreadLocal<Integer> CURRENT = new ThreadLocal<>();
+
+    private ShardContext() {
+    }
+
+    public static Integer current() {
+        return CURRENT.get();
+    }
+
+    static void set(int shard) {
+        CURRENT.set(shard);
+    }
+
+    static void clear() {
+        CURRENT.remove();
+    }
+}
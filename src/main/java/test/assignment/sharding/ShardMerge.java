@@ -0,0 +1,66 @@
+package test.assignment.sharding;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+
+/** K-way merge of per-shard results that are each already sorted by the same order. */
+final class ShardMerge {
+
+    private ShardMerge() {
+    }
+
+    static <T> List<T> merge(List<List<T>> shardResults, Comparator<? super T> order,
+                             int limit) {
+        int total = shardResults.stream().mapToInt(List::size).sum();
+        List<T> merged = new ArrayList<>(Math.min(total, limit));
+        Iterator<T> iterator = merge(shardResults.stream().map(List::iterator).toList(), order);
+        while (merged.size() < limit && iterator.hasNext()) {
+            merged.add(iterator.next());
+        }
+        return merged;
+    }
+
+    static <T> Iterator<T> merge(List<? extends Iterator<T>> shardIterators,
+                                 Comparator<? super T> order) {
+        return new MergingIterator<>(shardIterators, order);
+    }
+
+    private static final class MergingIterator<T> implements Iterator<T> {
+        private final PriorityQueue<Head<T>> heads;
+
+        private MergingIterator(List<? extends Iterator<T>> iterators,
+                                Comparator<? super T> order) {
+            heads = new PriorityQueue<>(Math.max(1, iterators.size()),
+                    (left, right) -> order.compare(left.value, right.value));
+            iterators.forEach(this::advance);
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !heads.isEmpty();
+        }
+
+        @Override
+        public T next() {
+            Head<T> head = heads.poll();
+            if (head == null) {
+                throw new NoSuchElementException();
+            }
+            advance(head.iterator);
+            return head.value;
+        }
+
+        private void advance(Iterator<T> iterator) {
+            if (iterator.hasNext()) {
+                heads.add(new Head<>(iterator.next(), iterator));
+            }
+        }
+    }
+
+    private record Head<T>(T value, Iterator<T> iterator) {
+    }
+}
@@ -0,0 +1,56 @@
+package test.assignment.sharding;
+
+import java.io.Serializable;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.hibernate.id.enhanced.Optimizer;
+import org.hibernate.id.enhanced.PooledLoOptimizer;
+
+/**
+ * Pooled-lo id allocation with a separate block per shard. Hibernate keeps one optimizer
+ * per generator for the whole persistence unit, so the plain pooled optimizer would hand
+ * out ids fetched from one shard's sequence for rows stored in another. Each shard's
+ * sequence starts at {@code shard * blockSize + 1} and steps by {@code shards * blockSize},
+ * which makes the shard of any id {@code ((id - 1) / blockSize) % shards}.
+ */
+public class ShardedIdOptimizer implements Optimizer {
+    private final Class<?> returnClass;
+    private final int incrementSize;
+    private final Map<Integer, PooledLoOptimizer> shards = new ConcurrentHashMap<>();
+
+    public ShardedIdOptimizer(Class<?> returnClass, int incrementSize) {
+        this.returnClass = returnClass;
+        this.incrementSize = incrementSize;
+    }
+
+    @Override
+    public Serializable generate(AccessCallback callback) {
+        return shardOptimizer().generate(callback);
+    }
+
+    @Override
+    public IntegralDataTypeHolder getLastSourceValue() {
+        return shardOptimizer().getLastSourceValue();
+    }
+
+    @Override
+    public int getIncrementSize() {
+        return incrementSize;
+    }
+
+    @Override
+    public boolean applyIncrementSizeToSourceValues() {
+        return true;
+    }
+
+    private PooledLoOptimizer shardOptimizer() {
+        Integer shard = ShardContext.current();
+        if (shard == null) {
+            throw new IllegalStateException("No shard selected for id generation");
+        }
+        return shards.computeIfAbsent(shard,
+                key -> new PooledLoOptimizer(returnClass, incrementSize));
+    }
+}
@@ -0,0 +1,332 @@
+package test.assignment.sharding;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import test.assignment.model.User;
+import test.assignment.model.dto.response.UserResponseDto;
+
+/**
+ * Routes every {@code UserRepository} call to a shard. Calls by id go to the shard that owns
+ * the id, new users go to the shard already used by the current transaction or else to the
+ * next shard in turn, and range queries, lookups of several ids and streams run on all
+ * shards in parallel and are merged in their query order. A transaction stays on the shard
+ * of its first call; touching another shard in it is rejected, since there is no
+ * cross-shard atomicity. Lookups by email ask every shard, even from inside such a
+ * transaction, and do not see its uncommitted writes. Each shard has its own unique email
+ * index, so two users created at the same time on different shards can still share an
+ * email.
+ */
+@Aspect
+public class ShardedUserRepositoryAspect {
+    private static final Set<String> BY_ID = Set.of("findUserDtoById", "findBirthDateById",
+            "findById", "existsById", "deleteById", "deleteUserById", "updatePartialUserById");
+    private static final Set<String> SAVES = Set.of("save", "saveAndFlush", "saveAll",
+            "saveAllAndFlush");
+    private static final Set<String> SCATTER_LISTS = Set.of("findUserDtosByBirthDateBetween",
+            "findFirstPageByBirthDateBetween", "findNextPageByBirthDateBetween",
+            "findUserDtosByIdIn");
+    private static final Set<String> BY_EMAIL = Set.of("findUserDtoByEmail", "existsByEmail",
+            "existsByEmailAndIdNot");
+    private static final Set<String> STREAMS = Set.of("streamUserDtosByBirthDateBetween",
+            "streamAllUserDtos");
+    private static final Comparator<UserResponseDto> BY_BIRTH_DATE =
+            Comparator.comparing(UserResponseDto::birthDate).thenComparing(UserResponseDto::id);
+    private static final Comparator<UserResponseDto> BY_ID_ORDER =
+            Comparator.comparing(UserResponseDto::id);
+    private static final int STREAM_BUFFER_SIZE = 256;
+    private static final Object END_OF_SHARD = new Object();
+
+    private final int shardCount;
+    private final int idBlockSize;
+    private final ExecutorService executor;
+    private final ExecutorService streamExecutor;
+    private final Duration streamStallTimeout;
+    private final ObjectProvider<PlatformTransactionManager> transactionManager;
+    private final AtomicInteger nextShard = new AtomicInteger();
+
+    /**
+     * Streams are filled on {@code streamExecutor}, since their workers live as long as the
+     * client reads; a worker whose buffer has not been read for {@code streamStallTimeout}
+     * gives up and fails the stream. The transaction manager is looked up on first use,
+     * because it depends on the data source and entity manager factory, which must not be
+     * created while aspects are collected.
+     */
+    public ShardedUserRepositoryAspect(int shardCount, int idBlockSize, ExecutorService executor,
+                                       ExecutorService streamExecutor,
+                                       Duration streamStallTimeout,
+                                       ObjectProvider<PlatformTransactionManager>
+                                               transactionManager) {
+        this.shardCount = shardCount;
+        this.idBlockSize = idBlockSize;
+        this.executor = executor;
+        this.streamExecutor = streamExecutor;
+        this.streamStallTimeout = streamStallTimeout;
+        this.transactionManager = transactionManager;
+    }
+
+    public int shardOf(long id) {
+        return (int) Math.floorMod(Math.floorDiv(id - 1, (long) idBlockSize), shardCount);
+    }
+
+    @Around("execution(* test.assignment.repository.UserRepository.*(..))")
+    public Object route(ProceedingJoinPoint joinPoint) throws Throwable {
+        String method = joinPoint.getSignature().getName();
+        Object[] args = joinPoint.getArgs();
+        if (BY_ID.contains(method)) {
+            return onShard(shardOf((Long) args[0]), joinPoint);
+        }
+        if (method.equals("updateUser")) {
+            return onShard(shardOf(((User) args[0]).getId()), joinPoint);
+        }
+        if (BY_EMAIL.contains(method)) {
+            return scatterAny(joinPoint);
+        }
+        if (SAVES.contains(method)) {
+            Integer current = ShardContext.current();
+            return onShard(current != null ? current : nextShard(), joinPoint);
+        }
+        if (method.equals("flush")) {
+            return joinPoint.proceed();
+        }
+        if (ShardContext.current() != null && (SCATTER_LISTS.contains(method)
+                || STREAMS.contains(method))) {
+            // A fan-out worker that has already picked its shard.
+            return joinPoint.proceed();
+        }
+        if (SCATTER_LISTS.contains(method)) {
+            Limit limit = args[args.length - 1] instanceof Limit l ? l : Limit.unlimited();
+            return scatterList(joinPoint, limit.isLimited() ? limit.max() : Integer.MAX_VALUE);
+        }
+        if (STREAMS.contains(method)) {
+            return scatterStream(joinPoint,
+                    method.equals("streamAllUserDtos") ? BY_ID_ORDER : BY_BIRTH_DATE);
+        }
+        throw new UnsupportedOperationException(
+                "UserRepository." + method + " is not supported with sharding");
+    }
+
+    private int nextShard() {
+        return Math.floorMod(nextShard.getAndIncrement(), shardCount);
+    }
+
+    private Object onShard(int shard, ProceedingJoinPoint joinPoint) throws Throwable {
+        Integer current = ShardContext.current();
+        if (current != null) {
+            if (current != shard) {
+                throw new IllegalStateException("Transaction on shard " + current
+                        + " cannot also use shard " + shard);
+            }
+            return joinPoint.proceed();
+        }
+        ShardContext.set(shard);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(
+                    new TransactionSynchronization() {
+                        @Override
+                        public void afterCompletion(int status) {
+                            ShardContext.clear();
+                        }
+                    });
+            return joinPoint.proceed();
+        }
+        try {
+            return joinPoint.proceed();
+        } finally {
+            ShardContext.clear();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<UserResponseDto> scatterList(ProceedingJoinPoint joinPoint, int limit)
+            throws Throwable {
+        List<Future<List<UserResponseDto>>> futures = new ArrayList<>(shardCount - 1);
+        for (int shard = 1; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(executor.submit(
+                    () -> (List<UserResponseDto>) unchecked(() -> onShard(target, joinPoint))));
+        }
+        List<List<UserResponseDto>> results = new ArrayList<>(shardCount);
+        try {
+            // The caller queries the first shard itself instead of waiting idle.
+            results.add((List<UserResponseDto>) onShard(0, joinPoint));
+            for (Future<List<UserResponseDto>> future : futures) {
+                results.add(future.get());
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+        return ShardMerge.merge(results, BY_BIRTH_DATE, limit);
+    }
+
+    /**
+     * Runs the lookup on every shard on the workers, so that the caller's transaction stays
+     * on its own shard, and returns the first {@code true} or non-empty result.
+     */
+    private Object scatterAny(ProceedingJoinPoint joinPoint) throws Throwable {
+        List<Future<Object>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(executor.submit(() -> unchecked(() -> onShard(target, joinPoint))));
+        }
+        try {
+            Object result = null;
+            for (Future<Object> future : futures) {
+                result = future.get();
+                if (Boolean.TRUE.equals(result)
+                        || result instanceof Optional<?> optional && optional.isPresent()) {
+                    return result;
+                }
+            }
+            return result;
+        } catch (ExecutionException e) {
+            throw e.getCause();
+        } finally {
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    /**
+     * Streams every shard on its own worker and read-only transaction into a bounded buffer,
+     * so memory stays flat however large the result. Closing the stream stops the workers.
+     */
+    private Stream<UserResponseDto> scatterStream(ProceedingJoinPoint joinPoint,
+                                                  Comparator<UserResponseDto> order) {
+        List<ShardBuffer> buffers = new ArrayList<>(shardCount);
+        List<Future<?>> futures = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            ShardBuffer buffer = new ShardBuffer(streamStallTimeout);
+            buffers.add(buffer);
+            int target = shard;
+            futures.add(streamExecutor.submit(() -> fill(target, joinPoint, buffer)));
+        }
+        Iterator<UserResponseDto> merged = ShardMerge.merge(buffers, order);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(merged,
+                        Spliterator.ORDERED | Spliterator.NONNULL), false)
+                .onClose(() -> futures.forEach(future -> future.cancel(true)));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void fill(int shard, ProceedingJoinPoint joinPoint, ShardBuffer buffer) {
+        try {
+            ShardContext.set(shard);
+            TransactionTemplate readOnlyTransaction =
+                    new TransactionTemplate(transactionManager.getObject());
+            readOnlyTransaction.setReadOnly(true);
+            readOnlyTransaction.executeWithoutResult(status -> {
+                try (Stream<UserResponseDto> users =
+                             (Stream<UserResponseDto>) unchecked(joinPoint::proceed)) {
+                    users.forEach(buffer::put);
+                }
+            });
+            buffer.put(END_OF_SHARD);
+        } catch (RuntimeException e) {
+            if (!Thread.currentThread().isInterrupted()) {
+                buffer.fail(e);
+            }
+        } finally {
+            ShardContext.clear();
+        }
+    }
+
+    private static Object unchecked(Call call) {
+        try {
+            return call.run();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        Object run() throws Throwable;
+    }
+
+    /** Hand-off between one shard worker and the merging consumer. */
+    private static final class ShardBuffer implements Iterator<UserResponseDto> {
+        private final BlockingQueue<Object> queue = new ArrayBlockingQueue<>(STREAM_BUFFER_SIZE);
+        private final Duration stallTimeout;
+        private Object next;
+
+        private ShardBuffer(Duration stallTimeout) {
+            this.stallTimeout = stallTimeout;
+        }
+
+        private void put(Object element) {
+            boolean accepted;
+            try {
+                accepted = queue.offer(element, stallTimeout.toNanos(), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Shard stream cancelled", e);
+            }
+            if (!accepted) {
+                throw new IllegalStateException("Shard stream not read for " + stallTimeout);
+            }
+        }
+
+        /**
+         * Replaces whatever the consumer has not read yet with {@code failure}, which always
+         * fits then, so that a stalled consumer still sees it once it reads on.
+         */
+        private void fail(RuntimeException failure) {
+            queue.clear();
+            queue.offer(failure);
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (next == null) {
+                try {
+                    next = queue.take();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("Interrupted while reading a shard", e);
+                }
+            }
+            if (next instanceof RuntimeException e) {
+                throw e;
+            }
+            return next != END_OF_SHARD;
+        }
+
+        @Override
+        public UserResponseDto next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            UserResponseDto user = (UserResponseDto) next;
+            next = null;
+            return user;
+        }
+    }
+}
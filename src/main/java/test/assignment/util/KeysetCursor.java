@@ -0,0 +1,42 @@
+package test.assignment.util;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import test.assignment.exception.InvalidCursorException;
+import test.assignment.model.dto.response.UserResponseDto;
+
+/**
+ * Position of the last row of a page in the {@code (birthDate, id)} ordering.
+ * Clients receive it as an opaque URL-safe token and pass it back as {@code after}.
+ */
+public record KeysetCursor(LocalDate birthDate, Long id) {
+    private static final String SEPARATOR = ":";
+
+    public static KeysetCursor of(UserResponseDto user) {
+        return new KeysetCursor(user.birthDate(), user.id());
+    }
+
+    public static KeysetCursor decode(String token) {
+        if (token == null || token.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token),
+                    StandardCharsets.UTF_8);
+            int separatorIndex = raw.indexOf(SEPARATOR);
+            return new KeysetCursor(LocalDate.parse(raw.substring(0, separatorIndex)),
+                    Long.valueOf(raw.substring(separatorIndex + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException
+                 | DateTimeParseException e) {
+            throw new InvalidCursorException("Invalid page cursor: " + token);
+        }
+    }
+
+    public String encode() {
+        String raw = birthDate + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,58 @@
+package test.assignment.util.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.http.HttpStatus;
+import test.assignment.model.dto.response.ErrorResponseDto;
+
+public final class ErrorResponseDtoJson {
+    private static final SerializedString TIMESTAMP = new SerializedString("timestamp");
+    private static final SerializedString STATUS = new SerializedString("status");
+    private static final SerializedString ERROR_MESSAGE = new SerializedString("error message");
+    private static final SerializedString ERRORS = new SerializedString("errors");
+    private static final Map<HttpStatus, SerializedString> STATUS_NAMES =
+            new EnumMap<>(HttpStatus.class);
+
+    static {
+        for (HttpStatus status : HttpStatus.values()) {
+            STATUS_NAMES.put(status, new SerializedString(status.name()));
+        }
+    }
+
+    private ErrorResponseDtoJson() {
+    }
+
+    public static class Serializer extends StdSerializer<ErrorResponseDto> {
+        public Serializer() {
+            super(ErrorResponseDto.class);
+        }
+
+        @Override
+        public void serialize(ErrorResponseDto error, JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            gen.writeStartObject(error);
+            gen.writeFieldName(TIMESTAMP);
+            provider.findValueSerializer(LocalDateTime.class)
+                    .serialize(error.timestamp(), gen, provider);
+            gen.writeFieldName(STATUS);
+            gen.writeString(STATUS_NAMES.get(error.status()));
+            if (error.errors() == null) {
+                JsonFields.writeString(gen, ERROR_MESSAGE, error.errorMessage());
+            } else {
+                gen.writeFieldName(ERRORS);
+                gen.writeStartArray(error.errors(), error.errors().size());
+                for (String message : error.errors()) {
+                    gen.writeString(message);
+                }
+                gen.writeEndArray();
+            }
+            gen.writeEndObject();
+        }
+    }
+}
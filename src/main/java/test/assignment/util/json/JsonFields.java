@@ -0,0 +1,151 @@
+package test.assignment.util.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.Year;
+import java.util.Optional;
+
+/**
+ * Field readers and writers shared by the user DTO codecs. The common token of each field
+ * is handled inline; anything else is delegated to the context, so coercion rules and
+ * error messages stay those of the default deserializers.
+ */
+final class JsonFields {
+    private static final int ISO_DATE_LENGTH = 10;
+    private static final int MAX_FOUR_DIGIT_YEAR = 9999;
+
+    private JsonFields() {
+    }
+
+    static String readString(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return p.getText();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return ctxt.readValue(p, String.class);
+    }
+
+    static Long readLong(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT) {
+            return p.getLongValue();
+        }
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return ctxt.readValue(p, Long.class);
+    }
+
+    static LocalDate readDate(JsonParser p, DeserializationContext ctxt) throws IOException {
+        JsonToken token = p.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (token == JsonToken.VALUE_STRING) {
+            LocalDate date = parseIsoDate(p.getTextCharacters(), p.getTextOffset(),
+                    p.getTextLength());
+            if (date != null) {
+                return date;
+            }
+        }
+        return ctxt.readValue(p, LocalDate.class);
+    }
+
+    static Optional<String> readOptionalString(JsonParser p, DeserializationContext ctxt)
+            throws IOException {
+        return Optional.ofNullable(readString(p, ctxt));
+    }
+
+    static Optional<LocalDate> readOptionalDate(JsonParser p, DeserializationContext ctxt)
+            throws IOException {
+        return Optional.ofNullable(readDate(p, ctxt));
+    }
+
+    static void writeString(JsonGenerator gen, SerializableString name, String value)
+            throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeString(value);
+        }
+    }
+
+    static void writeDate(JsonGenerator gen, SerializableString name, LocalDate value,
+                          SerializerProvider provider) throws IOException {
+        gen.writeFieldName(name);
+        if (value == null) {
+            gen.writeNull();
+            return;
+        }
+        int year = value.getYear();
+        if (year < 0 || year > MAX_FOUR_DIGIT_YEAR
+                || provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)) {
+            provider.findValueSerializer(LocalDate.class).serialize(value, gen, provider);
+            return;
+        }
+        char[] chars = new char[ISO_DATE_LENGTH];
+        writeDigits(chars, 0, year, 4);
+        chars[4] = '-';
+        writeDigits(chars, 5, value.getMonthValue(), 2);
+        chars[7] = '-';
+        writeDigits(chars, 8, value.getDayOfMonth(), 2);
+        gen.writeString(chars, 0, ISO_DATE_LENGTH);
+    }
+
+    static void writeOptionalString(JsonGenerator gen, SerializableString name,
+                                    Optional<String> value) throws IOException {
+        writeString(gen, name, value == null ? null : value.orElse(null));
+    }
+
+    static void writeOptionalDate(JsonGenerator gen, SerializableString name,
+                                  Optional<LocalDate> value, SerializerProvider provider)
+            throws IOException {
+        writeDate(gen, name, value == null ? null : value.orElse(null), provider);
+    }
+
+    /** Parses exactly {@code yyyy-MM-dd}; returns {@code null} for any other shape. */
+    private static LocalDate parseIsoDate(char[] chars, int offset, int length) {
+        if (length != ISO_DATE_LENGTH || chars[offset + 4] != '-' || chars[offset + 7] != '-') {
+            return null;
+        }
+        int year = readDigits(chars, offset, 4);
+        int month = readDigits(chars, offset + 5, 2);
+        int day = readDigits(chars, offset + 8, 2);
+        if (year < 0 || month < 1 || month > 12 || day < 1
+                || day > Month.of(month).length(Year.isLeap(year))) {
+            return null;
+        }
+        return LocalDate.of(year, month, day);
+    }
+
+    private static int readDigits(char[] chars, int offset, int count) {
+        int value = 0;
+        for (int i = offset; i < offset + count; i++) {
+            char c = chars[i];
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private static void writeDigits(char[] chars, int offset, int value, int count) {
+        for (int i = offset + count - 1; i >= offset; i--) {
+            chars[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package test.assignment.util.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.time.LocalDate;
+import test.assignment.model.dto.request.SaveUserDto;
+
+public final class SaveUserDtoJson {
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString BIRTH_DATE = new SerializedString("birthDate");
+    private static final SerializedString ADDRESS = new SerializedString("address");
+    private static final SerializedString PHONE_NUMBER = new SerializedString("phoneNumber");
+
+    private SaveUserDtoJson() {
+    }
+
+    public static class Serializer extends StdSerializer<SaveUserDto> {
+        public Serializer() {
+            super(SaveUserDto.class);
+        }
+
+        @Override
+        public void serialize(SaveUserDto user, JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            gen.writeStartObject(user);
+            JsonFields.writeString(gen, EMAIL, user.email());
+            JsonFields.writeString(gen, FIRST_NAME, user.firstName());
+            JsonFields.writeString(gen, LAST_NAME, user.lastName());
+            JsonFields.writeDate(gen, BIRTH_DATE, user.birthDate(), provider);
+            JsonFields.writeString(gen, ADDRESS, user.address());
+            JsonFields.writeString(gen, PHONE_NUMBER, user.phoneNumber());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class Deserializer extends StdDeserializer<SaveUserDto> {
+        public Deserializer() {
+            super(SaveUserDto.class);
+        }
+
+        @Override
+        public SaveUserDto deserialize(JsonParser p, DeserializationContext ctxt)
+                throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            } else if (token != JsonToken.FIELD_NAME) {
+                return (SaveUserDto) ctxt.handleUnexpectedToken(handledType(), p);
+            }
+            String email = null;
+            String firstName = null;
+            String lastName = null;
+            LocalDate birthDate = null;
+            String address = null;
+            String phoneNumber = null;
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String name = p.currentName();
+                p.nextToken();
+                switch (name) {
+                    case "email" -> email = JsonFields.readString(p, ctxt);
+                    case "firstName" -> firstName = JsonFields.readString(p, ctxt);
+                    case "lastName" -> lastName = JsonFields.readString(p, ctxt);
+                    case "birthDate" -> birthDate = JsonFields.readDate(p, ctxt);
+                    case "address" -> address = JsonFields.readString(p, ctxt);
+                    case "phoneNumber" -> phoneNumber = JsonFields.readString(p, ctxt);
+                    default -> handleUnknownProperty(p, ctxt, handledType(), name);
+                }
+            }
+            return new SaveUserDto(email, firstName, lastName, birthDate, address,
+                    phoneNumber);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package test.assignment.util.json;
+
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.springframework.stereotype.Component;
+import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.request.UserUpdatePartialDto;
+import test.assignment.model.dto.response.ErrorResponseDto;
+import test.assignment.model.dto.response.UserResponseDto;
+
+/**
+ * Hand-written codecs for the user DTOs and the error body. They replace the reflective
+ * record handling and write field names from pre-encoded {@code SerializedString}s. Output
+ * and accepted input match the defaults of the Spring Boot {@code ObjectMapper}.
+ */
+@Component
+public class UserJsonModule extends SimpleModule {
+    public UserJsonModule() {
+        super(UserJsonModule.class.getSimpleName());
+        addSerializer(UserResponseDto.class, new UserResponseDtoJson.Serializer());
+        addDeserializer(UserResponseDto.class, new UserResponseDtoJson.Deserializer());
+        addSerializer(SaveUserDto.class, new SaveUserDtoJson.Serializer());
+        addDeserializer(SaveUserDto.class, new SaveUserDtoJson.Deserializer());
+        addSerializer(UserUpdatePartialDto.class, new UserUpdatePartialDtoJson.Serializer());
+        addDeserializer(UserUpdatePartialDto.class,
+                new UserUpdatePartialDtoJson.Deserializer());
+        addSerializer(ErrorResponseDto.class, new ErrorResponseDtoJson.Serializer());
+    }
+}
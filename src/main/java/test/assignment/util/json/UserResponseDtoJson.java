@@ -0,0 +1,91 @@
+package test.assignment.util.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.time.LocalDate;
+import test.assignment.model.dto.response.UserResponseDto;
+
+public final class UserResponseDtoJson {
+    private static final SerializedString ID = new SerializedString("id");
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString BIRTH_DATE = new SerializedString("birthDate");
+    private static final SerializedString ADDRESS = new SerializedString("address");
+    private static final SerializedString PHONE_NUMBER = new SerializedString("phoneNumber");
+
+    private UserResponseDtoJson() {
+    }
+
+    public static class Serializer extends StdSerializer<UserResponseDto> {
+        public Serializer() {
+            super(UserResponseDto.class);
+        }
+
+        @Override
+        public void serialize(UserResponseDto user, JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            gen.writeStartObject(user);
+            gen.writeFieldName(ID);
+            if (user.id() == null) {
+                gen.writeNull();
+            } else {
+                gen.writeNumber(user.id());
+            }
+            JsonFields.writeString(gen, EMAIL, user.email());
+            JsonFields.writeString(gen, FIRST_NAME, user.firstName());
+            JsonFields.writeString(gen, LAST_NAME, user.lastName());
+            JsonFields.writeDate(gen, BIRTH_DATE, user.birthDate(), provider);
+            JsonFields.writeString(gen, ADDRESS, user.address());
+            JsonFields.writeString(gen, PHONE_NUMBER, user.phoneNumber());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class Deserializer extends StdDeserializer<UserResponseDto> {
+        public Deserializer() {
+            super(UserResponseDto.class);
+        }
+
+        @Override
+        public UserResponseDto deserialize(JsonParser p, DeserializationContext ctxt)
+                throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            } else if (token != JsonToken.FIELD_NAME) {
+                return (UserResponseDto) ctxt.handleUnexpectedToken(handledType(), p);
+            }
+            Long id = null;
+            String email = null;
+            String firstName = null;
+            String lastName = null;
+            LocalDate birthDate = null;
+            String address = null;
+            String phoneNumber = null;
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String name = p.currentName();
+                p.nextToken();
+                switch (name) {
+                    case "id" -> id = JsonFields.readLong(p, ctxt);
+                    case "email" -> email = JsonFields.readString(p, ctxt);
+                    case "firstName" -> firstName = JsonFields.readString(p, ctxt);
+                    case "lastName" -> lastName = JsonFields.readString(p, ctxt);
+                    case "birthDate" -> birthDate = JsonFields.readDate(p, ctxt);
+                    case "address" -> address = JsonFields.readString(p, ctxt);
+                    case "phoneNumber" -> phoneNumber = JsonFields.readString(p, ctxt);
+                    default -> handleUnknownProperty(p, ctxt, handledType(), name);
+                }
+            }
+            return new UserResponseDto(id, email, firstName, lastName, birthDate, address,
+                    phoneNumber);
+        }
+    }
+}
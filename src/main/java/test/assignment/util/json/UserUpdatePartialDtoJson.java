@@ -0,0 +1,83 @@
+package test.assignment.util.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Optional;
+import test.assignment.model.dto.request.UserUpdatePartialDto;
+
+public final class UserUpdatePartialDtoJson {
+    private static final SerializedString EMAIL = new SerializedString("email");
+    private static final SerializedString FIRST_NAME = new SerializedString("firstName");
+    private static final SerializedString LAST_NAME = new SerializedString("lastName");
+    private static final SerializedString BIRTH_DATE = new SerializedString("birthDate");
+    private static final SerializedString ADDRESS = new SerializedString("address");
+    private static final SerializedString PHONE_NUMBER = new SerializedString("phoneNumber");
+
+    private UserUpdatePartialDtoJson() {
+    }
+
+    public static class Serializer extends StdSerializer<UserUpdatePartialDto> {
+        public Serializer() {
+            super(UserUpdatePartialDto.class);
+        }
+
+        @Override
+        public void serialize(UserUpdatePartialDto user, JsonGenerator gen,
+                              SerializerProvider provider) throws IOException {
+            gen.writeStartObject(user);
+            JsonFields.writeOptionalString(gen, EMAIL, user.email());
+            JsonFields.writeOptionalString(gen, FIRST_NAME, user.firstName());
+            JsonFields.writeOptionalString(gen, LAST_NAME, user.lastName());
+            JsonFields.writeOptionalDate(gen, BIRTH_DATE, user.birthDate(), provider);
+            JsonFields.writeOptionalString(gen, ADDRESS, user.address());
+            JsonFields.writeOptionalString(gen, PHONE_NUMBER, user.phoneNumber());
+            gen.writeEndObject();
+        }
+    }
+
+    public static class Deserializer extends StdDeserializer<UserUpdatePartialDto> {
+        public Deserializer() {
+            super(UserUpdatePartialDto.class);
+        }
+
+        @Override
+        public UserUpdatePartialDto deserialize(JsonParser p, DeserializationContext ctxt)
+                throws IOException {
+            JsonToken token = p.currentToken();
+            if (token == JsonToken.START_OBJECT) {
+                token = p.nextToken();
+            } else if (token != JsonToken.FIELD_NAME) {
+                return (UserUpdatePartialDto) ctxt.handleUnexpectedToken(handledType(), p);
+            }
+            Optional<String> email = Optional.empty();
+            Optional<String> firstName = Optional.empty();
+            Optional<String> lastName = Optional.empty();
+            Optional<LocalDate> birthDate = Optional.empty();
+            Optional<String> address = Optional.empty();
+            Optional<String> phoneNumber = Optional.empty();
+            for (; token == JsonToken.FIELD_NAME; token = p.nextToken()) {
+                String name = p.currentName();
+                p.nextToken();
+                switch (name) {
+                    case "email" -> email = JsonFields.readOptionalString(p, ctxt);
+                    case "firstName" -> firstName = JsonFields.readOptionalString(p, ctxt);
+                    case "lastName" -> lastName = JsonFields.readOptionalString(p, ctxt);
+                    case "birthDate" -> birthDate = JsonFields.readOptionalDate(p, ctxt);
+                    case "address" -> address = JsonFields.readOptionalString(p, ctxt);
+                    case "phoneNumber" -> phoneNumber = JsonFields.readOptionalString(p, ctxt);
+                    default -> handleUnknownProperty(p, ctxt, handledType(), name);
+                }
+            }
+            return new UserUpdatePartialDto(email, firstName, lastName, birthDate, address,
+                    phoneNumber);
+        }
+    }
+}
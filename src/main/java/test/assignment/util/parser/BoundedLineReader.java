@@ -0,0 +1,86 @@
+package test.assignment.util.parser;
+
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Splits text into lines like {@link java.io.BufferedReader#readLine()}, at {@code \n},
+ * {@code \r} or {@code \r\n}, but keeps at most {@code maxLength} characters of a line. The
+ * rest of a longer line is skipped, so a single huge line cannot fill the heap, and
+ * {@link #isTruncated()} reports it. {@link #terminator()} tells how the line ended, for
+ * callers that join lines back into one record.
+ */
+public class BoundedLineReader {
+    private static final int BUFFER_SIZE = 8192;
+
+    private final Reader reader;
+    private final int maxLength;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private final StringBuilder line = new StringBuilder();
+    private int position;
+    private int limit;
+    private String terminator = "";
+    private boolean truncated;
+
+    public BoundedLineReader(Reader reader, int maxLength) {
+        this.reader = reader;
+        this.maxLength = maxLength;
+    }
+
+    /** The next line without its terminator, or {@code null} at the end of the input. */
+    public String readLine() throws IOException {
+        line.setLength(0);
+        truncated = false;
+        terminator = "";
+        if (!fill()) {
+            return null;
+        }
+        while (fill()) {
+            int start = position;
+            while (position < limit && buffer[position] != '\n' && buffer[position] != '\r') {
+                position++;
+            }
+            append(start, position);
+            if (position < limit) {
+                terminator = buffer[position++] == '\n' ? "\n" : "\r";
+                if (terminator.equals("\r") && fill() && buffer[position] == '\n') {
+                    position++;
+                    terminator = "\r\n";
+                }
+                break;
+            }
+        }
+        return line.toString();
+    }
+
+    /** What ended the line last read: {@code \n}, {@code \r}, {@code \r\n} or nothing. */
+    public String terminator() {
+        return terminator;
+    }
+
+    /** Whether the line last read was cut at {@code maxLength} characters. */
+    public boolean isTruncated() {
+        return truncated;
+    }
+
+    private void append(int from, int to) {
+        int kept = Math.min(to - from, maxLength - line.length());
+        if (kept < to - from) {
+            truncated = true;
+        }
+        line.append(buffer, from, kept);
+    }
+
+    private boolean fill() throws IOException {
+        if (position < limit) {
+            return true;
+        }
+        int read;
+        do {
+            read = reader.read(buffer, 0, buffer.length);
+        } while (read == 0);
+        position = 0;
+        limit = Math.max(read, 0);
+        return read > 0;
+    }
+}
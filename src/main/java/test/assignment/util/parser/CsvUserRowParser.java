@@ -0,0 +1,143 @@
+package test.assignment.util.parser;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import test.assignment.exception.InvalidImportException;
+import test.assignment.model.dto.request.SaveUserDto;
+
+/**
+ * RFC 4180 style rows: comma separated, fields optionally quoted with {@code "} and quotes
+ * inside a quoted field doubled. Quoted fields may span lines. Columns are taken from
+ * the header row by {@link SaveUserDto} component name, in any order, and empty fields are
+ * read as {@code null}. An {@code id} column, as written by {@link CsvUserRowWriter}, is
+ * ignored because ids are generated on insert.
+ */
+public class CsvUserRowParser implements UserRowParser {
+    private static final List<String> COLUMNS = List.of(
+            "email", "firstName", "lastName", "birthDate", "address", "phoneNumber");
+    private static final String IGNORED_COLUMN = "id";
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    private final int[] positions = new int[COLUMNS.size()];
+    private final int width;
+
+    public CsvUserRowParser(String header) {
+        Arrays.fill(positions, -1);
+        List<String> names = split(header);
+        for (int i = 0; i < names.size(); i++) {
+            String name = names.get(i) == null ? "" : names.get(i).trim();
+            if (IGNORED_COLUMN.equals(name)) {
+                continue;
+            }
+            int column = COLUMNS.indexOf(name);
+            if (column < 0) {
+                throw new InvalidImportException("Unknown CSV column '" + name
+                        + "', expected any of " + COLUMNS);
+            }
+            if (positions[column] >= 0) {
+                throw new InvalidImportException("Duplicate CSV column '" + name + "'");
+            }
+            positions[column] = i;
+        }
+        this.width = names.size();
+    }
+
+    @Override
+    public SaveUserDto parse(String line) {
+        List<String> values = split(line);
+        if (values.size() != width) {
+            throw new IllegalArgumentException("Expected " + width + " fields but found "
+                    + values.size());
+        }
+        return new SaveUserDto(value(values, 0), value(values, 1), value(values, 2),
+                birthDate(value(values, 3)), value(values, 4), value(values, 5));
+    }
+
+    /** Whether {@code row} ends inside a quoted field, by the same rules as the split. */
+    @Override
+    public boolean continuesOnNextLine(CharSequence row) {
+        return endsQuoted(row, false);
+    }
+
+    /** Whether {@code line}, which starts inside a quoted field, also ends inside one. */
+    @Override
+    public boolean continuesAfter(CharSequence line) {
+        return endsQuoted(line, true);
+    }
+
+    private static boolean endsQuoted(CharSequence row, boolean quoted) {
+        boolean fieldStart = !quoted;
+        for (int i = 0; i < row.length(); i++) {
+            char c = row.charAt(i);
+            if (quoted) {
+                if (c != QUOTE) {
+                    continue;
+                }
+                if (i + 1 < row.length() && row.charAt(i + 1) == QUOTE) {
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == SEPARATOR) {
+                fieldStart = true;
+            } else {
+                quoted = c == QUOTE && fieldStart;
+                fieldStart = false;
+            }
+        }
+        return quoted;
+    }
+
+    private String value(List<String> values, int column) {
+        return positions[column] < 0 ? null : values.get(positions[column]);
+    }
+
+    private static LocalDate birthDate(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("birthDate must be an ISO date (yyyy-MM-dd)");
+        }
+    }
+
+    private static List<String> split(String line) {
+        List<String> values = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean wasQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c != QUOTE) {
+                    field.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                    field.append(QUOTE);
+                    i++;
+                } else {
+                    quoted = false;
+                }
+            } else if (c == SEPARATOR) {
+                values.add(field.isEmpty() && !wasQuoted ? null : field.toString());
+                field.setLength(0);
+                wasQuoted = false;
+            } else if (c == QUOTE && field.isEmpty() && !wasQuoted) {
+                quoted = true;
+                wasQuoted = true;
+            } else {
+                field.append(c);
+            }
+        }
+        if (quoted) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+        }
+        values.add(field.isEmpty() && !wasQuoted ? null : field.toString());
+        return values;
+    }
+}
@@ -0,0 +1,72 @@
+package test.assignment.util.parser;
+
+import java.io.IOException;
+import java.io.Writer;
+import test.assignment.model.dto.response.UserResponseDto;
+
+/**
+ * Writes users in the CSV dialect read by {@link CsvUserRowParser}: {@code null} is an
+ * empty field and an empty string is {@code ""}, so a file can be imported back as is.
+ */
+public class CsvUserRowWriter {
+    public static final String HEADER =
+            "id,email,firstName,lastName,birthDate,address,phoneNumber";
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+    private static final char NEW_LINE = '\n';
+
+    private final Writer writer;
+
+    public CsvUserRowWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    public void writeHeader() throws IOException {
+        writer.write(HEADER);
+        writer.write(NEW_LINE);
+    }
+
+    public void write(UserResponseDto user) throws IOException {
+        writer.write(String.valueOf(user.id()));
+        writeField(user.email());
+        writeField(user.firstName());
+        writeField(user.lastName());
+        writeField(user.birthDate() == null ? null : user.birthDate().toString());
+        writeField(user.address());
+        writeField(user.phoneNumber());
+        writer.write(NEW_LINE);
+    }
+
+    private void writeField(String value) throws IOException {
+        writer.write(SEPARATOR);
+        if (value == null) {
+            return;
+        }
+        if (!needsQuotes(value)) {
+            writer.write(value);
+            return;
+        }
+        writer.write(QUOTE);
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == QUOTE) {
+                writer.write(QUOTE);
+            }
+            writer.write(c);
+        }
+        writer.write(QUOTE);
+    }
+
+    private static boolean needsQuotes(String value) {
+        if (value.isEmpty()) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == SEPARATOR || c == QUOTE || c == NEW_LINE || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+}
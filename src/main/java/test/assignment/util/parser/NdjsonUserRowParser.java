@@ -0,0 +1,28 @@
+package test.assignment.util.parser;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import test.assignment.model.dto.request.SaveUserDto;
+
+public class NdjsonUserRowParser implements UserRowParser {
+    private final ObjectReader reader;
+
+    public NdjsonUserRowParser(ObjectMapper objectMapper) {
+        this.reader = objectMapper.readerFor(SaveUserDto.class);
+    }
+
+    @Override
+    public SaveUserDto parse(String line) {
+        SaveUserDto dto;
+        try {
+            dto = reader.readValue(line);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Malformed JSON: " + e.getOriginalMessage());
+        }
+        if (dto == null) {
+            throw new IllegalArgumentException("Row must be a JSON object");
+        }
+        return dto;
+    }
+}
@@ -0,0 +1,6 @@
+package test.assignment.util.parser;
+
+public enum UserImportFormat {
+    CSV,
+    NDJSON
+}
@@ -0,0 +1,28 @@
+package test.assignment.util.parser;
+
+import test.assignment.model.dto.request.SaveUserDto;
+
+/**
+ * Parses one row of an import file. A row that cannot be parsed is reported with an
+ * {@link IllegalArgumentException} whose message is returned to the client as is.
+ */
+public interface UserRowParser {
+    SaveUserDto parse(String line);
+
+    /**
+     * Whether {@code row} stops inside a value that goes on past the line break, so that
+     * the next line belongs to the same row. Rows are single lines unless a format says so.
+     */
+    default boolean continuesOnNextLine(CharSequence row) {
+        return false;
+    }
+
+    /**
+     * Whether a row that {@link #continuesOnNextLine continued} onto {@code line} goes on
+     * past it as well, judged from that line alone. Lets a caller skip the rest of a row
+     * without holding all of it.
+     */
+    default boolean continuesAfter(CharSequence line) {
+        return false;
+    }
+}
@@ -0,0 +1,192 @@
+package test.assignment.util.validation;
+
+import jakarta.validation.Validator;
+import jakarta.validation.constraints.Email;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.request.UserUpdatePartialDto;
+
+/**
+ * Hand-written equivalent of the Bean Validation constraints on {@link SaveUserDto} and
+ * {@link UserUpdatePartialDto} for bulk paths. There is no constraint metadata lookup, and
+ * the adult cutoff and today's date are computed once per day instead of once per object.
+ * Messages match the annotation path ("field message") and are constants, so a failed
+ * check appends to the caller's list without building strings.
+ */
+@Component
+public class UserDtoValidator {
+    static final String EMAIL_BLANK = "email must not be blank";
+    static final String EMAIL_INVALID = "email Invalid email format";
+    static final String FIRST_NAME_BLANK = "firstName must not be blank";
+    static final String LAST_NAME_BLANK = "lastName must not be blank";
+    static final String BIRTH_DATE_NULL = "birthDate must not be null";
+    static final String BIRTH_DATE_NOT_ADULT = "birthDate The user must be at least 18 years old";
+    static final String BIRTH_DATE_NOT_PAST = "birthDate Birth date must be in the past";
+    private static final int ADULT_AGE = 18;
+    private static final int MAX_LOCAL_PART_LENGTH = 64;
+    private static final int MAX_DOMAIN_LENGTH = 253;
+    private static final int MAX_DOMAIN_LABEL_LENGTH = 63;
+    private static final String LOCAL_PART_SYMBOLS = "!#$%&'*+/=?^_`{|}~-";
+
+    private final Validator beanValidator;
+    private final Clock clock;
+    private volatile Day day;
+
+    @Autowired
+    public UserDtoValidator(Validator beanValidator) {
+        this(beanValidator, Clock.systemDefaultZone());
+    }
+
+    public UserDtoValidator(Validator beanValidator, Clock clock) {
+        this.beanValidator = beanValidator;
+        this.clock = clock;
+        this.day = Day.of(clock);
+    }
+
+    /**
+     * Appends the violations of {@code dto} to {@code errors} and returns whether there were
+     * none. The list is not cleared, so a caller can reuse one list across many objects.
+     */
+    public boolean validate(SaveUserDto dto, List<String> errors) {
+        int initialSize = errors.size();
+        if (isBlank(dto.email())) {
+            errors.add(EMAIL_BLANK);
+        }
+        if (!isValidEmail(dto.email())) {
+            errors.add(EMAIL_INVALID);
+        }
+        if (isBlank(dto.firstName())) {
+            errors.add(FIRST_NAME_BLANK);
+        }
+        if (isBlank(dto.lastName())) {
+            errors.add(LAST_NAME_BLANK);
+        }
+        if (dto.birthDate() == null) {
+            errors.add(BIRTH_DATE_NULL);
+        } else if (dto.birthDate().toEpochDay() > currentDay().adultCutoffEpochDay) {
+            errors.add(BIRTH_DATE_NOT_ADULT);
+        }
+        return errors.size() == initialSize;
+    }
+
+    public boolean validate(UserUpdatePartialDto dto, List<String> errors) {
+        int initialSize = errors.size();
+        Optional<String> email = dto.email();
+        if (email != null && email.isPresent() && !isValidEmail(email.get())) {
+            errors.add(EMAIL_INVALID);
+        }
+        Optional<LocalDate> birthDate = dto.birthDate();
+        if (birthDate != null && birthDate.isPresent()
+                && birthDate.get().toEpochDay() >= currentDay().todayEpochDay) {
+            errors.add(BIRTH_DATE_NOT_PAST);
+        }
+        return errors.size() == initialSize;
+    }
+
+    /**
+     * Same result as {@code @Email}. Plain ASCII addresses that Hibernate Validator is known
+     * to accept are checked without allocation. Anything else (quoted local parts, IP or
+     * internationalized domains, invalid input) goes through the Bean Validation constraint
+     * itself.
+     */
+    private boolean isValidEmail(String email) {
+        return email == null || isSimpleEmail(email) || beanValidator
+                .validateValue(SaveUserDto.class, "email", email).stream()
+                .noneMatch(violation -> violation.getConstraintDescriptor().getAnnotation()
+                        instanceof Email);
+    }
+
+    private static boolean isSimpleEmail(String email) {
+        int at = email.lastIndexOf('@');
+        if (at < 1 || at > MAX_LOCAL_PART_LENGTH) {
+            return false;
+        }
+        return isDotAtom(email, 0, at) && isDomain(email, at + 1, email.length());
+    }
+
+    private static boolean isDotAtom(String value, int from, int to) {
+        boolean previousDot = true;
+        for (int i = from; i < to; i++) {
+            char c = value.charAt(i);
+            if (c == '.') {
+                if (previousDot) {
+                    return false;
+                }
+                previousDot = true;
+            } else if (isAsciiLetterOrDigit(c) || LOCAL_PART_SYMBOLS.indexOf(c) >= 0) {
+                previousDot = false;
+            } else {
+                return false;
+            }
+        }
+        return !previousDot;
+    }
+
+    private static boolean isDomain(String value, int from, int to) {
+        if (to - from > MAX_DOMAIN_LENGTH) {
+            return false;
+        }
+        int labelStart = from;
+        for (int i = from; i <= to; i++) {
+            if (i == to || value.charAt(i) == '.') {
+                int labelLength = i - labelStart;
+                if (labelLength == 0 || labelLength > MAX_DOMAIN_LABEL_LENGTH
+                        || value.charAt(labelStart) == '-' || value.charAt(i - 1) == '-') {
+                    return false;
+                }
+                labelStart = i + 1;
+            } else if (!isAsciiLetterOrDigit(value.charAt(i)) && value.charAt(i) != '-') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isAsciiLetterOrDigit(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+
+    private Day currentDay() {
+        Day current = day;
+        if (clock.millis() >= current.nextMidnightMillis) {
+            current = Day.of(clock);
+            day = current;
+        }
+        return current;
+    }
+
+    /**
+     * Same check as {@code @NotBlank}: not null and not only characters that
+     * {@link String#trim()} would remove.
+     */
+    private static boolean isBlank(String value) {
+        if (value == null) {
+            return true;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Dates derived from "today". A birth date passes {@code @Adult} exactly when it is not
+     * after {@code today.minusYears(18)}, which matches the
+     * {@code Period.between(...).getYears() >= 18} rule, leap days included.
+     */
+    private record Day(long todayEpochDay, long adultCutoffEpochDay, long nextMidnightMillis) {
+        static Day of(Clock clock) {
+            LocalDate today = LocalDate.now(clock);
+            return new Day(today.toEpochDay(),
+                    today.minusYears(ADULT_AGE).toEpochDay(),
+                    today.plusDays(1).atStartOfDay(clock.getZone()).toInstant().toEpochMilli());
+        }
+    }
+}
@@ -0,0 +1,12 @@
+CREATE TABLE IF NOT EXISTS users (
+    id BIGINT NOT NULL PRIMARY KEY,
+    email VARCHAR(255),
+    first_name VARCHAR(255),
+    last_name VARCHAR(255),
+    birth_date DATE,
+    address VARCHAR(255),
+    phone_number VARCHAR(255),
+    version BIGINT
+);
+CREATE INDEX IF NOT EXISTS idx_users_birth_date_id ON users (birth_date, id);
+CREATE UNIQUE INDEX IF NOT EXISTS idx_users_email ON users (email);
@@ -0,0 +1,78 @@
+package test.assignment.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class AdaptiveConcurrencyLimiterTest {
+    private static final long FAST_NANOS = 2_000_000;
+    private static final long SLOW_NANOS = 40_000_000;
+
+    private final AdaptiveConcurrencyLimiter limiter =
+            new AdaptiveConcurrencyLimiter("read", 10, 2, 100);
+
+    @Test
+    void tryAcquire_rejectsOnceLimitIsInFlight() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(limiter.tryAcquire());
+        }
+
+        assertFalse(limiter.tryAcquire());
+        assertEquals(10, limiter.getInFlight());
+        assertEquals(1, limiter.getRejected());
+
+        limiter.release();
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void release_withSteadyLatencyUnderLoad_growsLimit() {
+        saturate(FAST_NANOS, 20);
+
+        assertTrue(limiter.getLimit() > 10, "limit " + limiter.getLimit());
+    }
+
+    @Test
+    void release_withRisingLatency_shrinksLimit() {
+        saturate(FAST_NANOS, 20);
+        int steadyLimit = limiter.getLimit();
+
+        saturate(SLOW_NANOS, 5);
+
+        assertTrue(limiter.getLimit() < steadyLimit / 2, "limit " + limiter.getLimit());
+        assertTrue(limiter.getLimit() >= 2);
+    }
+
+    @Test
+    void release_whileMostlyIdle_keepsLimit() {
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.release(SLOW_NANOS);
+        }
+
+        assertEquals(10, limiter.getLimit());
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void constructor_withInitialLimitOutOfBounds_throwsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new AdaptiveConcurrencyLimiter("write", 1, 2, 10));
+    }
+
+    /** Fills every permit and completes them all with the given latency, {@code rounds} times. */
+    private void saturate(long rttNanos, int rounds) {
+        for (int round = 0; round < rounds; round++) {
+            int acquired = 0;
+            while (limiter.tryAcquire()) {
+                acquired++;
+            }
+            for (int i = 0; i < acquired; i++) {
+                limiter.release(rttNanos);
+            }
+        }
+    }
+}
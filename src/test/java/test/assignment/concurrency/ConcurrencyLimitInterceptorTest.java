@@ -0,0 +1,131 @@
+package test.assignment.concurrency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import jakarta.servlet.DispatcherType;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import test.assignment.exception.ConcurrencyLimitExceededException;
+import test.assignment.exception.CustomGlobalExceptionHandler;
+
+class ConcurrencyLimitInterceptorTest {
+    private final AdaptiveConcurrencyLimiter readLimiter =
+            new AdaptiveConcurrencyLimiter("read", 1, 1, 10);
+    private final AdaptiveConcurrencyLimiter writeLimiter =
+            new AdaptiveConcurrencyLimiter("write", 1, 1, 10);
+    private final AdaptiveConcurrencyLimiter streamLimiter =
+            new AdaptiveConcurrencyLimiter("stream", 1, 1, 1);
+    private final ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor(
+            readLimiter, writeLimiter, streamLimiter, Duration.ofSeconds(2));
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @Test
+    void preHandle_overLimit_throwsWithRetryAfter() {
+        assertTrue(interceptor.preHandle(request("GET"), response, null));
+
+        ConcurrencyLimitExceededException exception = assertThrows(
+                ConcurrencyLimitExceededException.class,
+                () -> interceptor.preHandle(request("GET"), response, null));
+
+        assertEquals(Duration.ofSeconds(2), exception.getRetryAfter());
+    }
+
+    @Test
+    void preHandle_readsAndWritesHaveSeparateLimits() {
+        assertTrue(interceptor.preHandle(request("GET"), response, null));
+        assertTrue(interceptor.preHandle(request("POST"), response, null));
+
+        assertEquals(1, readLimiter.getInFlight());
+        assertEquals(1, writeLimiter.getInFlight());
+    }
+
+    @Test
+    void afterCompletion_releasesPermitOnce() {
+        MockHttpServletRequest request = request("DELETE");
+        interceptor.preHandle(request, response, null);
+
+        interceptor.afterCompletion(request, response, null, null);
+        interceptor.afterCompletion(request, response, null, null);
+
+        assertEquals(0, writeLimiter.getInFlight());
+    }
+
+    @Test
+    void asyncRequest_holdsPermitUntilStreamCompletes() {
+        MockHttpServletRequest request = request("GET");
+        interceptor.preHandle(request, response, null);
+        interceptor.afterConcurrentHandlingStarted(request, response, null);
+        request.setDispatcherType(DispatcherType.ASYNC);
+
+        assertTrue(interceptor.preHandle(request, response, null));
+        assertEquals(1, readLimiter.getInFlight());
+
+        interceptor.afterCompletion(request, response, null, null);
+        assertEquals(0, readLimiter.getInFlight());
+        assertEquals(1, readLimiter.getLimit());
+    }
+
+    @Test
+    void streamingRead_usesTheStreamLimitAndLeavesReadsFree() throws Exception {
+        HandlerMethod export = new HandlerMethod(new PingController(),
+                PingController.class.getMethod("export"));
+        MockHttpServletRequest request = request("GET");
+
+        assertTrue(interceptor.preHandle(request, response, export));
+        assertThrows(ConcurrencyLimitExceededException.class,
+                () -> interceptor.preHandle(request("GET"), response, export));
+        assertTrue(interceptor.preHandle(request("GET"), response, null));
+        assertEquals(1, streamLimiter.getInFlight());
+
+        interceptor.afterCompletion(request, response, export, null);
+        assertEquals(0, streamLimiter.getInFlight());
+    }
+
+    @Test
+    void rejectedRequest_returnsServiceUnavailableWithRetryAfter() throws Exception {
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(new PingController())
+                .setControllerAdvice(new CustomGlobalExceptionHandler())
+                .addInterceptors(interceptor)
+                .build();
+        readLimiter.tryAcquire();
+
+        mockMvc.perform(get("/users"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"))
+                .andExpect(jsonPath("$['error message']")
+                        .value("Too many concurrent read requests"));
+    }
+
+    private static MockHttpServletRequest request(String method) {
+        return new MockHttpServletRequest(method, "/users");
+    }
+
+    @RestController
+    private static class PingController {
+        @GetMapping("/users")
+        public String ping() {
+            return "pong";
+        }
+
+        @GetMapping("/users/export")
+        public ResponseEntity<StreamingResponseBody> export() {
+            return ResponseEntity.ok(outputStream -> outputStream.write('x'));
+        }
+    }
+}
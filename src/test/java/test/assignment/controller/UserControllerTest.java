@@ -3,24 +3,37 @@ package test.assignment.controller;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -28,19 +41,45 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import test.assignment.configuration.JacksonConfig;
+import test.assignment.exception.ConcurrencyLimitExceededException;
+import test.assignment.exception.DuplicateEmailException;
+import test.assignment.exception.EntityNotFoundException;
+import test.assignment.exception.InvalidUserException;
+import test.assignment.exception.SearchUnavailableException;
 import test.assignment.model.dto.request.DateRangeDto;
 import test.assignment.model.dto.request.SaveUserDto;
 import test.assignment.model.dto.request.UserUpdatePartialDto;
+import test.assignment.model.dto.response.UserBatchItemResponseDto;
+import test.assignment.model.dto.response.UserImportErrorDto;
+import test.assignment.model.dto.response.UserImportResponseDto;
+import test.assignment.model.dto.response.UserPageResponseDto;
 import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.model.dto.response.UserSearchResponseDto;
+import test.assignment.service.UserChangeFeed;
+import test.assignment.service.UserDataVersion;
+import test.assignment.service.UserImportService;
 import test.assignment.service.UserService;
+import test.assignment.util.KeysetCursor;
+import test.assignment.util.json.UserJsonModule;
+import test.assignment.util.parser.CsvUserRowWriter;
+import test.assignment.util.parser.UserImportFormat;
 
 @WebMvcTest(UserController.class)
+@Import(JacksonConfig.class)
 public class UserControllerTest {
-
     private static final long EXAMPLE_USER_ID = 42L;
+    private static final String CURRENT_ETAG = "\"abc-7\"";
     private static final SaveUserDto VALID_SAVE_USER_DTO = new SaveUserDto(
             "testuser@example.com", "John", "Doe",
             LocalDate.of(1990, 1, 1), "123 Main St",
@@ -59,6 +98,17 @@ public class UserControllerTest {
     private UserService userService;
     @Autowired
     private ObjectMapper objectMapper;
+    @MockBean
+    private UserDataVersion userDataVersion;
+    @MockBean
+    private UserImportService userImportService;
+    @MockBean
+    private UserChangeFeed changeFeed;
+
+    @BeforeEach
+    void setUp() {
+        when(userDataVersion.etag()).thenReturn(CURRENT_ETAG);
+    }
 
     @Test
     public void createUser_withValidData_returnsCreatedUser() throws Exception {
@@ -91,6 +141,36 @@ public class UserControllerTest {
         verify(userService, never()).createUser(any());
     }
 
+    @Test
+    public void createUsers_withBatch_returnsPerItemResults() throws Exception {
+        List<SaveUserDto> batch = List.of(VALID_SAVE_USER_DTO, VALID_SAVE_USER_DTO);
+        List<UserBatchItemResponseDto> results = List.of(
+                new UserBatchItemResponseDto(0, USER_RESPONSE_DTO, List.of()),
+                new UserBatchItemResponseDto(1, null, List.of("email must not be blank")));
+        when(userService.createUsers(batch)).thenReturn(results);
+
+        ResultActions response = mockMvc.perform(post("/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(batch)));
+
+        String jsonResponse = response.andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<UserBatchItemResponseDto> actual = objectMapper
+                .readerForListOf(UserBatchItemResponseDto.class).readValue(jsonResponse);
+        assertEquals(results, actual);
+    }
+
+    @Test
+    public void createUsers_withEmptyBatch_returnsBadRequest() throws Exception {
+        ResultActions response = mockMvc.perform(post("/users/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"));
+
+        response.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("newUserDtos must not be empty"));
+        verify(userService, never()).createUsers(any());
+    }
+
     @ParameterizedTest
     @MethodSource("invalidUserProvider")
     public void createUser_withInvalidData_returnsBadRequest(
@@ -127,6 +207,178 @@ public class UserControllerTest {
         );
     }
 
+    @Test
+    public void getUserById_withExistingUser_returnsUser() throws Exception {
+        when(userService.getUserById(EXAMPLE_USER_ID)).thenReturn(USER_RESPONSE_DTO);
+
+        ResultActions response = mockMvc.perform(get("/users/{id}", EXAMPLE_USER_ID));
+
+        String jsonResponse = response.andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        UserResponseDto actual = objectMapper.readValue(jsonResponse, UserResponseDto.class);
+        assertEquals(USER_RESPONSE_DTO, actual);
+    }
+
+    @Test
+    public void createUser_withCborBody_returnsCborUser() throws Exception {
+        ObjectMapper cborMapper = Jackson2ObjectMapperBuilder.cbor()
+                .modulesToInstall(new UserJsonModule())
+                .build();
+        when(userService.createUser(VALID_SAVE_USER_DTO)).thenReturn(USER_RESPONSE_DTO);
+
+        byte[] cborResponse = mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_CBOR)
+                .accept(MediaType.APPLICATION_CBOR)
+                .content(cborMapper.writeValueAsBytes(VALID_SAVE_USER_DTO)))
+                .andExpect(status().isCreated())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals(USER_RESPONSE_DTO, cborMapper.readValue(cborResponse,
+                UserResponseDto.class));
+    }
+
+    @Test
+    public void getUserById_withNonExistingUser_returnsNotFound() throws Exception {
+        when(userService.getUserById(EXAMPLE_USER_ID))
+                .thenThrow(new EntityNotFoundException("User not found with ID: "
+                        + EXAMPLE_USER_ID));
+
+        ResultActions response = mockMvc.perform(get("/users/{id}", EXAMPLE_USER_ID));
+
+        response.andExpect(status().isNotFound())
+                .andExpect(jsonPath("$['error message']")
+                        .value("User not found with ID: " + EXAMPLE_USER_ID));
+    }
+
+    @Test
+    public void createUser_withEmailInUse_returnsConflict() throws Exception {
+        when(userService.createUser(VALID_SAVE_USER_DTO))
+                .thenThrow(new DuplicateEmailException());
+
+        ResultActions response = mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(VALID_SAVE_USER_DTO)));
+
+        response.andExpect(status().isConflict())
+                .andExpect(jsonPath("$['error message']")
+                        .value(DuplicateEmailException.MESSAGE));
+    }
+
+    @Test
+    public void createUser_losingARaceForTheEmail_returnsConflict() throws Exception {
+        when(userService.createUser(VALID_SAVE_USER_DTO))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement "
+                        + "[Unique index or primary key violation: \"PUBLIC.IDX_USERS_EMAIL_INDEX_4"
+                        + " ON PUBLIC.USERS(EMAIL NULLS FIRST) VALUES ( /* 1 */ "
+                        + "'testuser@example.com' )\"]"));
+
+        ResultActions response = mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(VALID_SAVE_USER_DTO)));
+
+        response.andExpect(status().isConflict())
+                .andExpect(jsonPath("$['error message']").value(DuplicateEmailException.MESSAGE));
+    }
+
+    @Test
+    public void createUser_violatingAnotherConstraint_returnsInternalServerError()
+            throws Exception {
+        when(userService.createUser(VALID_SAVE_USER_DTO))
+                .thenThrow(new DataIntegrityViolationException("could not execute statement "
+                        + "[Value too long for column \"ADDRESS CHARACTER VARYING(255)\"]"));
+
+        ResultActions response = mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(VALID_SAVE_USER_DTO)));
+
+        response.andExpect(status().isInternalServerError());
+    }
+
+    @Test
+    public void createUser_rejectedByServiceValidation_returnsBadRequest() throws Exception {
+        when(userService.createUser(VALID_SAVE_USER_DTO))
+                .thenThrow(new InvalidUserException(List.of("firstName must not be blank")));
+
+        ResultActions response = mockMvc.perform(post("/users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(VALID_SAVE_USER_DTO)));
+
+        response.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("firstName must not be blank"));
+    }
+
+    @Test
+    public void getUserByEmail_withExistingUser_returnsUser() throws Exception {
+        when(userService.getUserByEmail("testuser@example.com")).thenReturn(USER_RESPONSE_DTO);
+
+        ResultActions response = mockMvc.perform(get("/users/by-email")
+                .param("email", "testuser@example.com"));
+
+        String jsonResponse = response.andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        UserResponseDto actual = objectMapper.readValue(jsonResponse, UserResponseDto.class);
+        assertEquals(USER_RESPONSE_DTO, actual);
+    }
+
+    @Test
+    public void getUserByEmail_withInvalidEmail_returnsBadRequest() throws Exception {
+        ResultActions response = mockMvc.perform(get("/users/by-email")
+                .param("email", "invalidEmail.com"));
+
+        response.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]").value("email Invalid email format"));
+        verify(userService, never()).getUserByEmail(any());
+    }
+
+    @Test
+    public void searchUsersByName_withQuery_returnsRankedUsers() throws Exception {
+        when(userService.searchUsersByName("john do", 20, 0))
+                .thenReturn(new UserSearchResponseDto(List.of(USER_RESPONSE_DTO), 1, false));
+
+        ResultActions response = mockMvc.perform(get("/users/search").param("q", "john do"));
+
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.users[0].email").value("testuser@example.com"))
+                .andExpect(jsonPath("$.matches").value(1))
+                .andExpect(jsonPath("$.partial").value(false));
+    }
+
+    @Test
+    public void searchUsersByName_withPaging_passesLimitAndOffset() throws Exception {
+        when(userService.searchUsersByName("jo", 5, 10))
+                .thenReturn(new UserSearchResponseDto(List.of(), 3, false));
+
+        ResultActions response = mockMvc.perform(get("/users/search")
+                .param("q", "jo").param("limit", "5").param("offset", "10"));
+
+        response.andExpect(status().isOk())
+                .andExpect(jsonPath("$.users").isEmpty());
+    }
+
+    @Test
+    public void searchUsersByName_withBlankQueryOrLimitTooHigh_returnsBadRequest()
+            throws Exception {
+        mockMvc.perform(get("/users/search").param("q", " "))
+                .andExpect(status().isBadRequest());
+        mockMvc.perform(get("/users/search").param("q", "jo").param("limit", "101"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).searchUsersByName(any(), anyInt(), anyInt());
+    }
+
+    @Test
+    public void searchUsersByName_whenIndexUnavailable_returnsServiceUnavailable()
+            throws Exception {
+        when(userService.searchUsersByName("jo", 20, 0))
+                .thenThrow(new SearchUnavailableException("Name search is disabled"));
+
+        ResultActions response = mockMvc.perform(get("/users/search").param("q", "jo"));
+
+        response.andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$['error message']").value("Name search is disabled"));
+    }
+
     @Test
     public void getUsersByDate_withValidDateRange_returnsUsers() throws Exception {
         when(userService.getUsersByBirthDateRange(VALID_DATE_RANGE_DTO.from(),
@@ -144,6 +396,93 @@ public class UserControllerTest {
         assertEquals(List.of(USER_RESPONSE_DTO), actual);
     }
 
+    @Test
+    public void getUsersByDate_withValidDateRange_returnsEtag() throws Exception {
+        when(userService.getUsersByBirthDateRange(VALID_DATE_RANGE_DTO.from(),
+                VALID_DATE_RANGE_DTO.to())).thenReturn(List.of(USER_RESPONSE_DTO));
+
+        ResultActions response = mockMvc.perform(get("/users")
+                .param("from", VALID_DATE_RANGE_DTO.from().toString())
+                .param("to", VALID_DATE_RANGE_DTO.to().toString()));
+
+        response.andExpect(status().isOk())
+                .andExpect(header().string("ETag", CURRENT_ETAG));
+    }
+
+    @Test
+    public void getUsersByDate_withCurrentEtag_returnsNotModified() throws Exception {
+        ResultActions response = mockMvc.perform(get("/users")
+                .param("from", VALID_DATE_RANGE_DTO.from().toString())
+                .param("to", VALID_DATE_RANGE_DTO.to().toString())
+                .header("If-None-Match", CURRENT_ETAG));
+
+        response.andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", CURRENT_ETAG))
+                .andExpect(content().string(""));
+        verify(userService, never()).getUsersByBirthDateRange(any(), any());
+    }
+
+    @Test
+    public void getUsersByDate_withStaleEtag_returnsUsers() throws Exception {
+        when(userService.getUsersByBirthDateRange(VALID_DATE_RANGE_DTO.from(),
+                VALID_DATE_RANGE_DTO.to())).thenReturn(List.of(USER_RESPONSE_DTO));
+
+        ResultActions response = mockMvc.perform(get("/users")
+                .param("from", VALID_DATE_RANGE_DTO.from().toString())
+                .param("to", VALID_DATE_RANGE_DTO.to().toString())
+                .header("If-None-Match", "\"abc-6\""));
+
+        response.andExpect(status().isOk())
+                .andExpect(header().string("ETag", CURRENT_ETAG));
+    }
+
+    @Test
+    public void getUserById_withCurrentEtag_returnsNotModified() throws Exception {
+        ResultActions response = mockMvc.perform(get("/users/{id}", EXAMPLE_USER_ID)
+                .header("If-None-Match", CURRENT_ETAG));
+
+        response.andExpect(status().isNotModified());
+        verify(userService, never()).getUserById(anyLong());
+    }
+
+    @Test
+    public void getUserById_asCbor_hasItsOwnEtagAndVariesByAccept() throws Exception {
+        when(userService.getUserById(EXAMPLE_USER_ID)).thenReturn(USER_RESPONSE_DTO);
+
+        ResultActions response = mockMvc.perform(get("/users/{id}", EXAMPLE_USER_ID)
+                .accept(MediaType.APPLICATION_CBOR)
+                .header("If-None-Match", CURRENT_ETAG));
+
+        response.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_CBOR))
+                .andExpect(header().string("ETag", "\"abc-7-cbor\""))
+                .andExpect(header().string("Vary", HttpHeaders.ACCEPT));
+    }
+
+    @Test
+    public void getUserById_withCurrentCborEtag_returnsNotModified() throws Exception {
+        ResultActions response = mockMvc.perform(get("/users/{id}", EXAMPLE_USER_ID)
+                .accept(MediaType.APPLICATION_CBOR)
+                .header("If-None-Match", "\"abc-7-cbor\""));
+
+        response.andExpect(status().isNotModified())
+                .andExpect(header().string("Vary", HttpHeaders.ACCEPT));
+        verify(userService, never()).getUserById(anyLong());
+    }
+
+    @Test
+    public void getUserById_preferringJson_keepsJsonEtag() throws Exception {
+        when(userService.getUserById(EXAMPLE_USER_ID)).thenReturn(USER_RESPONSE_DTO);
+
+        ResultActions response = mockMvc.perform(get("/users/{id}", EXAMPLE_USER_ID)
+                .header(HttpHeaders.ACCEPT, "application/cbor;q=0.5, application/json"));
+
+        response.andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(header().string("ETag", CURRENT_ETAG))
+                .andExpect(header().string("Vary", HttpHeaders.ACCEPT));
+    }
+
     @Test
     public void getUsersByDate_withInvalidDateRange_returnsBadRequest() throws Exception {
         String expectedErrorMessage = "The 'from' date must be before the 'to' date";
@@ -160,6 +499,188 @@ public class UserControllerTest {
         verify(userService, never()).getUsersByBirthDateRange(any(), any());
     }
 
+    @Test
+    public void getUsersPage_withLimitAndCursor_returnsPage() throws Exception {
+        KeysetCursor after = new KeysetCursor(LocalDate.of(1985, 5, 5), 7L);
+        UserPageResponseDto page = new UserPageResponseDto(List.of(USER_RESPONSE_DTO),
+                KeysetCursor.of(USER_RESPONSE_DTO).encode());
+        when(userService.getUsersByBirthDateRange(VALID_DATE_RANGE_DTO.from(),
+                VALID_DATE_RANGE_DTO.to(), 1, after)).thenReturn(page);
+
+        ResultActions response = mockMvc.perform(get("/users")
+                .param("from", VALID_DATE_RANGE_DTO.from().toString())
+                .param("to", VALID_DATE_RANGE_DTO.to().toString())
+                .param("limit", "1")
+                .param("after", after.encode()));
+
+        String jsonResponse = response.andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(page, objectMapper.readValue(jsonResponse, UserPageResponseDto.class));
+    }
+
+    @Test
+    public void getUsersPage_withInvalidLimit_returnsBadRequest() throws Exception {
+        ResultActions response = mockMvc.perform(get("/users")
+                .param("from", VALID_DATE_RANGE_DTO.from().toString())
+                .param("to", VALID_DATE_RANGE_DTO.to().toString())
+                .param("limit", "0"));
+
+        response.andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors[0]")
+                        .value("limit must be greater than or equal to 1"));
+        verify(userService, never()).getUsersByBirthDateRange(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    public void getUsersPage_withInvalidCursor_returnsBadRequest() throws Exception {
+        ResultActions response = mockMvc.perform(get("/users")
+                .param("from", VALID_DATE_RANGE_DTO.from().toString())
+                .param("to", VALID_DATE_RANGE_DTO.to().toString())
+                .param("limit", "10")
+                .param("after", "not-a-cursor"));
+
+        response.andExpect(status().isBadRequest());
+        verify(userService, never()).getUsersByBirthDateRange(any(), any(), anyInt(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void streamUsers_withNdjsonAccept_writesOneUserPerLine() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserResponseDto> consumer = invocation.getArgument(2);
+            consumer.accept(USER_RESPONSE_DTO);
+            consumer.accept(USER_RESPONSE_DTO);
+            return null;
+        }).when(userService).streamUsersByBirthDateRange(eq(VALID_DATE_RANGE_DTO.from()),
+                eq(VALID_DATE_RANGE_DTO.to()), any(Consumer.class));
+
+        MvcResult asyncResult = mockMvc.perform(get("/users")
+                .param("from", VALID_DATE_RANGE_DTO.from().toString())
+                .param("to", VALID_DATE_RANGE_DTO.to().toString())
+                .accept(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        String expectedLine = objectMapper.writeValueAsString(USER_RESPONSE_DTO) + "\n";
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(expectedLine + expectedLine));
+    }
+
+    @Test
+    public void streamChanges_withLastEventId_streamsEventsFromFeed() throws Exception {
+        SseEmitter emitter = new SseEmitter();
+        when(changeFeed.subscribe("abc-7")).thenReturn(emitter);
+
+        MvcResult asyncResult = mockMvc.perform(get("/users/changes")
+                        .header("Last-Event-ID", "abc-7")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andReturn();
+        emitter.send(SseEmitter.event().id("abc-8").name("deleted").data("{\"id\":1}"));
+        emitter.complete();
+
+        mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string("id:abc-8\nevent:deleted\ndata:{\"id\":1}\n\n"));
+    }
+
+    @Test
+    public void streamChanges_withTooManySubscribers_returnsServiceUnavailable()
+            throws Exception {
+        when(changeFeed.subscribe(null)).thenThrow(new ConcurrencyLimitExceededException(
+                "Too many change feed subscribers", Duration.ofSeconds(5)));
+
+        ResultActions response = mockMvc.perform(get("/users/changes"));
+
+        response.andExpect(status().isServiceUnavailable())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "5"))
+                .andExpect(jsonPath("$['error message']")
+                        .value("Too many change feed subscribers"));
+    }
+
+    @Test
+    public void importUsers_withCsvBody_returnsImportReport() throws Exception {
+        UserImportResponseDto report = new UserImportResponseDto(2, 1, 1, 5, 400,
+                List.of(new UserImportErrorDto(3, List.of("email Invalid email format"))));
+        when(userImportService.importUsers(any(), eq(UserImportFormat.CSV))).thenReturn(report);
+
+        ResultActions response = mockMvc.perform(post("/users/import")
+                .contentType("text/csv")
+                .content("email,firstName,lastName,birthDate\n"
+                        + "john@example.com,John,Doe,1990-01-01\n"
+                        + "invalidEmail.com,John,Doe,1990-01-01\n"));
+
+        String jsonResponse = response.andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertEquals(report, objectMapper.readValue(jsonResponse,
+                UserImportResponseDto.class));
+    }
+
+    @Test
+    public void importUsers_withNdjsonBody_usesNdjsonFormat() throws Exception {
+        UserImportResponseDto report = new UserImportResponseDto(1, 1, 0, 5, 200, List.of());
+        when(userImportService.importUsers(any(), eq(UserImportFormat.NDJSON)))
+                .thenReturn(report);
+
+        mockMvc.perform(post("/users/import")
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .content(objectMapper.writeValueAsString(VALID_SAVE_USER_DTO) + "\n"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.imported").value(1));
+    }
+
+    @Test
+    public void importUsers_withJsonBody_returnsUnsupportedMediaType() throws Exception {
+        mockMvc.perform(post("/users/import")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[]"))
+                .andExpect(status().isUnsupportedMediaType());
+        verify(userImportService, never()).importUsers(any(), any());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void exportUsers_withCsvAccept_writesGzippedCsv() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<Consumer<UserResponseDto>>getArgument(0).accept(USER_RESPONSE_DTO);
+            return null;
+        }).when(userService).streamAllUsers(any(Consumer.class));
+
+        MvcResult asyncResult = mockMvc.perform(get("/users/export")
+                .accept("text/csv"))
+                .andReturn();
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse();
+        assertEquals(CsvUserRowWriter.HEADER + "\n"
+                + "1,testuser@example.com,John,Doe,1990-01-01,123 Main St,123-456-7890\n",
+                gunzip(response.getContentAsByteArray()));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void exportUsers_withNdjsonAccept_writesGzippedNdjson() throws Exception {
+        doAnswer(invocation -> {
+            invocation.<Consumer<UserResponseDto>>getArgument(0).accept(USER_RESPONSE_DTO);
+            return null;
+        }).when(userService).streamAllUsers(any(Consumer.class));
+
+        MvcResult asyncResult = mockMvc.perform(get("/users/export")
+                .accept(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+
+        MockHttpServletResponse response = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+                .andReturn().getResponse();
+        assertEquals(objectMapper.writeValueAsString(USER_RESPONSE_DTO) + "\n",
+                gunzip(response.getContentAsByteArray()));
+    }
+
     @Test
     public void updateUser_withValidData_returnsUpdatedUser() throws Exception {
         when(userService.updateUser(EXAMPLE_USER_ID, VALID_SAVE_USER_DTO))
@@ -245,4 +766,11 @@ public class UserControllerTest {
         response.andExpect(status().isNoContent());
         verify(userService).deleteUser(EXAMPLE_USER_ID);
     }
+
+    private static String gunzip(byte[] content) throws IOException {
+        try (GZIPInputStream inputStream =
+                     new GZIPInputStream(new ByteArrayInputStream(content))) {
+            return new String(inputStream.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
 }
@@ -0,0 +1,81 @@
+package test.assignment.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.service.UserService;
+import test.assignment.util.parser.CsvUserRowWriter;
+
+/**
+ * Runs on a real Tomcat whose async timeout is shortened from 30 s to half a second, and
+ * exports for longer than that.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+class UserExportTimeoutTest {
+    private static final long CONTAINER_ASYNC_TIMEOUT_MILLIS = 500;
+    private static final int ROWS = 4;
+
+    @LocalServerPort
+    private int port;
+
+    @MockBean
+    private UserService userService;
+
+    @Test
+    void export_runningPastTheContainerAsyncTimeout_isComplete() throws Exception {
+        doAnswer(invocation -> {
+            Consumer<UserResponseDto> consumer = invocation.getArgument(0);
+            for (long id = 1; id <= ROWS; id++) {
+                Thread.sleep(CONTAINER_ASYNC_TIMEOUT_MILLIS / 2);
+                consumer.accept(new UserResponseDto(id, "user" + id + "@example.com", "John",
+                        "Doe", LocalDate.of(1990, 1, 1), null, null));
+            }
+            return null;
+        }).when(userService).streamAllUsers(any());
+
+        HttpResponse<InputStream> response = HttpClient.newHttpClient().send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users/export"))
+                        .header("Accept", "text/csv")
+                        .build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+
+        assertEquals(200, response.statusCode());
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(response.body()), StandardCharsets.UTF_8))) {
+            List<String> lines = reader.lines().toList();
+            assertEquals(ROWS + 1, lines.size());
+            assertEquals(CsvUserRowWriter.HEADER, lines.get(0));
+        }
+    }
+
+    @TestConfiguration
+    static class ShortContainerAsyncTimeout {
+        @Bean
+        WebServerFactoryCustomizer<TomcatServletWebServerFactory> shortAsyncTimeout() {
+            return factory -> factory.addConnectorCustomizers(
+                    connector -> connector.setAsyncTimeout(CONTAINER_ASYNC_TIMEOUT_MILLIS));
+        }
+    }
+}
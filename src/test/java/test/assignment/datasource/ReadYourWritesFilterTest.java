@@ -0,0 +1,57 @@
+package test.assignment.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.http.Cookie;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ReadYourWritesFilterTest {
+    private final ReadYourWritesFilter filter = new ReadYourWritesFilter(Duration.ofMillis(2500));
+    private final AtomicBoolean pinnedInChain = new AtomicBoolean();
+    private final FilterChain chain =
+            (request, response) -> pinnedInChain.set(ReadYourWritesFilter.isPinnedToPrimary());
+
+    @Test
+    void doFilter_write_setsCookieForWindowAndPinsToPrimary() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(new MockHttpServletRequest("POST", "/users"), response, chain);
+
+        Cookie cookie = response.getCookie(ReadYourWritesFilter.COOKIE_NAME);
+        assertNotNull(cookie);
+        assertEquals(3, cookie.getMaxAge());
+        assertEquals("/users", cookie.getPath());
+        assertTrue(pinnedInChain.get());
+        assertFalse(ReadYourWritesFilter.isPinnedToPrimary());
+    }
+
+    @Test
+    void doFilter_readWithCookie_pinsToPrimary() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "1"));
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        filter.doFilter(request, response, chain);
+
+        assertTrue(pinnedInChain.get());
+        assertNull(response.getCookie(ReadYourWritesFilter.COOKIE_NAME));
+        assertFalse(ReadYourWritesFilter.isPinnedToPrimary());
+    }
+
+    @Test
+    void doFilter_readWithoutCookie_isNotPinned() throws Exception {
+        filter.doFilter(new MockHttpServletRequest("GET", "/users"),
+                new MockHttpServletResponse(), chain);
+
+        assertFalse(pinnedInChain.get());
+    }
+}
@@ -0,0 +1,86 @@
+package test.assignment.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import jakarta.servlet.http.Cookie;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class ReplicaRoutingDataSourceTest {
+    private final Connection primaryConnection = mock(Connection.class);
+    private final Connection firstReplicaConnection = mock(Connection.class);
+    private final Connection secondReplicaConnection = mock(Connection.class);
+    private final DataSource primary = mock(DataSource.class);
+    private final DataSource firstReplica = mock(DataSource.class);
+    private final DataSource secondReplica = mock(DataSource.class);
+
+    @Test
+    void getConnection_rotatesOverReplicas() throws SQLException {
+        when(firstReplica.getConnection()).thenReturn(firstReplicaConnection);
+        when(secondReplica.getConnection()).thenReturn(secondReplicaConnection);
+        ReplicaRoutingDataSource routing =
+                new ReplicaRoutingDataSource(primary, List.of(firstReplica, secondReplica));
+
+        assertSame(firstReplicaConnection, routing.getConnection());
+        assertSame(secondReplicaConnection, routing.getConnection());
+        assertSame(firstReplicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void getConnection_pinnedRequest_usesPrimary() throws Exception {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        ReplicaRoutingDataSource routing =
+                new ReplicaRoutingDataSource(primary, List.of(firstReplica));
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users");
+        request.setCookies(new Cookie(ReadYourWritesFilter.COOKIE_NAME, "1"));
+        AtomicReference<Connection> connection = new AtomicReference<>();
+
+        new ReadYourWritesFilter(Duration.ofSeconds(5)).doFilter(request,
+                new MockHttpServletResponse(), (req, res) -> {
+                    try {
+                        connection.set(routing.getConnection());
+                    } catch (SQLException e) {
+                        throw new IllegalStateException(e);
+                    }
+                });
+
+        assertSame(primaryConnection, connection.get());
+    }
+
+    @Test
+    void getConnection_insidePrimaryRead_usesPrimary() throws SQLException {
+        when(primary.getConnection()).thenReturn(primaryConnection);
+        when(firstReplica.getConnection()).thenReturn(firstReplicaConnection);
+        ReplicaRoutingDataSource routing =
+                new ReplicaRoutingDataSource(primary, List.of(firstReplica));
+
+        Connection connection = PrimaryReads.call(() -> {
+            try {
+                return routing.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertSame(primaryConnection, connection);
+        assertFalse(PrimaryReads.isPinned());
+        assertSame(firstReplicaConnection, routing.getConnection());
+    }
+
+    @Test
+    void constructor_withoutReplicas_throwsException() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new ReplicaRoutingDataSource(primary, List.of()));
+    }
+}
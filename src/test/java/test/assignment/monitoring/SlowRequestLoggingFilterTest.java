@@ -0,0 +1,52 @@
+package test.assignment.monitoring;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.servlet.HandlerMapping;
+
+class SlowRequestLoggingFilterTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementRecorder recorder = new SqlStatementRecorder();
+    private final SlowRequestLoggingFilter filter =
+            new SlowRequestLoggingFilter(meterRegistry, Duration.ZERO);
+
+    @Test
+    void doFilter_recordsStatementsIssuedDuringRequest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/users/1");
+        request.setAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE, "/users/{id}");
+        MockFilterChain chain = new MockFilterChain(new HttpServlet() {
+            @Override
+            protected void doGet(HttpServletRequest req,
+                                 HttpServletResponse resp) {
+                recorder.inspect("select 1");
+                recorder.inspect("select 2");
+            }
+        });
+
+        filter.doFilter(request, new MockHttpServletResponse(), chain);
+
+        DistributionSummary summary = meterRegistry.get("http.server.requests.sql")
+                .tag("method", "GET")
+                .tag("uri", "/users/{id}")
+                .summary();
+        assertEquals(1, summary.count());
+        assertEquals(2.0, summary.totalAmount());
+    }
+
+    @Test
+    void inspect_outsideRequest_passesStatementThrough() {
+        assertEquals("select 1", recorder.inspect("select 1"));
+        assertTrue(SqlStatementRecorder.stop().statements().isEmpty());
+    }
+}
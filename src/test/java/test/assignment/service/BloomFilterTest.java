@@ -0,0 +1,61 @@
+package test.assignment.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class BloomFilterTest {
+    private static final int INSERTED = 10_000;
+    private static final int PROBED = 100_000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final BloomFilter filter = new BloomFilter(INSERTED, FALSE_POSITIVE_RATE);
+
+    @Test
+    void mightContain_findsEveryAddedValue() {
+        for (int i = 0; i < INSERTED; i++) {
+            filter.add(BloomFilter.hash(email(i)));
+        }
+
+        for (int i = 0; i < INSERTED; i++) {
+            assertTrue(filter.mightContain(BloomFilter.hash(email(i))));
+        }
+    }
+
+    @Test
+    void mightContain_absentValues_passAtAboutTheConfiguredRate() {
+        for (int i = 0; i < INSERTED; i++) {
+            filter.add(BloomFilter.hash(email(i)));
+        }
+
+        int falsePositives = 0;
+        for (int i = INSERTED; i < INSERTED + PROBED; i++) {
+            if (filter.mightContain(BloomFilter.hash(email(i)))) {
+                falsePositives++;
+            }
+        }
+
+        double observed = (double) falsePositives / PROBED;
+        assertTrue(observed < 2 * FALSE_POSITIVE_RATE, "observed " + observed);
+        assertEquals(FALSE_POSITIVE_RATE, filter.expectedFalsePositiveRate(), 0.005);
+    }
+
+    @Test
+    void constructor_sizesFilterForTheRate() {
+        // -n ln(0.01) / ln(2)^2 is about 9.6 bits per value, with 7 hash functions.
+        assertTrue(filter.bitCount() >= 95_851 && filter.bitCount() < 95_851 + Long.SIZE);
+        assertEquals(7, filter.hashCount());
+    }
+
+    @Test
+    void mightContain_emptyFilter_rejectsEverything() {
+        assertFalse(filter.mightContain(BloomFilter.hash(email(0))));
+        assertEquals(0, filter.expectedFalsePositiveRate());
+    }
+
+    private static String email(int n) {
+        return "user" + n + "@example.com";
+    }
+}
@@ -0,0 +1,80 @@
+package test.assignment.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class IntervalTreeTest {
+    private final IntervalTree<String> tree = new IntervalTree<>();
+
+    @Test
+    void forEachContaining_findsIntervalsIncludingTheirBounds() {
+        tree.add(1, 5, "a");
+        tree.add(3, 3, "b");
+        tree.add(4, 10, "c");
+        tree.add(11, 20, "d");
+
+        assertEquals(Set.of("a", "b"), containing(3));
+        assertEquals(Set.of("a", "c"), containing(5));
+        assertEquals(Set.of("c"), containing(10));
+        assertEquals(Set.of(), containing(0));
+        assertEquals(Set.of(), containing(21));
+    }
+
+    @Test
+    void remove_dropsOnlyTheMatchingInterval() {
+        tree.add(1, 5, "a");
+        tree.add(1, 6, "b");
+
+        assertTrue(tree.remove(1, 5));
+        assertFalse(tree.remove(1, 5));
+
+        assertEquals(Set.of("b"), containing(3));
+        assertEquals(1, tree.size());
+    }
+
+    @Test
+    void forEachContaining_matchesLinearScanForRandomIntervals() {
+        Random random = new Random(42);
+        List<long[]> intervals = new ArrayList<>();
+        Set<List<Long>> distinct = new HashSet<>();
+        for (int i = 0; i < 2000; i++) {
+            long from = random.nextInt(10_000);
+            long[] interval = {from, from + random.nextInt(500), i};
+            if (!distinct.add(List.of(interval[0], interval[1]))) {
+                continue;
+            }
+            intervals.add(interval);
+            tree.add(interval[0], interval[1], Long.toString(interval[2]));
+        }
+        for (int i = 0; i < 500; i++) {
+            long[] removed = intervals.remove(random.nextInt(intervals.size()));
+            tree.remove(removed[0], removed[1]);
+        }
+
+        for (int i = 0; i < 200; i++) {
+            long point = random.nextInt(10_500);
+            Set<String> expected = new HashSet<>();
+            for (long[] interval : intervals) {
+                if (interval[0] <= point && point <= interval[1]) {
+                    expected.add(Long.toString(interval[2]));
+                }
+            }
+            assertEquals(expected, containing(point), "point " + point);
+        }
+        assertEquals(intervals.size(), tree.size());
+    }
+
+    private Set<String> containing(long point) {
+        Set<String> keys = new HashSet<>();
+        tree.forEachContaining(point, keys::add);
+        return keys;
+    }
+}
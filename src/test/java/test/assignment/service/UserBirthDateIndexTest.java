@@ -0,0 +1,138 @@
+package test.assignment.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.event.UserChangeEvent.ChangeType;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.repository.UserRepository;
+
+class UserBirthDateIndexTest {
+    private static final LocalDate FROM = LocalDate.of(1980, 1, 1);
+    private static final LocalDate TO = LocalDate.of(1990, 12, 31);
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final UserBirthDateIndex index = new UserBirthDateIndex(true, userRepository,
+            mock(PlatformTransactionManager.class));
+
+    @Test
+    void load_ordersUsersByBirthDateThenId() {
+        UserResponseDto first = user(3L, LocalDate.of(1985, 5, 5));
+        UserResponseDto second = user(1L, LocalDate.of(1985, 6, 6));
+        UserResponseDto third = user(2L, LocalDate.of(1985, 6, 6));
+        when(userRepository.streamAllUserDtos()).thenReturn(Stream.of(second, third, first));
+
+        index.load();
+
+        assertTrue(index.isReady());
+        assertEquals(List.of(first, second, third), index.findByBirthDateBetween(FROM, TO));
+    }
+
+    @Test
+    void findByBirthDateBetween_includesBothBoundsOnly() {
+        UserResponseDto before = user(1L, FROM.minusDays(1));
+        UserResponseDto onFrom = user(2L, FROM);
+        UserResponseDto onTo = user(3L, TO);
+        UserResponseDto after = user(4L, TO.plusDays(1));
+        when(userRepository.streamAllUserDtos())
+                .thenReturn(Stream.of(before, onFrom, onTo, after));
+        index.load();
+
+        assertEquals(List.of(onFrom, onTo), index.findByBirthDateBetween(FROM, TO));
+        assertEquals(List.of(), index.findByBirthDateBetween(TO.plusDays(2), TO.plusDays(3)));
+    }
+
+    @Test
+    void onUserChange_keepsIndexInSyncWithWrites() {
+        when(userRepository.streamAllUserDtos()).thenReturn(Stream.empty());
+        index.load();
+        UserResponseDto created = user(1L, LocalDate.of(1985, 1, 1));
+        UserResponseDto other = user(2L, LocalDate.of(1986, 1, 1));
+        UserResponseDto moved = user(1L, LocalDate.of(1987, 1, 1));
+
+        index.onUserChange(new UserChangeEvent(ChangeType.CREATED, 1L, 0, created));
+        index.onUserChange(new UserChangeEvent(ChangeType.CREATED, 2L, 0, other));
+        assertEquals(List.of(created, other), index.findByBirthDateBetween(FROM, TO));
+
+        index.onUserChange(new UserChangeEvent(ChangeType.UPDATED, 1L, 1, moved));
+        assertEquals(List.of(other, moved), index.findByBirthDateBetween(FROM, TO));
+
+        index.onUserChange(new UserChangeEvent(ChangeType.DELETED, 2L, 1, null));
+        assertEquals(List.of(moved), index.findByBirthDateBetween(FROM, TO));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void onUserChange_olderThanAppliedVersion_isDropped() {
+        when(userRepository.streamAllUserDtos()).thenReturn(Stream.empty());
+        index.load();
+        UserResponseDto first = user(1L, LocalDate.of(1985, 1, 1));
+        UserResponseDto second = user(1L, LocalDate.of(1986, 1, 1));
+
+        index.onUserChange(new UserChangeEvent(ChangeType.UPDATED, 1L, 2, second));
+        index.onUserChange(new UserChangeEvent(ChangeType.UPDATED, 1L, 1, first));
+        assertEquals(List.of(second), index.findByBirthDateBetween(FROM, TO));
+
+        index.onUserChange(new UserChangeEvent(ChangeType.DELETED, 1L, 4, null));
+        index.onUserChange(new UserChangeEvent(ChangeType.UPDATED, 1L, 3, first));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void onUserChange_growsPastInitialCapacity() {
+        when(userRepository.streamAllUserDtos()).thenReturn(Stream.empty());
+        index.load();
+
+        for (long id = 1; id <= 3000; id++) {
+            index.onUserChange(new UserChangeEvent(ChangeType.CREATED, id, 0,
+                    user(id, FROM.plusDays(3000 - id))));
+        }
+
+        List<UserResponseDto> users = index.findByBirthDateBetween(FROM, FROM.plusDays(9));
+        assertEquals(10, users.size());
+        assertEquals(3000L, users.get(0).id());
+    }
+
+    @Test
+    void onUserChange_duringLoad_isReplayedAfterLoad() {
+        UserResponseDto stale = user(1L, LocalDate.of(1985, 1, 1));
+        UserResponseDto updated = user(1L, LocalDate.of(1989, 1, 1));
+        UserResponseDto created = user(2L, LocalDate.of(1988, 1, 1));
+        when(userRepository.streamAllUserDtos()).thenAnswer(invocation -> {
+            index.onUserChange(new UserChangeEvent(ChangeType.UPDATED, 1L, 1, updated));
+            index.onUserChange(new UserChangeEvent(ChangeType.CREATED, 2L, 0, created));
+            return Stream.of(stale);
+        });
+
+        index.load();
+
+        assertEquals(List.of(created, updated), index.findByBirthDateBetween(FROM, TO));
+    }
+
+    @Test
+    void load_whenDisabled_staysNotReady() {
+        UserBirthDateIndex disabled = new UserBirthDateIndex(false, userRepository,
+                mock(PlatformTransactionManager.class));
+
+        disabled.load();
+
+        assertFalse(disabled.isReady());
+        verify(userRepository, never()).streamAllUserDtos();
+    }
+
+    private static UserResponseDto user(long id, LocalDate birthDate) {
+        return new UserResponseDto(id, "user" + id + "@example.com", "John", "Doe", birthDate,
+                null, null);
+    }
+}
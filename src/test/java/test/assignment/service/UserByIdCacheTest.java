@@ -0,0 +1,101 @@
+package test.assignment.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import test.assignment.configuration.CacheConfig;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.event.UserChangeEvent.ChangeType;
+import test.assignment.model.dto.response.UserResponseDto;
+
+class UserByIdCacheTest {
+    private final CacheManager cacheManager = new ConcurrentMapCacheManager();
+    private final UserByIdCache cache = new UserByIdCache(cacheManager);
+    private final AtomicInteger loads = new AtomicInteger();
+
+    @Test
+    void get_repeatedId_isServedFromCache() {
+        UserResponseDto first = cache.get(1L, () -> load("old@example.com"));
+        UserResponseDto second = cache.get(1L, () -> load("new@example.com"));
+
+        assertSame(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void onUserChange_evictsTheUser() {
+        cache.get(1L, () -> load("old@example.com"));
+
+        cache.onUserChange(updated());
+
+        assertNull(cacheManager.getCache(CacheConfig.USERS_CACHE).get(1L));
+        assertEquals("new@example.com", cache.get(1L, () -> load("new@example.com")).email());
+    }
+
+    @Test
+    void get_missOverlappingACommittedUpdate_doesNotCacheTheOldUser() throws Exception {
+        CountDownLatch loaded = new CountDownLatch(1);
+        CountDownLatch committed = new CountDownLatch(1);
+        AtomicReference<String> row = new AtomicReference<>("old@example.com");
+        CompletableFuture<UserResponseDto> miss = CompletableFuture.supplyAsync(
+                () -> cache.get(1L, () -> {
+                    UserResponseDto user = load(row.get());
+                    loaded.countDown();
+                    await(committed);
+                    return user;
+                }));
+
+        // The update commits after the miss has read the old row but before it is cached.
+        assertTrue(loaded.await(5, TimeUnit.SECONDS));
+        row.set("new@example.com");
+        cache.onUserChange(updated());
+        committed.countDown();
+
+        assertEquals("old@example.com", miss.get(5, TimeUnit.SECONDS).email());
+        assertEquals("new@example.com", cache.get(1L, () -> load(row.get())).email());
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onUserChange_created_keepsOtherLoadsCacheable() {
+        cache.get(1L, () -> {
+            cache.onUserChange(new UserChangeEvent(ChangeType.CREATED, 1L, 0,
+                    user("other@example.com")));
+            return load("old@example.com");
+        });
+
+        assertEquals("old@example.com", cache.get(1L, () -> load("new@example.com")).email());
+        assertEquals(1, loads.get());
+    }
+
+    private UserResponseDto load(String email) {
+        loads.incrementAndGet();
+        return user(email);
+    }
+
+    private static UserChangeEvent updated() {
+        return new UserChangeEvent(ChangeType.UPDATED, 1L, 1, user("new@example.com"), null);
+    }
+
+    private static UserResponseDto user(String email) {
+        return new UserResponseDto(1L, email, "John", "Doe", null, null, null);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,292 @@
+package test.assignment.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.event.UserChangeEvent.ChangeType;
+import test.assignment.exception.ConcurrencyLimitExceededException;
+import test.assignment.model.dto.response.UserResponseDto;
+
+class UserChangeFeedTest {
+    private static final Duration HOUR = Duration.ofHours(1);
+    private static final long WAIT_MILLIS = 5000;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final List<RecordingEmitter> emitters = new CopyOnWriteArrayList<>();
+    private UserChangeFeed feed = feed(4, 2, HOUR);
+
+    @AfterEach
+    void tearDown() {
+        feed.stop();
+    }
+
+    @Test
+    void subscribe_streamsChangesCommittedAfterIt() throws InterruptedException {
+        feed.onUserChange(created(1L));
+        RecordingEmitter emitter = subscribe(null);
+        feed.onUserChange(new UserChangeEvent(ChangeType.UPDATED, 1L, 1, user(1L)));
+        feed.onUserChange(new UserChangeEvent(ChangeType.DELETED, 1L, 2, null));
+
+        List<String> events = awaitEvents(emitter, 2);
+        assertTrue(events.get(0).matches("id:\\w+-2\nevent:updated\ndata:\\{\"type\":\"UPDATED\","
+                + "\"id\":1,\"version\":1,\"user\":\\{\"id\":1,.*}}\n\n"), events.get(0));
+        assertTrue(events.get(1).matches("id:\\w+-3\nevent:deleted\ndata:\\{\"type\":\"DELETED\","
+                + "\"id\":1,\"version\":2,\"user\":null}\n\n"), events.get(1));
+    }
+
+    @Test
+    void onUserChange_olderThanOneAlreadySent_isDropped() throws InterruptedException {
+        RecordingEmitter emitter = subscribe(null);
+        feed.onUserChange(new UserChangeEvent(ChangeType.UPDATED, 1L, 2, user(1L)));
+        feed.onUserChange(new UserChangeEvent(ChangeType.UPDATED, 1L, 1, user(1L)));
+        feed.onUserChange(new UserChangeEvent(ChangeType.DELETED, 1L, 3, null));
+
+        List<String> events = awaitEvents(emitter, 2);
+        assertTrue(events.get(0).matches("id:\\w+-1\nevent:updated\n(?s).*\"version\":2,.*"),
+                events.get(0));
+        assertTrue(events.get(1).matches("id:\\w+-2\nevent:deleted\n(?s).*\"version\":3,.*"),
+                events.get(1));
+    }
+
+    @Test
+    void subscribe_withLastEventIdInBuffer_resumesRightAfterIt() throws InterruptedException {
+        RecordingEmitter first = subscribe(null);
+        feed.onUserChange(created(1L));
+        feed.onUserChange(created(2L));
+        feed.onUserChange(created(3L));
+        String firstId = id(awaitEvents(first, 3).get(0));
+
+        RecordingEmitter resumed = subscribe(firstId);
+
+        List<String> events = awaitEvents(resumed, 2);
+        assertTrue(events.get(0).contains("\"id\":2,"), events.get(0));
+        assertTrue(events.get(1).contains("\"id\":3,"), events.get(1));
+    }
+
+    @Test
+    void subscribe_withExpiredOrForeignLastEventId_sendsResetFirst()
+            throws InterruptedException {
+        RecordingEmitter first = subscribe(null);
+        for (long id = 1; id <= 6; id++) {
+            publishTo(first, id);
+        }
+        String expiredId = id(awaitEvents(first, 1).get(0));
+        first.fail();
+        feed.onUserChange(created(7L));
+        awaitSubscribers(0);
+
+        RecordingEmitter expired = subscribe(expiredId);
+        RecordingEmitter foreign = subscribe("0-1");
+        feed.onUserChange(created(8L));
+
+        for (RecordingEmitter emitter : List.of(expired, foreign)) {
+            List<String> events = awaitEvents(emitter, 2);
+            assertTrue(events.get(0).matches("id:\\w+-7\nevent:reset\ndata:\\{}\n\n"),
+                    events.get(0));
+            assertTrue(events.get(1).contains("\"id\":8,"), events.get(1));
+        }
+        assertEquals(2, meterRegistry.get("users.change-feed.resets").counter().count());
+    }
+
+    @Test
+    void slowSubscriber_blocksNeitherWritersNorOthers_andIsResetOnceBehind()
+            throws InterruptedException {
+        RecordingEmitter slow = subscribe(null);
+        RecordingEmitter fast = subscribe(null);
+        assertTrue(await(slow, frames -> !frames.isEmpty()));
+        slow.hold();
+
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (long id = 1; id <= 10; id++) {
+                publishTo(fast, id);
+            }
+        });
+
+        slow.release();
+        assertTrue(await(slow, frames -> events(frames).stream()
+                .anyMatch(event -> event.contains("event:reset"))));
+        feed.onUserChange(created(11L));
+        assertTrue(await(slow, frames -> frames.get(frames.size() - 1).contains("\"id\":11,")));
+        // What it had picked up before stalling may still go out, then it skips ahead.
+        List<String> events = events(slow.frames);
+        assertTrue(events.get(events.size() - 2).matches("id:\\w+-10\nevent:reset\n(?s).*"),
+                () -> "got " + events);
+    }
+
+    @Test
+    void subscribe_beyondLimit_isRejectedUntilAClientLeaves() throws InterruptedException {
+        RecordingEmitter first = subscribe(null);
+        subscribe(null);
+
+        assertThrows(ConcurrencyLimitExceededException.class, () -> feed.subscribe(null));
+
+        first.fail();
+        feed.onUserChange(created(1L));
+        awaitSubscribers(1);
+        subscribe(null);
+    }
+
+    @Test
+    void subscribe_concurrently_neverExceedsLimit() throws Exception {
+        int attempts = 16;
+        ExecutorService clients = Executors.newFixedThreadPool(attempts);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> results = new ArrayList<>();
+        try {
+            for (int i = 0; i < attempts; i++) {
+                results.add(clients.submit(() -> {
+                    start.await();
+                    try {
+                        feed.subscribe(null);
+                        return true;
+                    } catch (ConcurrencyLimitExceededException e) {
+                        return false;
+                    }
+                }));
+            }
+            start.countDown();
+            int accepted = 0;
+            for (Future<Boolean> result : results) {
+                accepted += result.get() ? 1 : 0;
+            }
+
+            assertEquals(2, accepted);
+            awaitSubscribers(2);
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    @Test
+    void heartbeat_sendsCommentsToIdleClients() throws InterruptedException {
+        feed.stop();
+        feed = feed(4, 2, Duration.ofMillis(10));
+
+        RecordingEmitter emitter = subscribe(null);
+
+        assertTrue(await(emitter, frames -> frames.stream()
+                .filter(frame -> frame.equals(":keep-alive\n\n")).count() >= 3));
+    }
+
+    private UserChangeFeed feed(int bufferSize, int maxSubscribers, Duration heartbeat) {
+        return new UserChangeFeed(bufferSize, maxSubscribers, heartbeat, HOUR,
+                new ObjectMapper().findAndRegisterModules(), meterRegistry) {
+            @Override
+            SseEmitter createEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+    }
+
+    /** Publishes a change and waits for it to reach {@code emitter}, so it never falls behind. */
+    private void publishTo(RecordingEmitter emitter, long id) throws InterruptedException {
+        feed.onUserChange(created(id));
+        assertTrue(await(emitter, frames -> events(frames).size() >= id));
+    }
+
+    private RecordingEmitter subscribe(String lastEventId) {
+        return (RecordingEmitter) feed.subscribe(lastEventId);
+    }
+
+    /** The first {@code count} frames that are events rather than comments. */
+    private static List<String> awaitEvents(RecordingEmitter emitter, int count)
+            throws InterruptedException {
+        assertTrue(await(emitter, frames -> events(frames).size() >= count),
+                () -> "got " + emitter.frames);
+        return events(emitter.frames).subList(0, count);
+    }
+
+    private static List<String> events(List<String> frames) {
+        return frames.stream().filter(frame -> !frame.startsWith(":")).toList();
+    }
+
+    private static boolean await(RecordingEmitter emitter, Predicate<List<String>> condition)
+            throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (!condition.test(emitter.frames)) {
+            if (System.currentTimeMillis() > deadline) {
+                return false;
+            }
+            Thread.sleep(5);
+        }
+        return true;
+    }
+
+    private void awaitSubscribers(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + WAIT_MILLIS;
+        while (meterRegistry.get("users.change-feed.subscribers").gauge().value() != count) {
+            assertTrue(System.currentTimeMillis() < deadline);
+            Thread.sleep(5);
+        }
+    }
+
+    private static String id(String event) {
+        return event.substring("id:".length(), event.indexOf('\n'));
+    }
+
+    private static UserChangeEvent created(Long id) {
+        return new UserChangeEvent(ChangeType.CREATED, id, 0, user(id));
+    }
+
+    private static UserResponseDto user(Long id) {
+        return new UserResponseDto(id, "user" + id + "@example.com", "John", "Doe",
+                LocalDate.of(1990, 1, 1), null, null);
+    }
+
+    /** Keeps every frame instead of writing it to a client, which can stall or go away. */
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> frames = new CopyOnWriteArrayList<>();
+        private volatile CountDownLatch held = new CountDownLatch(0);
+        private volatile boolean failing;
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                held.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            if (failing) {
+                throw new IOException("Connection reset");
+            }
+            frames.add(builder.build().stream()
+                    .map(data -> data.getData().toString())
+                    .collect(Collectors.joining()));
+        }
+
+        private void hold() {
+            held = new CountDownLatch(1);
+        }
+
+        private void release() {
+            held.countDown();
+        }
+
+        private void fail() {
+            failing = true;
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package test.assignment.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import test.assignment.exception.EntityNotFoundException;
+import test.assignment.exception.InvalidUserException;
+import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.response.UserBatchItemResponseDto;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.service.UserCreateGroupCommitter.PendingCreate;
+
+class UserCreateGroupCommitterTest {
+    private static final Duration LONG_WINDOW = Duration.ofSeconds(30);
+    private static final int CALLERS = 3;
+
+    private final UserService userService = mock(UserService.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private UserCreateGroupCommitter committer;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        committer.stop();
+    }
+
+    /** The window is long enough that only a full batch triggers a flush. */
+    private void startCommitter(int maxBatchSize) {
+        committer = new UserCreateGroupCommitter(userService, meterRegistry, LONG_WINDOW,
+                maxBatchSize, 10);
+        committer.start();
+    }
+
+    @Test
+    void createUser_concurrentCallers_shareOneBatchAndGetTheirOwnUser() {
+        List<SaveUserDto> newUsers = IntStream.range(0, CALLERS)
+                .mapToObj(UserCreateGroupCommitterTest::saveUserDto)
+                .toList();
+        when(userService.createUsers(anyList())).thenAnswer(invocation -> {
+            List<SaveUserDto> batch = invocation.getArgument(0);
+            return IntStream.range(0, batch.size())
+                    .mapToObj(i -> new UserBatchItemResponseDto(i,
+                            responseDto(batch.get(i)), List.of()))
+                    .toList();
+        });
+        startCommitter(CALLERS);
+
+        List<CompletableFuture<UserResponseDto>> results = newUsers.stream()
+                .map(dto -> CompletableFuture.supplyAsync(() -> committer.createUser(dto)))
+                .toList();
+
+        for (int i = 0; i < CALLERS; i++) {
+            assertEquals(newUsers.get(i).email(), results.get(i).join().email());
+        }
+        assertEquals(1, meterRegistry.get("users.group-commit.batch.size").summary().count());
+        verify(userService, never()).createUser(saveUserDto(0));
+    }
+
+    @Test
+    void createUser_failedBatch_retriesOneByOneAndFailsOnlyOffendingCaller() {
+        SaveUserDto good = saveUserDto(0);
+        SaveUserDto bad = saveUserDto(1);
+        EntityNotFoundException failure = new EntityNotFoundException("boom");
+        when(userService.createUsers(anyList())).thenThrow(failure);
+        when(userService.createUser(good)).thenReturn(responseDto(good));
+        when(userService.createUser(bad)).thenThrow(failure);
+        startCommitter(2);
+
+        CompletableFuture<UserResponseDto> goodResult =
+                CompletableFuture.supplyAsync(() -> committer.createUser(good));
+        EntityNotFoundException actual = assertThrows(EntityNotFoundException.class,
+                () -> committer.createUser(bad));
+
+        assertSame(failure, actual);
+        assertEquals(good.email(), goodResult.join().email());
+    }
+
+    @Test
+    void createUser_rejectedByBatchValidation_throwsInvalidUser() {
+        SaveUserDto invalid = saveUserDto(0);
+        when(userService.createUsers(anyList())).thenReturn(List.of(
+                new UserBatchItemResponseDto(0, null, List.of("firstName must not be blank"))));
+        startCommitter(1);
+
+        InvalidUserException actual = assertThrows(InvalidUserException.class,
+                () -> committer.createUser(invalid));
+
+        assertEquals(List.of("firstName must not be blank"), actual.getErrors());
+    }
+
+    @Test
+    void createUser_whenStopDrainsTheQueueJustBeforeItsPut_createsOnCallerThread() {
+        SaveUserDto late = saveUserDto(0);
+        when(userService.createUser(late)).thenReturn(responseDto(late));
+        committer = new UserCreateGroupCommitter(userService, meterRegistry, LONG_WINDOW, 1,
+                10) {
+            @Override
+            BlockingQueue<PendingCreate> createQueue(int capacity) {
+                return new ArrayBlockingQueue<>(capacity) {
+                    @Override
+                    public void put(PendingCreate pending) throws InterruptedException {
+                        stop();
+                        super.put(pending);
+                    }
+                };
+            }
+        };
+        committer.start();
+
+        UserResponseDto actual = assertTimeoutPreemptively(Duration.ofSeconds(5),
+                () -> committer.createUser(late));
+
+        assertEquals(late.email(), actual.email());
+        verify(userService, never()).createUsers(anyList());
+    }
+
+    private static SaveUserDto saveUserDto(int i) {
+        return new SaveUserDto("user" + i + "@example.com", "John", "Doe",
+                LocalDate.of(1990, 1, 1), null, null);
+    }
+
+    private static UserResponseDto responseDto(SaveUserDto dto) {
+        return new UserResponseDto(1L, dto.email(), dto.firstName(), dto.lastName(),
+                dto.birthDate(), dto.address(), dto.phoneNumber());
+    }
+}
@@ -0,0 +1,130 @@
+package test.assignment.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListenerFactory;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+import org.springframework.util.unit.DataSize;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.event.UserChangeEvent.ChangeType;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.repository.UserRepository;
+
+class UserDataVersionTest {
+    private static final Set<String> VIEWS = Set.of("birthDateIndex", "rangeCache",
+            "nameIndex", "emailFilter");
+    private static final UserChangeEvent EVENT = new UserChangeEvent(ChangeType.CREATED, 1L, 0,
+            new UserResponseDto(1L, "a@example.com", "John", "Doe", LocalDate.of(1990, 1, 1),
+                    null, null));
+
+    private final List<String> calls = new ArrayList<>();
+    private final AnnotationConfigApplicationContext context = context();
+
+    @BeforeEach
+    void setUp() {
+        context.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void onUserChange_afterCommit_runsAfterEveryViewAndBeforeTheChangeFeed() {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        try {
+            context.publishEvent(EVENT);
+            assertEquals(List.of(), calls);
+            TransactionSynchronizationUtils.invokeAfterCompletion(
+                    TransactionSynchronizationManager.getSynchronizations(),
+                    TransactionSynchronization.STATUS_COMMITTED);
+        } finally {
+            TransactionSynchronizationManager.setActualTransactionActive(false);
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        assertViewsThenVersionThenFeed();
+    }
+
+    @Test
+    void onUserChange_withoutTransaction_runsAfterEveryViewAndBeforeTheChangeFeed() {
+        context.publishEvent(EVENT);
+
+        assertViewsThenVersionThenFeed();
+    }
+
+    private void assertViewsThenVersionThenFeed() {
+        assertEquals(6, calls.size(), calls::toString);
+        assertEquals(VIEWS, Set.copyOf(calls.subList(0, 4)));
+        assertEquals(List.of("version", "feed"), calls.subList(4, 6));
+    }
+
+    /** Every listener only records its call; they are registered in the reverse order. */
+    private AnnotationConfigApplicationContext context() {
+        UserRepository userRepository = mock(UserRepository.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        AnnotationConfigApplicationContext context = new AnnotationConfigApplicationContext();
+        context.registerBean(TransactionalEventListenerFactory.class);
+        context.registerBean(UserChangeFeed.class, () -> new UserChangeFeed(16, 1,
+                Duration.ofHours(1), Duration.ofHours(1), new ObjectMapper(), meterRegistry) {
+            @Override
+            public void onUserChange(UserChangeEvent event) {
+                calls.add("feed");
+            }
+        });
+        context.registerBean(UserDataVersion.class, () -> new UserDataVersion() {
+            @Override
+            public void onUserChange(UserChangeEvent event) {
+                calls.add("version");
+            }
+        });
+        context.registerBean(UserBirthDateIndex.class, () -> new UserBirthDateIndex(true,
+                userRepository, transactionManager) {
+            @Override
+            public void onUserChange(UserChangeEvent event) {
+                calls.add("birthDateIndex");
+            }
+        });
+        context.registerBean(UserRangeCache.class, () -> new UserRangeCache(true,
+                DataSize.ofMegabytes(1), meterRegistry) {
+            @Override
+            public void onUserChange(UserChangeEvent event) {
+                calls.add("rangeCache");
+            }
+        });
+        context.registerBean(UserNameIndex.class, () -> new UserNameIndex(true,
+                Duration.ofMillis(100), userRepository, transactionManager) {
+            @Override
+            public void onUserChange(UserChangeEvent event) {
+                calls.add("nameIndex");
+            }
+        });
+        context.registerBean(UserEmailFilter.class, () -> new UserEmailFilter(true, 0.01, 1000,
+                userRepository, transactionManager, meterRegistry) {
+            @Override
+            public void onUserChange(UserChangeEvent event) {
+                calls.add("emailFilter");
+            }
+        });
+        return context;
+    }
+}
@@ -0,0 +1,102 @@
+package test.assignment.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.event.UserChangeEvent.ChangeType;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.repository.UserRepository;
+
+class UserEmailFilterTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserEmailFilter emailFilter = emailFilter(true);
+    private final AtomicInteger probes = new AtomicInteger();
+
+    @Test
+    void isTaken_afterLoad_probesOnlyEmailsThatMightBeInUse() {
+        when(userRepository.streamAllUserDtos()).thenReturn(Stream.of(user(1L, "a@example.com")));
+        emailFilter.load();
+
+        assertTrue(emailFilter.isReady());
+        assertTrue(emailFilter.isTaken("a@example.com", this::probeTaken));
+        assertFalse(emailFilter.isTaken("b@example.com", this::probeTaken));
+
+        assertEquals(1, probes.get());
+        assertEquals(1, count("taken"));
+        assertEquals(1, count("skipped"));
+    }
+
+    @Test
+    void isTaken_beforeLoad_alwaysProbes() {
+        assertFalse(emailFilter.isTaken("a@example.com", this::probeFree));
+
+        assertFalse(emailFilter.isReady());
+        assertEquals(1, probes.get());
+        assertEquals(0, count("skipped") + count("available") + count("taken"));
+    }
+
+    @Test
+    void onUserChange_addsWrittenEmails_includingThoseCommittedDuringLoad() {
+        emailFilter.onUserChange(created(1L, "during-load@example.com"));
+        when(userRepository.streamAllUserDtos()).thenReturn(Stream.empty());
+        emailFilter.load();
+        emailFilter.onUserChange(created(2L, "after-load@example.com"));
+        emailFilter.onUserChange(new UserChangeEvent(ChangeType.DELETED, 3L, 1, null));
+
+        assertTrue(emailFilter.isTaken("during-load@example.com", this::probeTaken));
+        assertTrue(emailFilter.isTaken("after-load@example.com", this::probeTaken));
+        assertEquals(2, probes.get());
+    }
+
+    @Test
+    void isTaken_whenDisabled_alwaysProbes() {
+        UserEmailFilter disabled = emailFilter(false);
+        disabled.load();
+        disabled.onUserChange(created(1L, "a@example.com"));
+
+        assertFalse(disabled.isTaken("b@example.com", this::probeFree));
+
+        assertFalse(disabled.isReady());
+        assertEquals(1, probes.get());
+    }
+
+    private boolean probeTaken() {
+        probes.incrementAndGet();
+        return true;
+    }
+
+    private boolean probeFree() {
+        probes.incrementAndGet();
+        return false;
+    }
+
+    private UserEmailFilter emailFilter(boolean enabled) {
+        return new UserEmailFilter(enabled, 0.01, 1000, userRepository,
+                mock(PlatformTransactionManager.class), meterRegistry);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("users.email-checks").tag("outcome", outcome).counter().count();
+    }
+
+    private static UserChangeEvent created(Long id, String email) {
+        return new UserChangeEvent(ChangeType.CREATED, id, 0, user(id, email));
+    }
+
+    private static UserResponseDto user(Long id, String email) {
+        return new UserResponseDto(id, email, "John", "Doe", LocalDate.of(1990, 1, 1),
+                null, null);
+    }
+}
@@ -0,0 +1,282 @@
+package test.assignment.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+import test.assignment.exception.DuplicateEmailException;
+import test.assignment.exception.InvalidImportException;
+import test.assignment.model.User;
+import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.response.UserImportErrorDto;
+import test.assignment.model.dto.response.UserImportResponseDto;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.repository.UserRepository;
+import test.assignment.util.UserMapper;
+import test.assignment.util.parser.CsvUserRowWriter;
+import test.assignment.util.parser.UserImportFormat;
+import test.assignment.util.validation.UserDtoValidator;
+
+@ExtendWith(MockitoExtension.class)
+class UserImportServiceImplTest {
+    private static final String CSV_HEADER = "email,firstName,lastName,birthDate\n";
+
+    @Mock
+    private UserRepository userRepository;
+
+    @Mock
+    private UserMapper mapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Spy
+    private UserDtoValidator validator = new UserDtoValidator(
+            Validation.buildDefaultValidatorFactory().getValidator());
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private TransactionTemplate transactionTemplate;
+
+    @Spy
+    private ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
+    @Mock
+    private UserEmailFilter emailFilter;
+
+    @InjectMocks
+    private UserImportServiceImpl userImportService;
+
+    @Test
+    void importUsers_commitsValidRowsInChunksAndReportsRejectedLines() {
+        mockChunkCommit();
+        when(userRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        StringBuilder csv = new StringBuilder(CSV_HEADER);
+        for (int i = 0; i < UserImportServiceImpl.CHUNK_SIZE; i++) {
+            csv.append(validCsvRow(i));
+        }
+        csv.append("invalidEmail.com,John,Doe,1990-01-01\n\n");
+        csv.append(validCsvRow(UserImportServiceImpl.CHUNK_SIZE));
+
+        UserImportResponseDto actual = userImportService.importUsers(reader(csv.toString()),
+                UserImportFormat.CSV);
+
+        assertEquals(UserImportServiceImpl.CHUNK_SIZE + 2, actual.rows());
+        assertEquals(UserImportServiceImpl.CHUNK_SIZE + 1, actual.imported());
+        assertEquals(1, actual.rejected());
+        assertEquals(List.of(new UserImportErrorDto(UserImportServiceImpl.CHUNK_SIZE + 2,
+                List.of("email Invalid email format"))), actual.errors());
+        verify(transactionTemplate, times(2)).executeWithoutResult(any());
+        verify(entityManager, times(2)).clear();
+    }
+
+    @Test
+    void importUsers_withFailingChunk_retriesItsRowsOneByOne() {
+        mockChunkCommit();
+        when(mapper.toModel(any())).thenAnswer(invocation -> {
+            User user = new User();
+            user.setEmail(invocation.<SaveUserDto>getArgument(0).email());
+            return user;
+        });
+        when(userRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<User> users = invocation.getArgument(0);
+            if (users.stream().anyMatch(user -> user.getEmail().equals("john2@example.com"))) {
+                throw new DataIntegrityViolationException("duplicate key");
+            }
+            users.forEach(user -> user.setVersion(0L));
+            return users;
+        });
+
+        UserImportResponseDto actual = userImportService.importUsers(
+                reader(CSV_HEADER + validCsvRow(1) + validCsvRow(2) + validCsvRow(3)),
+                UserImportFormat.CSV);
+
+        assertEquals(2, actual.imported());
+        assertEquals(List.of(new UserImportErrorDto(3,
+                List.of("Row could not be saved: duplicate key"))), actual.errors());
+        verify(transactionTemplate, times(4)).executeWithoutResult(any());
+    }
+
+    @Test
+    void importUsers_rejectsEmailsInUseOrRepeatedInTheImport() {
+        mockChunkCommit();
+        when(userRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        when(emailFilter.isTaken(any(), any()))
+                .thenAnswer(invocation -> invocation.getArgument(0).equals("john2@example.com"));
+
+        UserImportResponseDto actual = userImportService.importUsers(
+                reader(CSV_HEADER + validCsvRow(1) + validCsvRow(2) + validCsvRow(1)),
+                UserImportFormat.CSV);
+
+        assertEquals(1, actual.imported());
+        assertEquals(List.of(
+                new UserImportErrorDto(3, List.of(DuplicateEmailException.FIELD_ERROR)),
+                new UserImportErrorDto(4, List.of(DuplicateEmailException.FIELD_ERROR))),
+                actual.errors());
+    }
+
+    @Test
+    void importUsers_withNdjson_reportsMalformedLines() {
+        mockChunkCommit();
+        when(userRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        String ndjson = """
+                {"email":"john@example.com","firstName":"John","lastName":"Doe",\
+                "birthDate":"1990-01-01"}
+                {"email":
+                """;
+
+        UserImportResponseDto actual = userImportService.importUsers(reader(ndjson),
+                UserImportFormat.NDJSON);
+
+        assertEquals(1, actual.imported());
+        assertEquals(1, actual.rejected());
+        assertEquals(2, actual.errors().get(0).line());
+    }
+
+    @Test
+    void importUsers_withNdjson_rejectsRowsThatAreNotObjects() {
+        String ndjson = "null\n[]\n42\n\"john@example.com\"\n";
+
+        UserImportResponseDto actual = userImportService.importUsers(reader(ndjson),
+                UserImportFormat.NDJSON);
+
+        assertEquals(4, actual.rows());
+        assertEquals(0, actual.imported());
+        assertEquals(List.of(1L, 2L, 3L, 4L), actual.errors().stream()
+                .map(UserImportErrorDto::line)
+                .toList());
+        assertEquals(List.of("Row must be a JSON object"), actual.errors().get(0).errors());
+    }
+
+    @Test
+    void importUsers_withOverlongLine_rejectsItAndReadsOn() {
+        mockChunkCommit();
+        when(userRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        String overlong = "x".repeat(UserImportServiceImpl.MAX_LINE_LENGTH) + "@example.com"
+                + ",John,Doe,1990-01-01\r\n";
+
+        UserImportResponseDto actual = userImportService.importUsers(
+                reader(CSV_HEADER + overlong + validCsvRow(1)), UserImportFormat.CSV);
+
+        assertEquals(2, actual.rows());
+        assertEquals(1, actual.imported());
+        assertEquals(List.of(new UserImportErrorDto(2,
+                List.of(UserImportServiceImpl.LINE_TOO_LONG))), actual.errors());
+    }
+
+    @Test
+    void importUsers_withOverlongQuotedRow_skipsTheRestOfItsLines() {
+        mockChunkCommit();
+        when(userRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        String overlong = "a@example.com,John,\"Doe\n"
+                + "x".repeat(UserImportServiceImpl.MAX_LINE_LENGTH) + "\n"
+                + "say \"\"hi\"\",\n"
+                + "end\",1990-01-01\n";
+
+        UserImportResponseDto actual = userImportService.importUsers(
+                reader(CSV_HEADER + overlong + validCsvRow(1)), UserImportFormat.CSV);
+
+        assertEquals(2, actual.rows());
+        assertEquals(1, actual.imported());
+        assertEquals(List.of(new UserImportErrorDto(2,
+                List.of(UserImportServiceImpl.LINE_TOO_LONG))), actual.errors());
+    }
+
+    @Test
+    void importUsers_readsBackExportedCsvWithLineBreaksInsideFields() throws IOException {
+        mockChunkCommit();
+        when(userRepository.saveAll(anyList()))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+        List<UserResponseDto> users = List.of(
+                exportedUser(1L, "1 Main St\nApt \"2\""),
+                exportedUser(2L, "Line one\r\nline two\rline three\n"),
+                exportedUser(3L, null));
+        StringWriter csv = new StringWriter();
+        CsvUserRowWriter writer = new CsvUserRowWriter(csv);
+        writer.writeHeader();
+        for (UserResponseDto user : users) {
+            writer.write(user);
+        }
+        csv.write("broken@example.com,John,Doe,1990-01-01,\"never closed\n");
+
+        UserImportResponseDto actual = userImportService.importUsers(reader(csv.toString()),
+                UserImportFormat.CSV);
+
+        ArgumentCaptor<SaveUserDto> imported = ArgumentCaptor.forClass(SaveUserDto.class);
+        verify(mapper, times(3)).toModel(imported.capture());
+        assertEquals(users.stream()
+                .map(user -> new SaveUserDto(user.email(), user.firstName(), user.lastName(),
+                        user.birthDate(), user.address(), user.phoneNumber()))
+                .toList(), imported.getAllValues());
+        assertEquals(List.of(new UserImportErrorDto(9, List.of("Unterminated quoted field"))),
+                actual.errors());
+    }
+
+    @Test
+    void importUsers_withEmptyCsv_throwsInvalidImport() {
+        assertThrows(InvalidImportException.class,
+                () -> userImportService.importUsers(reader(""), UserImportFormat.CSV));
+        verify(transactionTemplate, never()).executeWithoutResult(any());
+    }
+
+    private void mockChunkCommit() {
+        // The version is the one persisting seeds, since the saves below hand back their input.
+        when(mapper.toModel(any())).thenAnswer(invocation -> {
+            User user = new User();
+            user.setVersion(0L);
+            return user;
+        });
+        doAnswer(invocation -> {
+            invocation.<Consumer<TransactionStatus>>getArgument(0).accept(null);
+            return null;
+        }).when(transactionTemplate).executeWithoutResult(any());
+    }
+
+    private static UserResponseDto exportedUser(Long id, String address) {
+        return new UserResponseDto(id, "john" + id + "@example.com", "John", "Doe",
+                LocalDate.of(1990, 1, 1), address, null);
+    }
+
+    private static String validCsvRow(int n) {
+        return "john" + n + "@example.com,John,Doe,1990-01-01\n";
+    }
+
+    private static BufferedReader reader(String content) {
+        return new BufferedReader(new StringReader(content));
+    }
+}
@@ -0,0 +1,268 @@
+package test.assignment.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.event.UserChangeEvent.ChangeType;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.repository.UserRepository;
+
+class UserNameIndexTest {
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final List<Runnable> compactions = new ArrayList<>();
+    private final UserNameIndex index = index(true);
+
+    @Test
+    void search_findsPrefixesOfEitherName() {
+        load(user(1L, "John", "Smith"), user(2L, "Johanna", "Doe"), user(3L, "Jane", "Johns"));
+
+        assertEquals(List.of(2L, 3L, 1L), ids("joh"));
+        assertEquals(List.of(1L), ids("smi"));
+        assertEquals(List.of(), ids("ith"));
+    }
+
+    @Test
+    void search_ranksEqualNamesBeforePrefixesBeforeTypos() {
+        load(user(1L, "Jon", "Stone"), user(2L, "John", "Stone"), user(3L, "Johnny", "Stone"),
+                user(4L, "Jhon", "Stone"));
+
+        // "jhon" is a transposition, that is two edits, away from "john".
+        assertEquals(List.of(2L, 3L, 1L), ids("john"));
+        assertEquals(List.of(4L, 1L), ids("jhon"));
+    }
+
+    @Test
+    void search_toleratesOneEditInTermsOfFourOrMoreCharacters() {
+        load(user(1L, "Alexander", "Smith"));
+
+        assertEquals(List.of(1L), ids("alxander"));
+        assertEquals(List.of(1L), ids("alexxander"));
+        assertEquals(List.of(1L), ids("alaxander"));
+        assertEquals(List.of(1L), ids("smoth"));
+        assertEquals(List.of(), ids("smt"));
+        assertEquals(List.of(), ids("alxndr"));
+    }
+
+    @Test
+    void search_requiresEveryTermAndSumsTheirScores() {
+        load(user(1L, "John", "Smith"), user(2L, "John", "Smithson"),
+                user(3L, "Johnny", "Smith"), user(4L, "John", "Doe"));
+
+        assertEquals(List.of(1L, 3L, 2L), ids("smith john"));
+        assertEquals(List.of(4L), ids("doe jo"));
+    }
+
+    @Test
+    void search_ignoresCaseAndAccents() {
+        load(user(1L, "Zo\u00eb", "\u00c5ngstr\u00f6m"));
+
+        assertEquals(List.of(1L), ids("ZOE"));
+        assertEquals(List.of(1L), ids("angstr"));
+        assertEquals(List.of(1L), ids("  \u00e5ngstr\u00f6m   zo\u00eb "));
+    }
+
+    @Test
+    void search_pagesThroughRankedMatchesAndCountsThemAll() {
+        List<UserResponseDto> users = new ArrayList<>();
+        for (long id = 1; id <= 30; id++) {
+            users.add(user(id, "Anna", "Lee"));
+        }
+        load(users.toArray(UserResponseDto[]::new));
+
+        UserNameIndex.SearchResult page = index.search("anna", 10, 20);
+
+        assertEquals(List.of(21L, 22L, 23L, 24L, 25L, 26L, 27L, 28L, 29L, 30L), page.ids());
+        assertEquals(30, page.matches());
+        assertFalse(page.partial());
+        assertEquals(List.of(), index.search("anna", 10, 30).ids());
+    }
+
+    @Test
+    void search_withShortOrBlankQuery_matchesPrefixesOrNothing() {
+        load(user(1L, "Al", "Bo"), user(2L, "Alice", "Brown"));
+
+        assertEquals(List.of(1L, 2L), ids("a"));
+        assertEquals(List.of(), ids("   "));
+    }
+
+    @Test
+    void search_withTermOfFewDistinctTrigrams_scansAllEntries() {
+        load(user(1L, "Aaron", "Lee"), user(2L, "Aaaa", "Lee"));
+
+        assertEquals(List.of(2L), ids("aaaa"));
+    }
+
+    @Test
+    void search_afterTimeout_returnsPartialResult() {
+        UserNameIndex slow = index(true, Duration.ZERO);
+        List<UserResponseDto> users = new ArrayList<>();
+        for (long id = 1; id <= 5000; id++) {
+            users.add(user(id, "Anna", "Lee"));
+        }
+        when(userRepository.streamAllUserDtos()).thenReturn(users.stream());
+        slow.load();
+
+        UserNameIndex.SearchResult result = slow.search("anna", 10, 0);
+
+        assertTrue(result.partial());
+        assertTrue(result.matches() < 5000);
+        assertEquals(10, result.ids().size());
+    }
+
+    @Test
+    void onUserChange_keepsIndexInSyncWithWrites() {
+        load();
+        index.onUserChange(created(user(1L, "John", "Smith")));
+        index.onUserChange(created(user(2L, "Jane", "Smith")));
+        assertEquals(List.of(2L, 1L), ids("smith"));
+
+        index.onUserChange(updated(user(1L, "John", "Doe"), 1));
+        assertEquals(List.of(2L), ids("smith"));
+        assertEquals(List.of(1L), ids("doe"));
+
+        index.onUserChange(new UserChangeEvent(ChangeType.DELETED, 2L, 1, null));
+        assertEquals(List.of(), ids("smith"));
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void onUserChange_olderThanAppliedVersion_isDropped() {
+        load();
+        index.onUserChange(updated(user(1L, "John", "Doe"), 2));
+        index.onUserChange(updated(user(1L, "John", "Smith"), 1));
+        assertEquals(List.of(1L), ids("doe"));
+        assertEquals(List.of(), ids("smith"));
+
+        index.onUserChange(new UserChangeEvent(ChangeType.DELETED, 1L, 4, null));
+        index.onUserChange(updated(user(1L, "John", "Smith"), 3));
+        assertEquals(0, index.size());
+    }
+
+    @Test
+    void onUserChange_compactsRewrittenEntries() {
+        load();
+        List<String> firstNames = List.of("Alpha", "Bravo", "Charlie", "Delta", "Echo");
+        for (int version = 0; version < firstNames.size(); version++) {
+            for (long id = 1; id <= 1000; id++) {
+                index.onUserChange(updated(user(id, firstNames.get(version), "User" + id),
+                        version));
+            }
+        }
+
+        assertEquals(1, compactions.size());
+        compactions.remove(0).run();
+
+        assertEquals(1000, index.size());
+        assertEquals(1000, index.search("echo", 100, 0).matches());
+        assertEquals(0, index.search("alpha", 100, 0).matches());
+        assertEquals(List.of(999L), index.search("user999", 1, 0).ids());
+    }
+
+    @Test
+    void onUserChange_duringCompaction_isReplayedOntoTheCompactedEntries() {
+        load();
+        for (int version = 0; version < 3; version++) {
+            for (long id = 1; id <= 1000; id++) {
+                index.onUserChange(updated(user(id, "Name" + version, "User" + id), version));
+            }
+        }
+        assertEquals(1, compactions.size());
+
+        index.onUserChange(updated(user(1L, "Renamed", "User1"), 3));
+        index.onUserChange(new UserChangeEvent(ChangeType.DELETED, 2L, 3, null));
+        index.onUserChange(created(user(1001L, "Name2", "User1001")));
+        assertEquals(List.of(1L), ids("renamed"));
+        compactions.remove(0).run();
+
+        assertEquals(1000, index.size());
+        assertEquals(List.of(1L), ids("renamed"));
+        assertEquals(List.of(20L), index.search("user2", 1, 0).ids());
+        assertEquals(List.of(1001L), index.search("user1001", 1, 0).ids());
+        assertEquals(999, index.search("name2", 100, 0).matches());
+        assertTrue(compactions.isEmpty());
+    }
+
+    @Test
+    void onUserChange_duringLoad_isAppliedAfterIt() {
+        index.onUserChange(created(user(1L, "John", "Smith")));
+        index.onUserChange(new UserChangeEvent(ChangeType.DELETED, 2L, 1, null));
+        assertFalse(index.isReady());
+
+        load(user(2L, "Jane", "Smith"));
+
+        assertEquals(List.of(1L), ids("smith"));
+    }
+
+    @Test
+    void load_whenDisabled_doesNothing() {
+        UserNameIndex disabled = index(false);
+
+        disabled.load();
+        disabled.onUserChange(created(user(1L, "John", "Smith")));
+
+        assertFalse(disabled.isEnabled());
+        assertFalse(disabled.isReady());
+        assertEquals(0, disabled.size());
+        verify(userRepository, never()).streamAllUserDtos();
+    }
+
+    @Test
+    void terms_areNormalizedDistinctAndCapped() {
+        assertArrayEquals(new String[] {"a", "b", "c", "d", "e"},
+                UserNameIndex.terms(" A b  a c d e f "));
+        assertEquals(UserNameIndex.PREFIX, UserNameIndex.score("jo", "john"));
+        assertEquals(UserNameIndex.EQUAL, UserNameIndex.score("john", "john"));
+        assertEquals(UserNameIndex.FUZZY, UserNameIndex.score("jonh", "john"));
+        assertEquals(0, UserNameIndex.score("jonh", "jane"));
+    }
+
+    private void load(UserResponseDto... users) {
+        when(userRepository.streamAllUserDtos()).thenReturn(Stream.of(users));
+        index.load();
+    }
+
+    private List<Long> ids(String query) {
+        return index.search(query, 100, 0).ids();
+    }
+
+    private UserNameIndex index(boolean enabled) {
+        return index(enabled, Duration.ofSeconds(10));
+    }
+
+    private UserNameIndex index(boolean enabled, Duration timeout) {
+        return new UserNameIndex(enabled, timeout, userRepository,
+                mock(PlatformTransactionManager.class)) {
+            @Override
+            void compactLater(Runnable compaction) {
+                compactions.add(compaction);
+            }
+        };
+    }
+
+    private static UserChangeEvent created(UserResponseDto user) {
+        return new UserChangeEvent(ChangeType.CREATED, user.id(), 0, user);
+    }
+
+    private static UserChangeEvent updated(UserResponseDto user, long version) {
+        return new UserChangeEvent(ChangeType.UPDATED, user.id(), version, user);
+    }
+
+    private static UserResponseDto user(Long id, String firstName, String lastName) {
+        return new UserResponseDto(id, firstName.toLowerCase() + id + "@example.com", firstName,
+                lastName, LocalDate.of(1990, 1, 1), null, null);
+    }
+}
@@ -0,0 +1,134 @@
+package test.assignment.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.Test;
+import org.springframework.util.unit.DataSize;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.event.UserChangeEvent.ChangeType;
+import test.assignment.model.dto.response.UserResponseDto;
+
+class UserRangeCacheTest {
+    private static final LocalDate JAN_1 = LocalDate.of(1980, 1, 1);
+    private static final LocalDate JAN_31 = LocalDate.of(1980, 1, 31);
+    private static final LocalDate FEB_1 = LocalDate.of(1980, 2, 1);
+    private static final LocalDate FEB_29 = LocalDate.of(1980, 2, 29);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserRangeCache cache =
+            new UserRangeCache(true, DataSize.ofMegabytes(1), meterRegistry);
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @Test
+    void get_repeatedRange_isServedFromCache() {
+        List<UserResponseDto> first = cache.get(JAN_1, JAN_31, query(user(1L, JAN_1)));
+        List<UserResponseDto> second = cache.get(JAN_1, JAN_31, query(user(1L, JAN_1)));
+
+        assertSame(first, second);
+        assertEquals(1, queries.get());
+        assertEquals(0.5, meterRegistry.get("users.range-cache.hit-ratio").gauge().value());
+    }
+
+    @Test
+    void onUserChange_invalidatesOnlyRangesContainingOldOrNewBirthDate() {
+        cache.get(JAN_1, JAN_31, query());
+        cache.get(FEB_1, FEB_29, query());
+        cache.get(JAN_1, FEB_29, query());
+        cache.get(LocalDate.of(1981, 1, 1), LocalDate.of(1981, 1, 31), query());
+
+        cache.onUserChange(new UserChangeEvent(ChangeType.UPDATED, 1L, 1,
+                user(1L, LocalDate.of(1980, 2, 10)), LocalDate.of(1980, 1, 10)));
+
+        assertEquals(1, cache.size());
+        cache.get(LocalDate.of(1981, 1, 1), LocalDate.of(1981, 1, 31), query());
+        assertEquals(4, queries.get());
+    }
+
+    @Test
+    void onUserChange_createAndDelete_invalidateTheirBirthDate() {
+        cache.get(JAN_1, JAN_31, query());
+        cache.get(FEB_1, FEB_29, query());
+
+        cache.onUserChange(new UserChangeEvent(ChangeType.CREATED, 1L, 0, user(1L, JAN_31)));
+        assertEquals(1, cache.size());
+
+        cache.onUserChange(new UserChangeEvent(ChangeType.DELETED, 2L, 1, null, FEB_1));
+        assertEquals(0, cache.size());
+        assertEquals(0, cache.estimatedBytes());
+    }
+
+    @Test
+    void onUserChange_withUnknownPreviousBirthDate_clearsEverything() {
+        cache.get(JAN_1, JAN_31, query());
+        cache.get(LocalDate.of(1990, 1, 1), LocalDate.of(1990, 1, 2), query());
+
+        cache.onUserChange(new UserChangeEvent(ChangeType.PATCHED, 1L, 1, user(1L, JAN_1)));
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_writeDuringQuery_resultIsNotCached() {
+        cache.get(JAN_1, JAN_31, () -> {
+            cache.onUserChange(new UserChangeEvent(ChangeType.CREATED, 1L, 0,
+                    user(1L, LocalDate.of(1999, 1, 1))));
+            return List.of();
+        });
+
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_overMemoryBudget_evictsLeastRecentlyUsed() {
+        MeterRegistry smallRegistry = new SimpleMeterRegistry();
+        UserRangeCache small = new UserRangeCache(true, DataSize.ofKilobytes(8), smallRegistry);
+        List<UserResponseDto> users = new ArrayList<>();
+        for (long id = 1; id <= 10; id++) {
+            users.add(user(id, JAN_1));
+        }
+        small.get(JAN_1, JAN_31, () -> users);
+        small.get(FEB_1, FEB_29, () -> users);
+        small.get(JAN_1, JAN_31, () -> users);
+
+        small.get(JAN_1, FEB_29, () -> users);
+
+        assertTrue(small.estimatedBytes() <= 8192, "bytes " + small.estimatedBytes());
+        assertEquals(2, small.size());
+        small.onUserChange(new UserChangeEvent(ChangeType.CREATED, 99L, 0, user(99L, FEB_1)));
+        assertEquals(1, small.size());
+        assertEquals(1.0, smallRegistry.get("users.range-cache.removals")
+                .tag("cause", "evicted").functionCounter().count());
+    }
+
+    @Test
+    void get_whenDisabled_alwaysQueries() {
+        UserRangeCache disabled =
+                new UserRangeCache(false, DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+
+        disabled.get(JAN_1, JAN_31, query());
+        disabled.get(JAN_1, JAN_31, query());
+
+        assertEquals(2, queries.get());
+    }
+
+    private Supplier<List<UserResponseDto>> query(UserResponseDto... users) {
+        return () -> {
+            queries.incrementAndGet();
+            return List.of(users);
+        };
+    }
+
+    private static UserResponseDto user(long id, LocalDate birthDate) {
+        return new UserResponseDto(id, "user" + id + "@example.com", "John", "Doe", birthDate,
+                "1 Main St", "+380501234567");
+    }
+}
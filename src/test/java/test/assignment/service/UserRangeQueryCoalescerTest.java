@@ -0,0 +1,179 @@
+package test.assignment.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.event.UserChangeEvent.ChangeType;
+import test.assignment.model.dto.response.UserResponseDto;
+
+class UserRangeQueryCoalescerTest {
+    private static final LocalDate FROM = LocalDate.of(1980, 1, 1);
+    private static final LocalDate TO = LocalDate.of(1990, 1, 1);
+    private static final int CALLERS = 8;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UserDataVersion dataVersion = new UserDataVersion();
+    private final UserRangeQueryCoalescer coalescer =
+            new UserRangeQueryCoalescer(true, dataVersion, meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+    private final AtomicInteger queries = new AtomicInteger();
+
+    @AfterEach
+    void shutDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void execute_concurrentIdenticalRanges_shareOneQuery() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<UserResponseDto> result = List.of(user());
+        List<Future<List<UserResponseDto>>> callers = startCallers(() -> {
+            queries.incrementAndGet();
+            await(release);
+            return result;
+        });
+        awaitCount("coalesced", CALLERS - 1);
+        release.countDown();
+
+        for (Future<List<UserResponseDto>> caller : callers) {
+            assertEquals(result, caller.get(5, TimeUnit.SECONDS));
+        }
+        assertEquals(1, queries.get());
+        assertEquals(1, count("executed"));
+        assertEquals(CALLERS - 1, count("coalesced"));
+    }
+
+    @Test
+    void execute_failedQuery_throwsToEveryWaitingCaller() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException failure = new IllegalStateException("database down");
+        List<Future<List<UserResponseDto>>> callers = startCallers(() -> {
+            await(release);
+            throw failure;
+        });
+        awaitCount("coalesced", CALLERS - 1);
+        release.countDown();
+
+        for (Future<List<UserResponseDto>> caller : callers) {
+            ExecutionException thrown = assertThrows(ExecutionException.class,
+                    () -> caller.get(5, TimeUnit.SECONDS));
+            assertSame(failure, thrown.getCause());
+        }
+    }
+
+    @Test
+    void execute_afterAWrite_startsAQueryOfItsOwnThatLaterCallersJoin() throws Exception {
+        CountDownLatch releaseOld = new CountDownLatch(1);
+        CountDownLatch releaseNew = new CountDownLatch(1);
+        List<UserResponseDto> oldResult = List.of(user());
+        List<UserResponseDto> newResult = List.of();
+        Future<List<UserResponseDto>> before = executor.submit(() -> coalescer.execute(FROM, TO,
+                () -> {
+                    await(releaseOld);
+                    return oldResult;
+                }));
+        awaitCount("executed", 1);
+
+        dataVersion.onUserChange(new UserChangeEvent(ChangeType.DELETED, 1L, 1, null));
+        Supplier<List<UserResponseDto>> newQuery = () -> {
+            await(releaseNew);
+            return newResult;
+        };
+        Future<List<UserResponseDto>> after = executor.submit(
+                () -> coalescer.execute(FROM, TO, newQuery));
+        awaitCount("executed", 2);
+        Future<List<UserResponseDto>> joined = executor.submit(
+                () -> coalescer.execute(FROM, TO, newQuery));
+        awaitCount("coalesced", 1);
+        releaseOld.countDown();
+        releaseNew.countDown();
+
+        assertEquals(oldResult, before.get(5, TimeUnit.SECONDS));
+        assertEquals(newResult, after.get(5, TimeUnit.SECONDS));
+        assertEquals(newResult, joined.get(5, TimeUnit.SECONDS));
+        assertEquals(2, count("executed"));
+    }
+
+    @Test
+    void execute_afterQueryCompletes_runsAgain() {
+        coalescer.execute(FROM, TO, this::countedQuery);
+        coalescer.execute(FROM, TO, this::countedQuery);
+        coalescer.execute(FROM, TO.plusDays(1), this::countedQuery);
+
+        assertEquals(3, queries.get());
+        assertEquals(0, count("coalesced"));
+    }
+
+    @Test
+    void execute_whenDisabled_runsEveryQuery() {
+        UserRangeQueryCoalescer disabled =
+                new UserRangeQueryCoalescer(false, new UserDataVersion(),
+                        new SimpleMeterRegistry());
+
+        disabled.execute(FROM, TO, this::countedQuery);
+        disabled.execute(FROM, TO, this::countedQuery);
+
+        assertEquals(2, queries.get());
+    }
+
+    private List<Future<List<UserResponseDto>>> startCallers(
+            Supplier<List<UserResponseDto>> query) throws Exception {
+        List<Future<List<UserResponseDto>>> callers = new ArrayList<>(CALLERS);
+        callers.add(executor.submit(() -> coalescer.execute(FROM, TO, query)));
+        awaitCount("executed", 1);
+        for (int i = 1; i < CALLERS; i++) {
+            callers.add(executor.submit(() -> coalescer.execute(FROM, TO, query)));
+        }
+        return callers;
+    }
+
+    private List<UserResponseDto> countedQuery() {
+        queries.incrementAndGet();
+        return List.of(user());
+    }
+
+    private void awaitCount(String outcome, int expected) throws Exception {
+        CompletableFuture.runAsync(() -> {
+            while (count(outcome) < expected) {
+                Thread.onSpinWait();
+            }
+        }).get(5, TimeUnit.SECONDS);
+    }
+
+    private long count(String outcome) {
+        return (long) meterRegistry.get("users.range-queries").tag("outcome", outcome)
+                .counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static UserResponseDto user() {
+        return new UserResponseDto(1L, "user1@example.com", "John", "Doe",
+                LocalDate.of(1985, 1, 1), null, null);
+    }
+}
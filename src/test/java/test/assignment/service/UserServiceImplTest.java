@@ -1,29 +1,55 @@
 package test.assignment.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.util.unit.DataSize;
+import test.assignment.datasource.PrimaryReads;
+import test.assignment.event.UserChangeEvent;
+import test.assignment.event.UserChangeEvent.ChangeType;
+import test.assignment.exception.DuplicateEmailException;
 import test.assignment.exception.EntityNotFoundException;
+import test.assignment.exception.SearchUnavailableException;
 import test.assignment.model.User;
 import test.assignment.model.dto.request.SaveUserDto;
 import test.assignment.model.dto.request.UserUpdatePartialDto;
+import test.assignment.model.dto.response.UserBatchItemResponseDto;
+import test.assignment.model.dto.response.UserPageResponseDto;
 import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.model.dto.response.UserSearchResponseDto;
 import test.assignment.repository.UserRepository;
+import test.assignment.util.KeysetCursor;
 import test.assignment.util.UserMapper;
+import test.assignment.util.validation.UserDtoValidator;
 
 @ExtendWith(MockitoExtension.class)
 class UserServiceImplTest {
@@ -34,12 +60,44 @@ class UserServiceImplTest {
     @Mock
     private UserMapper mapper;
 
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private UserDtoValidator validator;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private UserBirthDateIndex birthDateIndex;
+
+    @Mock
+    private UserNameIndex nameIndex;
+
+    @Spy
+    private UserRangeQueryCoalescer rangeQueryCoalescer =
+            new UserRangeQueryCoalescer(false, new UserDataVersion(),
+                    new SimpleMeterRegistry());
+
+    @Spy
+    private UserRangeCache rangeCache =
+            new UserRangeCache(false, DataSize.ofMegabytes(1), new SimpleMeterRegistry());
+
+    @Spy
+    private UserEmailFilter emailFilter = new UserEmailFilter(false, 0.01, 1, null, null,
+            new SimpleMeterRegistry());
+
+    @Spy
+    private UserByIdCache userByIdCache = new UserByIdCache(new ConcurrentMapCacheManager());
+
     @InjectMocks
     private UserServiceImpl userService;
 
     private SaveUserDto validSaveUserDto;
     private User exampleUserWithoutId;
     private User exampleUserWithId;
+    private User exampleSavedUser;
     private UserResponseDto exampleUserResponseDto;
     private UserUpdatePartialDto updatePartialEmailUpdateDto;
 
@@ -50,10 +108,13 @@ class UserServiceImplTest {
                 "123 Main St", "123-456-7890");
         exampleUserWithoutId = new User(null, "testuser@example.com",
                 "John", "Doe", LocalDate.of(1990, 1, 1),
-                "123 Main St", "123-456-7890");
+                "123 Main St", "123-456-7890", null);
         exampleUserWithId = new User(EXAMPLE_USER_ID, "testuser@example.com",
                 "John", "Doe", LocalDate.of(1990, 1, 1),
-                "123 Main St", "123-456-7890");
+                "123 Main St", "123-456-7890", null);
+        exampleSavedUser = new User(EXAMPLE_USER_ID, "testuser@example.com",
+                "John", "Doe", LocalDate.of(1990, 1, 1),
+                "123 Main St", "123-456-7890", 0L);
         exampleUserResponseDto = new UserResponseDto(EXAMPLE_USER_ID, "testuser@example.com",
                 "John", "Doe", LocalDate.of(1990, 1, 1),
                 "123 Main St", "123-456-7890");
@@ -66,111 +127,421 @@ class UserServiceImplTest {
     @Test
     public void createUser_withValidUserData_returnsCreatedUser() {
         when(mapper.toModel(validSaveUserDto)).thenReturn(exampleUserWithoutId);
-        when(userRepository.save(exampleUserWithoutId)).thenReturn(exampleUserWithId);
-        when(mapper.toDto(exampleUserWithId)).thenReturn(exampleUserResponseDto);
+        when(userRepository.save(exampleUserWithoutId)).thenReturn(exampleSavedUser);
+        when(mapper.toDto(exampleSavedUser)).thenReturn(exampleUserResponseDto);
 
         UserResponseDto actual = userService.createUser(validSaveUserDto);
 
         assertEquals(exampleUserResponseDto, actual);
         verify(mapper).toModel(validSaveUserDto);
         verify(userRepository).save(exampleUserWithoutId);
-        verify(mapper).toDto(exampleUserWithId);
+        verify(mapper).toDto(exampleSavedUser);
+        verify(eventPublisher).publishEvent(
+                new UserChangeEvent(ChangeType.CREATED, EXAMPLE_USER_ID, 0,
+                        exampleUserResponseDto));
+    }
+
+    @Test
+    public void createUser_withEmailInUse_throwsDuplicateEmailException() {
+        when(userRepository.existsByEmail("testuser@example.com")).thenReturn(true);
+
+        assertThrows(DuplicateEmailException.class,
+                () -> userService.createUser(validSaveUserDto));
+        verify(userRepository, never()).save(any());
+    }
+
+    @Test
+    public void createUsers_withEmailRepeatedInBatch_rejectsTheRepeat() {
+        when(validator.validate(eq(validSaveUserDto), anyList())).thenReturn(true);
+        when(mapper.toModel(validSaveUserDto)).thenReturn(exampleUserWithoutId);
+        when(userRepository.saveAll(List.of(exampleUserWithoutId)))
+                .thenReturn(List.of(exampleSavedUser));
+        when(mapper.toDto(exampleSavedUser)).thenReturn(exampleUserResponseDto);
+
+        List<UserBatchItemResponseDto> actual = userService.createUsers(
+                List.of(validSaveUserDto, validSaveUserDto));
+
+        assertEquals(List.of(
+                new UserBatchItemResponseDto(0, exampleUserResponseDto, List.of()),
+                new UserBatchItemResponseDto(1, null,
+                        List.of(DuplicateEmailException.FIELD_ERROR))), actual);
+        verify(userRepository).existsByEmail("testuser@example.com");
+    }
+
+    @Test
+    public void createUsers_withValidAndInvalidUsers_returnsPerItemResults() {
+        SaveUserDto invalidSaveUserDto = new SaveUserDto("", "John", "Doe",
+                LocalDate.of(1990, 1, 1), null, null);
+        when(validator.validate(eq(validSaveUserDto), anyList())).thenReturn(true);
+        when(validator.validate(eq(invalidSaveUserDto), anyList())).thenAnswer(invocation -> {
+            List<String> errors = invocation.getArgument(1);
+            errors.add("email must not be blank");
+            return false;
+        });
+        when(mapper.toModel(validSaveUserDto)).thenReturn(exampleUserWithoutId);
+        when(userRepository.saveAll(List.of(exampleUserWithoutId)))
+                .thenReturn(List.of(exampleSavedUser));
+        when(mapper.toDto(exampleSavedUser)).thenReturn(exampleUserResponseDto);
+
+        List<UserBatchItemResponseDto> actual = userService.createUsers(
+                List.of(invalidSaveUserDto, validSaveUserDto));
+
+        assertEquals(List.of(
+                new UserBatchItemResponseDto(0, null, List.of("email must not be blank")),
+                new UserBatchItemResponseDto(1, exampleUserResponseDto, List.of())), actual);
+        verify(mapper, never()).toModel(invalidSaveUserDto);
+        verify(entityManager).flush();
+        verify(entityManager).clear();
+    }
+
+    @Test
+    public void createUsers_withNullItem_rejectsOnlyThatItem() {
+        when(validator.validate(eq(validSaveUserDto), anyList())).thenReturn(true);
+        when(mapper.toModel(validSaveUserDto)).thenReturn(exampleUserWithoutId);
+        when(userRepository.saveAll(List.of(exampleUserWithoutId)))
+                .thenReturn(List.of(exampleSavedUser));
+        when(mapper.toDto(exampleSavedUser)).thenReturn(exampleUserResponseDto);
+
+        List<UserBatchItemResponseDto> actual = userService.createUsers(
+                Arrays.asList(validSaveUserDto, null));
+
+        assertEquals(List.of(
+                new UserBatchItemResponseDto(0, exampleUserResponseDto, List.of()),
+                new UserBatchItemResponseDto(1, null, List.of(UserServiceImpl.NULL_USER))),
+                actual);
+        verify(validator, never()).validate((SaveUserDto) isNull(), anyList());
+    }
+
+    @Test
+    public void getUserById_withExistingUser_returnsUser() {
+        when(userRepository.findUserDtoById(EXAMPLE_USER_ID))
+                .thenReturn(Optional.of(exampleUserResponseDto));
+
+        UserResponseDto actual = userService.getUserById(EXAMPLE_USER_ID);
+
+        assertEquals(exampleUserResponseDto, actual);
+        verify(userRepository, never()).findById(any());
+    }
+
+    @Test
+    public void getUserById_readsFromThePrimary() {
+        when(userRepository.findUserDtoById(EXAMPLE_USER_ID)).thenAnswer(invocation ->
+                PrimaryReads.isPinned() ? Optional.of(exampleUserResponseDto) : Optional.empty());
+
+        assertEquals(exampleUserResponseDto, userService.getUserById(EXAMPLE_USER_ID));
+        assertFalse(PrimaryReads.isPinned());
+    }
+
+    @Test
+    public void getUserById_withNonExistingUser_throwsEntityNotFoundException() {
+        when(userRepository.findUserDtoById(EXAMPLE_USER_ID)).thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> userService.getUserById(EXAMPLE_USER_ID));
+    }
+
+    @Test
+    public void getUserByEmail_withExistingUser_returnsUser() {
+        when(userRepository.findUserDtoByEmail("testuser@example.com"))
+                .thenReturn(Optional.of(exampleUserResponseDto));
+
+        assertEquals(exampleUserResponseDto,
+                userService.getUserByEmail("testuser@example.com"));
+    }
+
+    @Test
+    public void getUserByEmail_readsFromThePrimary() {
+        when(userRepository.findUserDtoByEmail("testuser@example.com")).thenAnswer(invocation ->
+                PrimaryReads.isPinned() ? Optional.of(exampleUserResponseDto) : Optional.empty());
+
+        assertEquals(exampleUserResponseDto,
+                userService.getUserByEmail("testuser@example.com"));
+        assertFalse(PrimaryReads.isPinned());
+    }
+
+    @Test
+    public void getUserByEmail_withUnknownEmail_throwsEntityNotFoundException() {
+        when(userRepository.findUserDtoByEmail("unknown@example.com"))
+                .thenReturn(Optional.empty());
+
+        assertThrows(EntityNotFoundException.class,
+                () -> userService.getUserByEmail("unknown@example.com"));
+    }
+
+    @Test
+    public void searchUsersByName_returnsUsersInRankOrderWithoutDeletedOnes() {
+        UserResponseDto other = new UserResponseDto(7L, "other@example.com", "Johnny", "Doe",
+                LocalDate.of(1990, 1, 1), null, null);
+        when(nameIndex.isReady()).thenReturn(true);
+        when(nameIndex.search("john", 20, 0)).thenReturn(new UserNameIndex.SearchResult(
+                List.of(EXAMPLE_USER_ID, 99L, 7L), 3, false));
+        when(userRepository.findUserDtosByIdIn(List.of(EXAMPLE_USER_ID, 99L, 7L)))
+                .thenReturn(List.of(other, exampleUserResponseDto));
+
+        UserSearchResponseDto actual = userService.searchUsersByName("john", 20, 0);
+
+        assertEquals(new UserSearchResponseDto(List.of(exampleUserResponseDto, other), 3, false),
+                actual);
+    }
+
+    @Test
+    public void searchUsersByName_readsUsersFromThePrimary() {
+        when(nameIndex.isReady()).thenReturn(true);
+        when(nameIndex.search("john", 20, 0)).thenReturn(new UserNameIndex.SearchResult(
+                List.of(EXAMPLE_USER_ID), 1, false));
+        when(userRepository.findUserDtosByIdIn(List.of(EXAMPLE_USER_ID))).thenAnswer(
+                invocation -> PrimaryReads.isPinned() ? List.of(exampleUserResponseDto)
+                        : List.of());
+
+        assertEquals(List.of(exampleUserResponseDto),
+                userService.searchUsersByName("john", 20, 0).users());
+    }
+
+    @Test
+    public void searchUsersByName_withNoMatches_skipsRepository() {
+        when(nameIndex.isReady()).thenReturn(true);
+        when(nameIndex.search("zed", 20, 0))
+                .thenReturn(new UserNameIndex.SearchResult(List.of(), 0, false));
+
+        assertEquals(new UserSearchResponseDto(List.of(), 0, false),
+                userService.searchUsersByName("zed", 20, 0));
+        verify(userRepository, never()).findUserDtosByIdIn(any());
+    }
+
+    @Test
+    public void searchUsersByName_withIndexNotReady_throwsSearchUnavailableException() {
+        when(nameIndex.isEnabled()).thenReturn(true);
+
+        SearchUnavailableException thrown = assertThrows(SearchUnavailableException.class,
+                () -> userService.searchUsersByName("john", 20, 0));
+
+        assertEquals("Name search index is still loading", thrown.getMessage());
+        verify(nameIndex, never()).search(any(), eq(20), eq(0));
+    }
+
+    @Test
+    public void getUsersByDate_withoutIndex_readsFromThePrimary() {
+        LocalDate dateFrom = LocalDate.of(1980, 1, 1);
+        LocalDate dateTo = LocalDate.of(1990, 1, 1);
+        when(userRepository.findUserDtosByBirthDateBetween(dateFrom, dateTo))
+                .thenAnswer(invocation -> PrimaryReads.isPinned()
+                        ? List.of(exampleUserResponseDto) : List.of());
+
+        assertEquals(List.of(exampleUserResponseDto),
+                userService.getUsersByBirthDateRange(dateFrom, dateTo));
     }
 
     @Test
     public void getUsersByDate_withValidDates_returnsUsers() {
         LocalDate dateFrom = LocalDate.of(1980, 1, 1);
         LocalDate dateTo = LocalDate.of(1990, 1, 1);
-        when(userRepository.getUsersByBirthDateBetween(dateFrom, dateTo))
-                .thenReturn(List.of(exampleUserWithId));
-        when(mapper.toDto(exampleUserWithId)).thenReturn(exampleUserResponseDto);
+        when(userRepository.findUserDtosByBirthDateBetween(dateFrom, dateTo))
+                .thenReturn(List.of(exampleUserResponseDto));
 
         List<UserResponseDto> actual = userService.getUsersByBirthDateRange(dateFrom, dateTo);
 
         assertNotNull(actual);
         assertEquals(1, actual.size());
         assertEquals(exampleUserResponseDto, actual.get(0));
+        verify(mapper, never()).toDto(any(User.class));
+    }
+
+    @Test
+    public void getUsersByDate_withReadyIndex_skipsRepository() {
+        LocalDate dateFrom = LocalDate.of(1980, 1, 1);
+        LocalDate dateTo = LocalDate.of(1990, 1, 1);
+        when(birthDateIndex.isReady()).thenReturn(true);
+        when(birthDateIndex.findByBirthDateBetween(dateFrom, dateTo))
+                .thenReturn(List.of(exampleUserResponseDto));
+
+        List<UserResponseDto> actual = userService.getUsersByBirthDateRange(dateFrom, dateTo);
+
+        assertEquals(List.of(exampleUserResponseDto), actual);
+        verify(userRepository, never()).findUserDtosByBirthDateBetween(any(), any());
+    }
+
+    @Test
+    public void getUsersPage_withMoreRowsThanLimit_returnsNextCursor() {
+        LocalDate dateFrom = LocalDate.of(1980, 1, 1);
+        LocalDate dateTo = LocalDate.of(1990, 1, 1);
+        UserResponseDto nextUser = new UserResponseDto(EXAMPLE_USER_ID + 1,
+                "next@example.com", "Jane", "Doe", LocalDate.of(1990, 1, 1), null, null);
+        when(userRepository.findFirstPageByBirthDateBetween(dateFrom, dateTo, Limit.of(2)))
+                .thenReturn(List.of(exampleUserResponseDto, nextUser));
+
+        UserPageResponseDto actual = userService.getUsersByBirthDateRange(dateFrom, dateTo,
+                1, null);
+
+        assertEquals(List.of(exampleUserResponseDto), actual.users());
+        assertEquals(KeysetCursor.of(exampleUserResponseDto),
+                KeysetCursor.decode(actual.next()));
+    }
+
+    @Test
+    public void getUsersPage_readsFromThePrimary() {
+        LocalDate dateFrom = LocalDate.of(1980, 1, 1);
+        LocalDate dateTo = LocalDate.of(1990, 1, 1);
+        when(userRepository.findFirstPageByBirthDateBetween(dateFrom, dateTo, Limit.of(11)))
+                .thenAnswer(invocation -> PrimaryReads.isPinned()
+                        ? List.of(exampleUserResponseDto) : List.of());
+
+        assertEquals(List.of(exampleUserResponseDto),
+                userService.getUsersByBirthDateRange(dateFrom, dateTo, 10, null).users());
+    }
+
+    @Test
+    public void getUsersPage_withCursorOnLastPage_returnsNoNextCursor() {
+        LocalDate dateFrom = LocalDate.of(1980, 1, 1);
+        LocalDate dateTo = LocalDate.of(1990, 1, 1);
+        KeysetCursor after = new KeysetCursor(LocalDate.of(1985, 1, 1), 7L);
+        when(userRepository.findNextPageByBirthDateBetween(dateFrom, dateTo,
+                after.birthDate(), after.id(), Limit.of(11)))
+                .thenReturn(List.of(exampleUserResponseDto));
+
+        UserPageResponseDto actual = userService.getUsersByBirthDateRange(dateFrom, dateTo,
+                10, after);
+
+        assertEquals(List.of(exampleUserResponseDto), actual.users());
+        assertNull(actual.next());
+    }
+
+    @Test
+    public void streamUsers_withValidDates_passesUsersToConsumer() {
+        LocalDate dateFrom = LocalDate.of(1980, 1, 1);
+        LocalDate dateTo = LocalDate.of(1990, 1, 1);
+        when(userRepository.streamUserDtosByBirthDateBetween(dateFrom, dateTo))
+                .thenReturn(Stream.of(exampleUserResponseDto));
+        List<UserResponseDto> actual = new ArrayList<>();
+
+        userService.streamUsersByBirthDateRange(dateFrom, dateTo, actual::add);
+
+        assertEquals(List.of(exampleUserResponseDto), actual);
+    }
+
+    @Test
+    public void streamAllUsers_passesEveryUserToConsumer() {
+        when(userRepository.streamAllUserDtos()).thenReturn(Stream.of(exampleUserResponseDto));
+        List<UserResponseDto> actual = new ArrayList<>();
+
+        userService.streamAllUsers(actual::add);
+
+        assertEquals(List.of(exampleUserResponseDto), actual);
     }
 
     @Test
     public void updateUser_withValidData_returnsUpdatedUser() {
-        when(userRepository.existsById(EXAMPLE_USER_ID)).thenReturn(Boolean.TRUE);
         when(mapper.toModel(validSaveUserDto)).thenReturn(exampleUserWithoutId);
-        when(userRepository.save(exampleUserWithId)).thenReturn(exampleUserWithId);
+        when(userRepository.updateUser(exampleUserWithId)).thenReturn(Optional.of(3L));
         when(mapper.toDto(exampleUserWithId)).thenReturn(exampleUserResponseDto);
 
         UserResponseDto actual = userService.updateUser(EXAMPLE_USER_ID, validSaveUserDto);
 
         assertEquals(exampleUserResponseDto, actual);
-        verify(userRepository).existsById(EXAMPLE_USER_ID);
         verify(mapper).toModel(validSaveUserDto);
-        verify(userRepository).save(exampleUserWithoutId);
+        verify(userRepository).updateUser(exampleUserWithId);
+        verify(userRepository, never()).existsById(any());
+        verify(userRepository, never()).save(any(User.class));
         verify(mapper).toDto(exampleUserWithId);
+        verify(eventPublisher).publishEvent(
+                new UserChangeEvent(ChangeType.UPDATED, EXAMPLE_USER_ID, 3,
+                        exampleUserResponseDto));
     }
 
     @Test
     public void updatePartialUser_withValidData_returnsUpdatedUser() {
-
-        when(userRepository.findById(EXAMPLE_USER_ID))
-                .thenReturn(Optional.of(exampleUserWithId));
         User userWithUpdatedEmail = new User(EXAMPLE_USER_ID,
                 "newemail@update.com", "John", "Doe",
                 LocalDate.of(1990, 1, 1), "123 Main St",
-                "123-456-7890");
-        when(userRepository.save(userWithUpdatedEmail)).thenReturn(userWithUpdatedEmail);
+                "123-456-7890", 2L);
+        when(userRepository.updatePartialUserById(EXAMPLE_USER_ID, updatePartialEmailUpdateDto))
+                .thenReturn(1);
+        when(userRepository.findById(EXAMPLE_USER_ID))
+                .thenReturn(Optional.of(userWithUpdatedEmail));
         when(mapper.toDto(userWithUpdatedEmail)).thenReturn(exampleUserResponseDto);
 
         UserResponseDto actual = userService.updatePartialUser(EXAMPLE_USER_ID,
                 updatePartialEmailUpdateDto);
 
         assertEquals(exampleUserResponseDto, actual);
-        verify(userRepository).findById(EXAMPLE_USER_ID);
-        verify(userRepository).save(userWithUpdatedEmail);
+        verify(userRepository).updatePartialUserById(EXAMPLE_USER_ID,
+                updatePartialEmailUpdateDto);
+        verify(userRepository, never()).save(any(User.class));
         verify(mapper).toDto(userWithUpdatedEmail);
+        verify(eventPublisher).publishEvent(
+                new UserChangeEvent(ChangeType.PATCHED, EXAMPLE_USER_ID, 2,
+                        exampleUserResponseDto));
     }
 
     @Test
-    public void deleteUser_withExistingUser_deletesUser() {
+    public void updatePartialUser_withEmailOfAnotherUser_throwsDuplicateEmailException() {
+        when(userRepository.existsByEmailAndIdNot("newemail@update.com", EXAMPLE_USER_ID))
+                .thenReturn(true);
         when(userRepository.existsById(EXAMPLE_USER_ID)).thenReturn(true);
 
+        assertThrows(DuplicateEmailException.class, () -> userService.updatePartialUser(
+                EXAMPLE_USER_ID, updatePartialEmailUpdateDto));
+        verify(userRepository, never()).updatePartialUserById(any(), any());
+    }
+
+    @Test
+    public void deleteUser_withExistingUser_deletesUser() {
+        when(userRepository.deleteUserById(EXAMPLE_USER_ID)).thenReturn(Optional.of(3L));
+
         userService.deleteUser(EXAMPLE_USER_ID);
 
-        verify(userRepository).existsById(EXAMPLE_USER_ID);
-        verify(userRepository).deleteById(EXAMPLE_USER_ID);
+        verify(userRepository).deleteUserById(EXAMPLE_USER_ID);
+        verify(userRepository, never()).existsById(any());
+        verify(eventPublisher).publishEvent(
+                new UserChangeEvent(ChangeType.DELETED, EXAMPLE_USER_ID, 4, null));
+    }
+
+    @Test
+    public void deleteUser_withRangeCache_publishesPreviousBirthDate() {
+        LocalDate previousBirthDate = LocalDate.of(1985, 5, 5);
+        doReturn(true).when(rangeCache).isEnabled();
+        when(userRepository.findBirthDateById(EXAMPLE_USER_ID))
+                .thenReturn(Optional.of(previousBirthDate));
+        when(userRepository.deleteUserById(EXAMPLE_USER_ID)).thenReturn(Optional.of(3L));
+
+        userService.deleteUser(EXAMPLE_USER_ID);
+
+        verify(eventPublisher).publishEvent(new UserChangeEvent(ChangeType.DELETED,
+                EXAMPLE_USER_ID, 4, null, previousBirthDate));
     }
 
     @Test
     public void deleteUser_withNonExistingUser_throwsEntityNotFoundException() {
-        when(userRepository.existsById(EXAMPLE_USER_ID)).thenReturn(false);
+        when(userRepository.deleteUserById(EXAMPLE_USER_ID)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class, () -> userService.deleteUser(EXAMPLE_USER_ID));
 
-        verify(userRepository).existsById(EXAMPLE_USER_ID);
-        verify(userRepository, never()).deleteById(EXAMPLE_USER_ID);
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
     public void updateUser_withNonExistingUser_throwsEntityNotFoundException() {
-        when(userRepository.existsById(EXAMPLE_USER_ID)).thenReturn(false);
+        when(mapper.toModel(validSaveUserDto)).thenReturn(exampleUserWithoutId);
+        when(userRepository.updateUser(exampleUserWithId)).thenReturn(Optional.empty());
 
         assertThrows(EntityNotFoundException.class,
                 () -> userService.updateUser(EXAMPLE_USER_ID, validSaveUserDto));
 
-        verify(userRepository).existsById(EXAMPLE_USER_ID);
-        verify(mapper, never()).toModel(any(SaveUserDto.class));
+        verify(userRepository).updateUser(exampleUserWithId);
         verify(userRepository, never()).save(any(User.class));
         verify(mapper, never()).toDto(any(User.class));
     }
 
     @Test
     public void updatePartialUser_withNonExistingUser_throwsEntityNotFoundException() {
-        when(userRepository.findById(EXAMPLE_USER_ID)).thenReturn(Optional.empty());
+        when(userRepository.updatePartialUserById(EXAMPLE_USER_ID, updatePartialEmailUpdateDto))
+                .thenReturn(0);
 
         assertThrows(EntityNotFoundException.class,
                 () -> userService.updatePartialUser(EXAMPLE_USER_ID, updatePartialEmailUpdateDto));
 
-        verify(userRepository).findById(EXAMPLE_USER_ID);
-        verify(userRepository, never()).save(any(User.class));
+        verify(userRepository).updatePartialUserById(EXAMPLE_USER_ID,
+                updatePartialEmailUpdateDto);
+        verify(userRepository, never()).findById(any());
         verify(mapper, never()).toDto(any(User.class));
     }
 
@@ -0,0 +1,41 @@
+package test.assignment.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import org.junit.jupiter.api.Test;
+
+class ShardMergeTest {
+
+    @Test
+    void merge_interleavesSortedShardResults() {
+        List<Integer> merged = ShardMerge.merge(List.of(List.of(1, 4, 7), List.of(2, 5),
+                List.of(), List.of(3, 6, 8)), Comparator.naturalOrder(), Integer.MAX_VALUE);
+
+        assertEquals(List.of(1, 2, 3, 4, 5, 6, 7, 8), merged);
+    }
+
+    @Test
+    void merge_stopsAtLimit() {
+        List<Integer> merged = ShardMerge.merge(List.of(List.of(1, 3, 5), List.of(2, 4, 6)),
+                Comparator.naturalOrder(), 3);
+
+        assertEquals(List.of(1, 2, 3), merged);
+    }
+
+    @Test
+    void merge_iterators_keepsEqualElementsFromEveryShard() {
+        Iterator<String> merged = ShardMerge.merge(List.of(List.of("a", "c").iterator(),
+                List.of("a", "b").iterator()), Comparator.<String>naturalOrder());
+
+        assertEquals(List.of("a", "a", "b", "c"), List.of(merged.next(), merged.next(),
+                merged.next(), merged.next()));
+        assertFalse(merged.hasNext());
+        assertThrows(NoSuchElementException.class, merged::next);
+    }
+}
@@ -0,0 +1,83 @@
+package test.assignment.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.id.IdentifierGeneratorHelper;
+import org.hibernate.id.IntegralDataTypeHolder;
+import org.hibernate.id.enhanced.AccessCallback;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class ShardedIdOptimizerTest {
+    private static final int SHARDS = 3;
+    private static final int BLOCK = 50;
+
+    private final ShardedIdOptimizer optimizer = new ShardedIdOptimizer(Long.class, BLOCK);
+    private final ShardedUserRepositoryAspect aspect = new ShardedUserRepositoryAspect(SHARDS,
+            BLOCK, null, null, null, null);
+    private final List<Sequence> sequences = List.of(new Sequence(0), new Sequence(1),
+            new Sequence(2));
+
+    @AfterEach
+    void clearShard() {
+        ShardContext.clear();
+    }
+
+    @Test
+    void generate_allocatesIdsThatMapBackToTheirShard() {
+        for (int shard = 0; shard < SHARDS; shard++) {
+            ShardContext.set(shard);
+            List<Long> ids = new ArrayList<>();
+            for (int i = 0; i < 2 * BLOCK + 1; i++) {
+                ids.add((Long) optimizer.generate(sequences.get(shard)));
+            }
+            for (long id : ids) {
+                assertEquals(shard, aspect.shardOf(id), "id " + id);
+            }
+            assertEquals(shard * BLOCK + 1L, ids.get(0));
+            assertEquals(ids.get(0) + SHARDS * BLOCK, ids.get(BLOCK));
+        }
+    }
+
+    @Test
+    void generate_keepsBlocksOfShardsApart() {
+        ShardContext.set(0);
+        assertEquals(1L, optimizer.generate(sequences.get(0)));
+        ShardContext.set(1);
+        assertEquals(51L, optimizer.generate(sequences.get(1)));
+        ShardContext.set(0);
+        assertEquals(2L, optimizer.generate(sequences.get(0)));
+    }
+
+    @Test
+    void generate_withoutShard_throwsException() {
+        assertThrows(IllegalStateException.class,
+                () -> optimizer.generate(sequences.get(0)));
+    }
+
+    /** A {@code users_seq} as created for one shard by the sharding configuration. */
+    private static final class Sequence implements AccessCallback {
+        private long next;
+
+        private Sequence(int shard) {
+            next = (long) shard * BLOCK + 1;
+        }
+
+        @Override
+        public IntegralDataTypeHolder getNextValue() {
+            IntegralDataTypeHolder value =
+                    IdentifierGeneratorHelper.getIntegralDataTypeHolder(Long.class);
+            value.initialize(next);
+            next += (long) SHARDS * BLOCK;
+            return value;
+        }
+
+        @Override
+        public String getTenantIdentifier() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package test.assignment.sharding;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import test.assignment.model.User;
+import test.assignment.model.dto.response.UserResponseDto;
+import test.assignment.repository.UserRepository;
+
+/**
+ * Runs the repository on two in-memory H2 shards. Every test uses its own birth year, since
+ * the shards are shared by the whole class.
+ */
+@SpringBootTest(properties = {
+        "users.sharding.shard-urls=jdbc:h2:mem:aspect-shard-1;DB_CLOSE_DELAY=-1,"
+                + "jdbc:h2:mem:aspect-shard-2;DB_CLOSE_DELAY=-1",
+        "users.sharding.stream-stall-timeout=" + ShardedUserRepositoryAspectTest.STALL_TIMEOUT})
+class ShardedUserRepositoryAspectTest {
+    static final String STALL_TIMEOUT = "2s";
+    private static final AtomicInteger EMAILS = new AtomicInteger();
+    /** More than a shard's stream buffer holds, so that its worker has to wait. */
+    private static final int STREAMED_PER_SHARD = 300;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ShardedUserRepositoryAspect aspect;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Test
+    void findById_readsTheShardThatOwnsTheId() {
+        User first = userRepository.save(user(LocalDate.of(1951, 1, 1)));
+        User second = userRepository.save(user(LocalDate.of(1951, 1, 2)));
+
+        assertNotEquals(aspect.shardOf(first.getId()), aspect.shardOf(second.getId()));
+        assertEquals(first.getEmail(),
+                userRepository.findById(first.getId()).orElseThrow().getEmail());
+        assertEquals(second.getEmail(),
+                userRepository.findUserDtoById(second.getId()).orElseThrow().email());
+    }
+
+    @Test
+    void save_outsideATransaction_usesTheShardsInTurn() {
+        List<Integer> shards = new ArrayList<>();
+        for (int day = 1; day <= 4; day++) {
+            shards.add(aspect.shardOf(userRepository.save(user(LocalDate.of(1952, 1, day)))
+                    .getId()));
+        }
+
+        assertNotEquals(shards.get(0), shards.get(1));
+        assertEquals(shards.get(0), shards.get(2));
+        assertEquals(shards.get(1), shards.get(3));
+    }
+
+    @Test
+    void saveAll_inOneTransaction_staysOnOneShard() {
+        List<User> saved = transaction().execute(status -> userRepository.saveAll(List.of(
+                user(LocalDate.of(1953, 1, 1)), user(LocalDate.of(1953, 1, 2)),
+                user(LocalDate.of(1953, 1, 3)))));
+
+        assertEquals(1, saved.stream().map(user -> aspect.shardOf(user.getId())).distinct()
+                .count());
+    }
+
+    @Test
+    void transaction_touchingASecondShard_isRejected() {
+        User first = userRepository.save(user(LocalDate.of(1954, 1, 1)));
+        User second = userRepository.save(user(LocalDate.of(1954, 1, 2)));
+
+        assertThrows(IllegalStateException.class, () -> transaction().executeWithoutResult(
+                status -> {
+                    userRepository.findById(first.getId());
+                    userRepository.findById(second.getId());
+                }));
+        // The rejected transaction leaves no shard behind on this thread.
+        assertEquals(second.getEmail(),
+                userRepository.findById(second.getId()).orElseThrow().getEmail());
+    }
+
+    @Test
+    void updateAndDelete_onTheOwningShard_returnTheVersionTheyWrote() {
+        userRepository.save(user(LocalDate.of(1958, 1, 1)));
+        User saved = userRepository.save(user(LocalDate.of(1958, 1, 2)));
+        saved.setFirstName("Jane");
+
+        assertEquals(saved.getVersion() + 1, transaction().execute(
+                status -> userRepository.updateUser(saved)).orElseThrow());
+        assertEquals("Jane",
+                userRepository.findUserDtoById(saved.getId()).orElseThrow().firstName());
+        assertEquals(saved.getVersion() + 1, transaction().execute(
+                status -> userRepository.deleteUserById(saved.getId())).orElseThrow());
+        assertEquals(Optional.empty(), transaction().execute(
+                status -> userRepository.deleteUserById(saved.getId())));
+    }
+
+    @Test
+    void findFirstPage_mergesTheShardsInOrderUpToTheLimit() {
+        List<UserResponseDto> expected = new ArrayList<>();
+        for (int day = 6; day >= 1; day--) {
+            User saved = userRepository.save(user(LocalDate.of(1955, 1, day)));
+            expected.add(new UserResponseDto(saved.getId(), saved.getEmail(),
+                    saved.getFirstName(), saved.getLastName(), saved.getBirthDate(), null,
+                    null));
+        }
+        expected.sort(Comparator.comparing(UserResponseDto::birthDate));
+
+        List<UserResponseDto> page = userRepository.findFirstPageByBirthDateBetween(
+                LocalDate.of(1955, 1, 1), LocalDate.of(1955, 12, 31), Limit.of(4));
+
+        assertEquals(expected.subList(0, 4), page);
+        assertEquals(2, page.stream().map(user -> aspect.shardOf(user.id())).distinct()
+                .count());
+    }
+
+    @Test
+    void stream_closedEarly_stopsTheShardWorkers() throws Exception {
+        LocalDate birthDate = LocalDate.of(1956, 1, 1);
+        saveOnEveryShard(birthDate);
+
+        try (Stream<UserResponseDto> users = userRepository.streamUserDtosByBirthDateBetween(
+                birthDate, birthDate)) {
+            assertEquals(10, users.limit(10).count());
+        }
+
+        // Well before the stall timeout would stop the workers too.
+        awaitNoActiveShardConnections(Duration.ofSeconds(1));
+    }
+
+    @Test
+    void stream_notReadForTheStallTimeout_failsAndReleasesTheShards() throws Exception {
+        LocalDate birthDate = LocalDate.of(1957, 1, 1);
+        saveOnEveryShard(birthDate);
+
+        try (Stream<UserResponseDto> users = userRepository.streamUserDtosByBirthDateBetween(
+                birthDate, birthDate)) {
+            Iterator<UserResponseDto> iterator = users.iterator();
+            iterator.next();
+            assertEquals(2, activeShardConnections());
+            awaitNoActiveShardConnections(Duration.ofSeconds(5));
+
+            assertThrows(IllegalStateException.class, () -> iterator.forEachRemaining(user -> {
+            }));
+        }
+    }
+
+    private void saveOnEveryShard(LocalDate birthDate) {
+        for (int shard = 0; shard < 2; shard++) {
+            transaction().executeWithoutResult(status -> {
+                List<User> users = new ArrayList<>(STREAMED_PER_SHARD);
+                for (int i = 0; i < STREAMED_PER_SHARD; i++) {
+                    users.add(user(birthDate));
+                }
+                userRepository.saveAll(users);
+            });
+        }
+    }
+
+    private void awaitNoActiveShardConnections(Duration timeout) throws InterruptedException {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        while (activeShardConnections() > 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(0, activeShardConnections());
+    }
+
+    /** Asks the pools directly, since their metrics are only refreshed once a second. */
+    private int activeShardConnections() {
+        ShardRoutingDataSource shards = (ShardRoutingDataSource)
+                ((LazyConnectionDataSourceProxy) dataSource).getTargetDataSource();
+        return shards.getResolvedDataSources().values().stream()
+                .mapToInt(shard -> ((HikariDataSource) shard).getHikariPoolMXBean()
+                        .getActiveConnections())
+                .sum();
+    }
+
+    private TransactionTemplate transaction() {
+        return new TransactionTemplate(transactionManager);
+    }
+
+    private static User user(LocalDate birthDate) {
+        User user = new User();
+        user.setEmail("shard" + EMAILS.incrementAndGet() + "@example.com");
+        user.setFirstName("John");
+        user.setLastName("Doe");
+        user.setBirthDate(birthDate);
+        return user;
+    }
+}
@@ -0,0 +1,156 @@
+package test.assignment.util.json;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import java.time.LocalDate;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.request.UserUpdatePartialDto;
+import test.assignment.model.dto.response.ErrorResponseDto;
+import test.assignment.model.dto.response.UserResponseDto;
+
+class UserJsonModuleTest {
+    private final ObjectMapper reflective = bootDefaults().build();
+    private final ObjectMapper tuned = bootDefaults()
+            .modulesToInstall(new UserJsonModule())
+            .build();
+
+    @ParameterizedTest
+    @MethodSource("responseDtos")
+    void serialize_userResponseDto_matchesReflectiveOutput(UserResponseDto user)
+            throws JsonProcessingException {
+        String json = reflective.writeValueAsString(user);
+
+        assertEquals(json, tuned.writeValueAsString(user));
+        assertEquals(user, tuned.readValue(json, UserResponseDto.class));
+    }
+
+    @Test
+    void serialize_requestDtos_matchesReflectiveOutput() throws JsonProcessingException {
+        SaveUserDto saveUserDto = new SaveUserDto("john@example.com", "John", "Doe",
+                LocalDate.of(1990, 1, 1), null, "123");
+        UserUpdatePartialDto partialDto = new UserUpdatePartialDto(Optional.of("a@b.com"),
+                Optional.empty(), Optional.empty(), Optional.of(LocalDate.of(1990, 1, 1)),
+                Optional.empty(), Optional.of(""));
+
+        assertEquals(reflective.writeValueAsString(saveUserDto),
+                tuned.writeValueAsString(saveUserDto));
+        assertEquals(reflective.writeValueAsString(partialDto),
+                tuned.writeValueAsString(partialDto));
+    }
+
+    @Test
+    void serialize_errorResponseDto_matchesFormerMapBody() throws JsonProcessingException {
+        ErrorResponseDto notFound = ErrorResponseDto.ofMessage(HttpStatus.NOT_FOUND,
+                "User not found with ID: 7");
+        ErrorResponseDto invalid = ErrorResponseDto.ofErrors(HttpStatus.BAD_REQUEST,
+                List.of("email Invalid email format", "firstName must not be blank"));
+        Map<String, Object> notFoundMap = new LinkedHashMap<>();
+        notFoundMap.put("timestamp", notFound.timestamp());
+        notFoundMap.put("status", HttpStatus.NOT_FOUND);
+        notFoundMap.put("error message", notFound.errorMessage());
+        Map<String, Object> invalidMap = new LinkedHashMap<>();
+        invalidMap.put("timestamp", invalid.timestamp());
+        invalidMap.put("status", HttpStatus.BAD_REQUEST);
+        invalidMap.put("errors", invalid.errors());
+
+        assertEquals(reflective.writeValueAsString(notFoundMap),
+                tuned.writeValueAsString(notFound));
+        assertEquals(reflective.writeValueAsString(notFoundMap),
+                reflective.writeValueAsString(notFound));
+        assertEquals(reflective.writeValueAsString(invalidMap),
+                tuned.writeValueAsString(invalid));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "{}",
+        "{\"email\":\"john@example.com\",\"firstName\":\"John\",\"lastName\":\"Doe\","
+                + "\"birthDate\":\"1990-01-01\",\"address\":null,\"phoneNumber\":\"1\"}",
+        "{\"birthDate\":\"2000-02-29\",\"unknown\":{\"nested\":[1,2]},\"firstName\":\"J\"}",
+        "{\"birthDate\":[1990,1,2],\"email\":42,\"lastName\":true}",
+        "{\"birthDate\":\"1990-01-01T10:15:30\"}",
+        "{\"birthDate\":null,\"email\":null}"
+    })
+    void deserialize_requestDtos_matchesReflectiveResult(String json)
+            throws JsonProcessingException {
+        assertEquals(reflective.readValue(json, SaveUserDto.class),
+                tuned.readValue(json, SaveUserDto.class));
+        assertEquals(reflective.readValue(json, UserUpdatePartialDto.class),
+                tuned.readValue(json, UserUpdatePartialDto.class));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+        "{\"birthDate\":\"1990-02-30\"}",
+        "{\"birthDate\":\"1990-1-01\"}",
+        "{\"email\":{\"a\":1}}",
+        "[]"
+    })
+    void deserialize_invalidInput_failsLikeReflectiveMapper(String json) {
+        assertThrows(JsonProcessingException.class,
+                () -> reflective.readValue(json, SaveUserDto.class));
+        assertThrows(JsonProcessingException.class,
+                () -> tuned.readValue(json, SaveUserDto.class));
+    }
+
+    @Test
+    void cbor_roundTripsUserList() throws Exception {
+        ObjectMapper reflectiveCbor = bootDefaults()
+                .factory(new CBORFactory())
+                .build();
+        ObjectMapper tunedCbor = bootDefaults()
+                .factory(new CBORFactory())
+                .modulesToInstall(new UserJsonModule())
+                .build();
+        List<UserResponseDto> users = responseDtos().toList();
+
+        byte[] cbor = tunedCbor.writeValueAsBytes(users);
+
+        assertArrayEquals(reflectiveCbor.writeValueAsBytes(users), cbor);
+        assertEquals(users, tunedCbor.readerForListOf(UserResponseDto.class).readValue(cbor));
+    }
+
+    @Test
+    void serialize_withDatesAsTimestamps_followsFeature() throws JsonProcessingException {
+        ObjectMapper timestamps = Jackson2ObjectMapperBuilder.json()
+                .modulesToInstall(new UserJsonModule())
+                .build();
+        UserResponseDto user = responseDtos().findFirst().orElseThrow();
+
+        assertEquals(Jackson2ObjectMapperBuilder.json().build().writeValueAsString(user),
+                timestamps.writeValueAsString(user));
+    }
+
+    /** Same date handling as the Spring Boot auto-configured mapper. */
+    private static Jackson2ObjectMapperBuilder bootDefaults() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    }
+
+    private static Stream<UserResponseDto> responseDtos() {
+        return Stream.of(
+                new UserResponseDto(1L, "john@example.com", "John", "Doe",
+                        LocalDate.of(1990, 1, 1), "1 \"Main\" St\n", "+380501234567"),
+                new UserResponseDto(null, null, null, null, null, null, null),
+                new UserResponseDto(Long.MAX_VALUE, "j\u00f6hn@example.com", "", "D",
+                        LocalDate.of(5, 12, 31), null, null),
+                new UserResponseDto(2L, "a@b.c", "A", "B", LocalDate.of(12345, 6, 7), "", ""));
+    }
+}
@@ -0,0 +1,71 @@
+package test.assignment.util.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class BoundedLineReaderTest {
+
+    @Test
+    void readLine_splitsLikeBufferedReader() throws IOException {
+        String text = "a\nbc\r\n\r\rd\n\ne\r";
+
+        assertEquals(bufferedReaderLines(text), lines(new BoundedLineReader(
+                new StringReader(text), 10)));
+    }
+
+    @Test
+    void terminator_tellsHowEachLineEnded() throws IOException {
+        BoundedLineReader reader = new BoundedLineReader(new StringReader("a\r\nb\rc\nd"), 10);
+        List<String> terminators = new ArrayList<>();
+
+        while (reader.readLine() != null) {
+            terminators.add(reader.terminator());
+        }
+
+        assertEquals(List.of("\r\n", "\r", "\n", ""), terminators);
+    }
+
+    @Test
+    void readLine_withoutFinalTerminator_returnsLastLine() throws IOException {
+        BoundedLineReader reader = new BoundedLineReader(new StringReader("a\nb"), 10);
+
+        assertEquals("a", reader.readLine());
+        assertEquals("b", reader.readLine());
+        assertNull(reader.readLine());
+    }
+
+    @Test
+    void readLine_longerThanMaxLength_keepsItsStartAndSkipsTheRest() throws IOException {
+        String longLine = "y".repeat(20_000);
+        BoundedLineReader reader = new BoundedLineReader(
+                new StringReader("12345\n" + longLine + "\r\nnext"), 5);
+
+        assertEquals("12345", reader.readLine());
+        assertFalse(reader.isTruncated());
+        assertEquals("yyyyy", reader.readLine());
+        assertTrue(reader.isTruncated());
+        assertEquals("next", reader.readLine());
+        assertFalse(reader.isTruncated());
+    }
+
+    private static List<String> lines(BoundedLineReader reader) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (String line; (line = reader.readLine()) != null; ) {
+            lines.add(line);
+        }
+        return lines;
+    }
+
+    private static List<String> bufferedReaderLines(String text) {
+        return new BufferedReader(new StringReader(text)).lines().toList();
+    }
+}
@@ -0,0 +1,88 @@
+package test.assignment.util.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import test.assignment.exception.InvalidImportException;
+import test.assignment.model.dto.request.SaveUserDto;
+
+class CsvUserRowParserTest {
+
+    @Test
+    void parse_mapsColumnsByHeaderName() {
+        CsvUserRowParser parser = new CsvUserRowParser("lastName,email,birthDate,firstName");
+
+        SaveUserDto actual = parser.parse("Doe,john@example.com,1990-01-01,John");
+
+        assertEquals(new SaveUserDto("john@example.com", "John", "Doe",
+                LocalDate.of(1990, 1, 1), null, null), actual);
+    }
+
+    @Test
+    void parse_withQuotedFields_unescapesSeparatorsAndQuotes() {
+        CsvUserRowParser parser = new CsvUserRowParser(
+                "email,firstName,lastName,birthDate,address,phoneNumber");
+
+        SaveUserDto actual = parser.parse(
+                "john@example.com,John,Doe,1990-01-01,\"1 Main St, \"\"A\"\"\",");
+
+        assertEquals(new SaveUserDto("john@example.com", "John", "Doe",
+                LocalDate.of(1990, 1, 1), "1 Main St, \"A\"", null), actual);
+    }
+
+    @Test
+    void continuesOnNextLine_onlyInsideAnOpenQuotedField() {
+        CsvUserRowParser parser = new CsvUserRowParser("email,address");
+
+        assertTrue(parser.continuesOnNextLine("john@example.com,\"1 Main St"));
+        assertTrue(parser.continuesOnNextLine("john@example.com,\"say \"\"hi\"\""));
+        assertFalse(parser.continuesOnNextLine("john@example.com,\"1 Main St\""));
+        assertFalse(parser.continuesOnNextLine("john@example.com,5\" screen"));
+        assertFalse(parser.continuesOnNextLine("john@example.com,\"a\"\"\""));
+    }
+
+    @Test
+    void continuesAfter_onlyIfTheLineLeavesTheQuotedFieldOpen() {
+        CsvUserRowParser parser = new CsvUserRowParser("email,address");
+
+        assertTrue(parser.continuesAfter("Apt 2"));
+        assertTrue(parser.continuesAfter("say \"\"hi\"\""));
+        assertTrue(parser.continuesAfter("end\",\"next"));
+        assertFalse(parser.continuesAfter("end\""));
+        assertFalse(parser.continuesAfter("end\",5\" screen"));
+    }
+
+    @Test
+    void parse_withLineBreakInQuotedField_keepsIt() {
+        CsvUserRowParser parser = new CsvUserRowParser("email,address");
+
+        SaveUserDto actual = parser.parse("john@example.com,\"1 Main St\r\nApt 2\"");
+
+        assertEquals("1 Main St\r\nApt 2", actual.address());
+    }
+
+    @Test
+    void parse_withMalformedRow_throwsIllegalArgument() {
+        CsvUserRowParser parser = new CsvUserRowParser("email,firstName,lastName,birthDate");
+
+        assertEquals("birthDate must be an ISO date (yyyy-MM-dd)", assertThrows(
+                IllegalArgumentException.class,
+                () -> parser.parse("john@example.com,John,Doe,01.01.1990")).getMessage());
+        assertEquals("Expected 4 fields but found 2", assertThrows(
+                IllegalArgumentException.class,
+                () -> parser.parse("john@example.com,John")).getMessage());
+        assertEquals("Unterminated quoted field", assertThrows(
+                IllegalArgumentException.class,
+                () -> parser.parse("\"john@example.com,John,Doe,1990-01-01")).getMessage());
+    }
+
+    @Test
+    void constructor_withUnknownColumn_throwsInvalidImport() {
+        assertThrows(InvalidImportException.class,
+                () -> new CsvUserRowParser("email,nickname"));
+    }
+}
@@ -0,0 +1,41 @@
+package test.assignment.util.parser;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import org.junit.jupiter.api.Test;
+import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.response.UserResponseDto;
+
+class CsvUserRowWriterTest {
+
+    @Test
+    void write_quotesOnlyFieldsThatNeedIt() throws IOException {
+        StringWriter output = new StringWriter();
+        CsvUserRowWriter writer = new CsvUserRowWriter(output);
+
+        writer.write(new UserResponseDto(7L, "john@example.com", "John", "Doe \"Jr\"",
+                LocalDate.of(1990, 1, 1), "1 Main St, Apt 2", null));
+
+        assertEquals("7,john@example.com,John,\"Doe \"\"Jr\"\"\",1990-01-01,"
+                + "\"1 Main St, Apt 2\",\n", output.toString());
+    }
+
+    @Test
+    void write_producesRowsTheImportParserReadsBack() throws IOException {
+        StringWriter output = new StringWriter();
+        CsvUserRowWriter writer = new CsvUserRowWriter(output);
+        UserResponseDto user = new UserResponseDto(7L, "john@example.com", "John",
+                "Doe, \"Jr\"", LocalDate.of(1990, 1, 1), "", null);
+
+        writer.writeHeader();
+        writer.write(user);
+
+        String[] lines = output.toString().split("\n");
+        SaveUserDto actual = new CsvUserRowParser(lines[0]).parse(lines[1]);
+        assertEquals(new SaveUserDto(user.email(), user.firstName(), user.lastName(),
+                user.birthDate(), user.address(), user.phoneNumber()), actual);
+    }
+}
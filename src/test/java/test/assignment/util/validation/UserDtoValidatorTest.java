@@ -0,0 +1,215 @@
+package test.assignment.util.validation;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import jakarta.validation.ValidatorFactory;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Period;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.MethodSource;
+import test.assignment.model.dto.request.SaveUserDto;
+import test.assignment.model.dto.request.UserUpdatePartialDto;
+
+class UserDtoValidatorTest {
+    private static ValidatorFactory validatorFactory;
+    private static Validator beanValidator;
+    private final UserDtoValidator userDtoValidator = new UserDtoValidator(beanValidator);
+
+    @BeforeAll
+    static void setUpValidator() {
+        validatorFactory = Validation.buildDefaultValidatorFactory();
+        beanValidator = validatorFactory.getValidator();
+    }
+
+    @AfterAll
+    static void closeValidator() {
+        validatorFactory.close();
+    }
+
+    private static Stream<SaveUserDto> saveUserDtoProvider() {
+        LocalDate today = LocalDate.now();
+        List<String> emails = new ArrayList<>();
+        emails.add(null);
+        emails.addAll(List.of("", " ", "\t\n", "john@example.com", "invalidEmail.com",
+                "a@b", "a@@b.com", "john.doe+tag@sub.example.org", "\"quoted\"@example.com",
+                "john@-example.com", "john@example..com", "john doe@example.com",
+                "j\u00f6hn@ex\u00e4mple.com", "john@[127.0.0.1]", ".john@example.com",
+                "john.@example.com", "jo..hn@example.com", "john@example.com.",
+                "john@example-.com", "john@a.b-c.d",
+                "x".repeat(64) + "@example.com", "x".repeat(65) + "@example.com",
+                "john@" + "a".repeat(63) + ".com", "john@" + "a".repeat(64) + ".com",
+                "john@" + "a.".repeat(126) + "com"));
+        List<String> names = new ArrayList<>();
+        names.add(null);
+        names.addAll(List.of("", "   ", "\u0000", "John", " John "));
+        List<LocalDate> birthDates = new ArrayList<>();
+        birthDates.add(null);
+        birthDates.addAll(List.of(today, today.minusYears(18), today.minusYears(18).plusDays(1),
+                today.minusYears(18).minusDays(1), LocalDate.of(1990, 1, 1),
+                LocalDate.of(2004, 2, 29), today.plusYears(1)));
+        List<SaveUserDto> dtos = new ArrayList<>();
+        for (String email : emails) {
+            for (String name : names) {
+                for (LocalDate birthDate : birthDates) {
+                    dtos.add(new SaveUserDto(email, name, "Doe", birthDate, null, null));
+                    dtos.add(new SaveUserDto(email, "John", name, birthDate, null, null));
+                }
+            }
+        }
+        return dtos.stream();
+    }
+
+    @ParameterizedTest
+    @MethodSource("saveUserDtoProvider")
+    void validate_saveUserDto_matchesBeanValidation(SaveUserDto dto) {
+        Set<String> expected = beanValidator.validate(dto).stream()
+                .map(v -> v.getPropertyPath() + " " + v.getMessage())
+                .collect(Collectors.toSet());
+        List<String> actual = new ArrayList<>();
+
+        boolean valid = userDtoValidator.validate(dto, actual);
+
+        assertEquals(expected, new HashSet<>(actual));
+        assertEquals(expected.isEmpty(), valid);
+    }
+
+    private static Stream<UserUpdatePartialDto> partialUpdateDtoProvider() {
+        LocalDate today = LocalDate.now();
+        return Stream.of(
+                partialDto(Optional.empty(), Optional.empty()),
+                partialDto(Optional.of("john@example.com"), Optional.empty()),
+                partialDto(Optional.of("invalidEmail.com"), Optional.empty()),
+                partialDto(Optional.of(""), Optional.empty()),
+                partialDto(Optional.of("\"quoted\"@example.com"), Optional.empty()),
+                partialDto(Optional.of("j\u00f6hn@ex\u00e4mple.com"), Optional.empty()),
+                partialDto(Optional.empty(), Optional.of(today)),
+                partialDto(Optional.empty(), Optional.of(today.minusDays(1))),
+                partialDto(Optional.empty(), Optional.of(today.plusDays(1))),
+                partialDto(Optional.of("a@@b.com"), Optional.of(today.plusYears(1))),
+                new UserUpdatePartialDto(null, null, null, null, null, null)
+        );
+    }
+
+    private static UserUpdatePartialDto partialDto(Optional<String> email,
+                                                   Optional<LocalDate> birthDate) {
+        return new UserUpdatePartialDto(email, Optional.empty(), Optional.empty(),
+                birthDate, Optional.empty(), Optional.empty());
+    }
+
+    @ParameterizedTest
+    @MethodSource("partialUpdateDtoProvider")
+    void validate_partialUpdateDto_matchesBeanValidation(UserUpdatePartialDto dto) {
+        Set<String> expected = beanValidator.validate(dto).stream()
+                .map(v -> v.getPropertyPath().toString().replaceAll("\\.<.*>$", "")
+                        + " " + v.getMessage())
+                .collect(Collectors.toSet());
+        List<String> actual = new ArrayList<>();
+
+        boolean valid = userDtoValidator.validate(dto, actual);
+
+        assertEquals(expected, new HashSet<>(actual));
+        assertEquals(expected.isEmpty(), valid);
+    }
+
+    @Test
+    void validate_randomEmails_matchesBeanValidation() {
+        String alphabet = "aZ09.-_+@@..--\"[]:! \u00e9";
+        Random random = new Random(42);
+        for (int n = 0; n < 20000; n++) {
+            StringBuilder email = new StringBuilder();
+            int length = 1 + random.nextInt(24);
+            for (int i = 0; i < length; i++) {
+                email.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            SaveUserDto dto = new SaveUserDto(email.toString(), "John", "Doe",
+                    LocalDate.of(1990, 1, 1), null, null);
+            boolean expected = beanValidator.validate(dto).isEmpty();
+
+            boolean actual = userDtoValidator.validate(dto, new ArrayList<>());
+
+            assertEquals(expected, actual, email.toString());
+        }
+    }
+
+    @Test
+    void validate_adultCutoff_matchesPeriodRuleAcrossLeapDays() {
+        LocalDate day = LocalDate.of(2021, 12, 1);
+        while (day.isBefore(LocalDate.of(2025, 4, 1))) {
+            Clock clock = Clock.fixed(day.atStartOfDay(ZoneOffset.UTC).toInstant()
+                    .plusSeconds(3600), ZoneOffset.UTC);
+            UserDtoValidator validator = new UserDtoValidator(beanValidator, clock);
+            for (int offset = -3; offset <= 3; offset++) {
+                LocalDate birthDate = day.minusYears(18).plusDays(offset);
+                boolean expected = Period.between(birthDate, day).getYears() >= 18;
+                boolean actual = validator.validate(new SaveUserDto("john@example.com",
+                        "John", "Doe", birthDate, null, null), new ArrayList<>());
+                assertEquals(expected, actual, "today " + day + ", birth date " + birthDate);
+            }
+            day = day.plusDays(1);
+        }
+    }
+
+    @Test
+    void validate_afterMidnight_refreshesCutoff() {
+        MutableClock clock = new MutableClock(Instant.parse("2024-05-10T23:59:59Z"));
+        UserDtoValidator validator = new UserDtoValidator(beanValidator, clock);
+        SaveUserDto turnsAdultAtMidnight = new SaveUserDto("john@example.com", "John", "Doe",
+                LocalDate.of(2006, 5, 11), null, null);
+
+        assertFalse(validator.validate(turnsAdultAtMidnight, new ArrayList<>()));
+        clock.instant = Instant.parse("2024-05-11T00:00:00Z");
+        assertTrue(validator.validate(turnsAdultAtMidnight, new ArrayList<>()));
+    }
+
+    @Test
+    void validate_withReusedErrorList_appendsAndReportsOnlyNewErrors() {
+        List<String> errors = new ArrayList<>(List.of("previous error"));
+
+        boolean valid = userDtoValidator.validate(new SaveUserDto("john@example.com",
+                "John", "Doe", LocalDate.of(1990, 1, 1), null, null), errors);
+
+        assertTrue(valid);
+        assertEquals(List.of("previous error"), errors);
+    }
+
+    private static final class MutableClock extends Clock {
+        private Instant instant;
+
+        private MutableClock(Instant instant) {
+            this.instant = instant;
+        }
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}